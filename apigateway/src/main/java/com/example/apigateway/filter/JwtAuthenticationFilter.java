@@ -54,6 +54,10 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/api/inventory/routes",
             "/api/inventory/trains",
             "/api/inventory/schedules/bulk",
+            "/api/tickets/complete",
+            "/api/tickets/export",
+            "/api/tickets/manifest",
+            "/api/tickets/stats",
             "/api/payments/stats",
             "/api/notifications/retry-failed"
     );
@@ -0,0 +1,115 @@
+package com.example.inventoryservice.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.inventoryservice.InventoryServiceApplication;
+import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.Train;
+import com.example.inventoryservice.repository.ScheduleRepository;
+import com.example.inventoryservice.service.CatalogService;
+import com.example.inventoryservice.service.InventoryService;
+
+/**
+ * Compares the entity-based availability read (transaction, managed Schedule, lazy
+ * Train/Route) with the JDBC + catalog snapshot path used by checkAvailability.
+ * Runs against the local database; pick an existing schedule via trainId/date params.
+ * Result caching is disabled so both paths hit the database on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailabilityReadPathBenchmark {
+
+    @Param({"1"})
+    private long trainId;
+
+    @Param({"2026-12-01"})
+    private String date;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private ScheduleRepository scheduleRepository;
+    private TransactionTemplate readOnlyTx;
+    private LocalDate departureDate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cache.type=none",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        inventoryService = context.getBean(InventoryService.class);
+        scheduleRepository = context.getBean(ScheduleRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        context.getBean(CatalogService.class).rebuild();
+        departureDate = LocalDate.parse(date);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailabilityResponse entityPath() {
+        return readOnlyTx.execute(status -> scheduleRepository
+                .findByTrainIdAndDepartureDate(trainId, departureDate)
+                .map(this::fromEntities)
+                .orElse(null));
+    }
+
+    @Benchmark
+    public AvailabilityResponse leanPath() {
+        return inventoryService.checkAvailability(trainId, date);
+    }
+
+    // Mapping used by checkAvailability before the lean path
+    private AvailabilityResponse fromEntities(Schedule schedule) {
+        Train train = schedule.getTrain();
+        return AvailabilityResponse.builder()
+                .trainId(trainId)
+                .trainNumber(train.getTrainNumber())
+                .trainName(train.getTrainName())
+                .origin(train.getRoute().getOrigin())
+                .destination(train.getRoute().getDestination())
+                .departureDate(departureDate)
+                .departureTime(train.getDepartureTime())
+                .arrivalTime(train.getArrivalTime())
+                .totalSeats(train.getTotalSeats())
+                .availableSeats(schedule.getTotalAvailableSeats())
+                .reservedSeats(schedule.getReservedSeats())
+                .seatAvailability(AvailabilityResponse.SeatAvailability.builder()
+                        .economy(schedule.getAvailableEconomySeats())
+                        .business(schedule.getAvailableBusinessSeats())
+                        .firstClass(schedule.getAvailableFirstClassSeats())
+                        .build())
+                .prices(AvailabilityResponse.PriceInfo.builder()
+                        .economy(train.getEconomyPrice())
+                        .business(train.getBusinessPrice())
+                        .firstClass(train.getFirstClassPrice())
+                        .build())
+                .status(schedule.getStatus().name())
+                .build();
+    }
+}
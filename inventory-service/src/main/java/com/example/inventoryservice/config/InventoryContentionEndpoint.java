@@ -0,0 +1,45 @@
+package com.example.inventoryservice.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.example.inventoryservice.service.LockContentionProfiler;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inventory lock contention report, mapped to /actuator/inventory-contention.
+ */
+@Component
+@Endpoint(id = "inventorycontention")
+@RequiredArgsConstructor
+public class InventoryContentionEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final LockContentionProfiler contentionProfiler;
+
+    @ReadOperation
+    public Map<String, Object> contention(@Nullable Integer limit) {
+        if (limit != null && limit < 0) {
+            throw new InvalidEndpointRequestException("limit must not be negative: " + limit,
+                    "limit must not be negative");
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("operations", contentionProfiler.summary());
+        report.put("hotKeys", contentionProfiler.topKeys(limit != null ? limit : DEFAULT_LIMIT));
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        contentionProfiler.reset();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.inventoryservice.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hit-ratio gauges for the Hibernate second-level cache regions.
+ * Raw hit/miss counters come from hibernate-micrometer (hibernate.second.level.cache.requests).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	private static final String[] REGIONS = {"train", "route", "default-query-results-region"};
+
+	@Bean
+	public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		return registry -> {
+			for (String region : REGIONS) {
+				Gauge.builder("inventory.l2cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+						.tag("region", region)
+						.description("Second-level cache hit ratio")
+						.register(registry);
+			}
+		};
+	}
+
+	private static double hitRatio(Statistics statistics, String region) {
+		CacheRegionStatistics regionStats = region.startsWith("default-query")
+				? statistics.getQueryRegionStatistics(region)
+				: statistics.getDomainDataRegionStatistics(region);
+		if (regionStats == null) {
+			return 0.0;
+		}
+		long hits = regionStats.getHitCount();
+		long total = hits + regionStats.getMissCount();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+}
@@ -1,5 +1,7 @@
 package com.example.inventoryservice.controller;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.inventoryservice.dto.ApiResponse;
 import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.dto.BatchReleaseRequest;
+import com.example.inventoryservice.dto.BatchReserveRequest;
+import com.example.inventoryservice.dto.ReservationResult;
 import com.example.inventoryservice.dto.ReserveSeatRequest;
 import com.example.inventoryservice.service.InventoryService;
 
@@ -58,6 +63,31 @@ public class InventoryController {
         }
     }
 
+    /**
+     * Reserve seats and return the held seats, authoritative prices and hold expiry.
+     * Rejections (not enough seats) come back as a result with reserved=false.
+     * POST /inventory/reserve-and-quote
+     */
+    @PostMapping("/reserve-and-quote")
+    public ResponseEntity<ApiResponse<ReservationResult>> reserveAndQuote(
+            @Valid @RequestBody ReserveSeatRequest request) {
+        logger.info("Reserve and quote {} seats for train {} on {}",
+                request.getNumberOfSeats(), request.getTrainId(), request.getDepartureDate());
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.reserveAndQuote(request)));
+    }
+
+    /**
+     * Reserve seats for several bookings on one schedule under a single lock
+     * POST /inventory/reserve/batch
+     */
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<ApiResponse<List<ReservationResult>>> reserveSeatsBatch(
+            @Valid @RequestBody BatchReserveRequest request) {
+        logger.info("Batch reserve of {} requests for train {} on {}",
+                request.getItems().size(), request.getTrainId(), request.getDepartureDate());
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.reserveSeatsBatch(request)));
+    }
+
     /**
      * Release seats (for cancellation)
      * POST /inventory/release
@@ -83,6 +113,22 @@ public class InventoryController {
         }
     }
 
+    /**
+     * Release reservations by the ids they were reserved under (idempotent)
+     * POST /inventory/release/batch
+     */
+    @PostMapping("/release/batch")
+    public ResponseEntity<ApiResponse<Boolean>> releaseReservations(
+            @Valid @RequestBody BatchReleaseRequest request) {
+        logger.info("Release {} reservations for train {} on {}",
+                request.getReservationIds().size(), request.getTrainId(), request.getDepartureDate());
+        if (inventoryService.releaseReservations(request)) {
+            return ResponseEntity.ok(ApiResponse.success("Reservations released successfully", true));
+        }
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to release reservations", 400));
+    }
+
     /**
      * Health check
      * GET /inventory/health
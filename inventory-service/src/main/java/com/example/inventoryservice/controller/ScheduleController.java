@@ -72,6 +72,15 @@ public class ScheduleController {
         return ResponseEntity.ok(ApiResponse.success(schedules));
     }
 
+    @GetMapping("/status/{status}")
+    public ResponseEntity<ApiResponse<List<ScheduleResponse>>> getSchedulesByStatus(
+            @PathVariable ScheduleStatus status,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate since) {
+        logger.debug("Get {} schedules since {}", status, since);
+        List<ScheduleResponse> schedules = scheduleService.getSchedulesByStatus(status, since);
+        return ResponseEntity.ok(ApiResponse.success(schedules));
+    }
+
     @PostMapping("/search")
     public ResponseEntity<ApiResponse<List<ScheduleResponse>>> searchSchedules(
             @Valid @RequestBody SearchTrainRequest request) {
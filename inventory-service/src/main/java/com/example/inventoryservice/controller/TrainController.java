@@ -1,5 +1,6 @@
 package com.example.inventoryservice.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -8,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,13 +19,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.inventoryservice.dto.ApiResponse;
 import com.example.inventoryservice.dto.CreateTrainRequest;
+import com.example.inventoryservice.dto.SeatMapResponse;
 import com.example.inventoryservice.dto.TrainResponse;
+import com.example.inventoryservice.service.SeatMapService;
 import com.example.inventoryservice.service.TrainService;
 
 import jakarta.validation.Valid;
@@ -37,6 +43,7 @@ public class TrainController {
     private static final int MAX_PAGE_SIZE = 100;
 
     private final TrainService trainService;
+    private final SeatMapService seatMapService;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TrainResponse>> getTrainById(@PathVariable Long id) {
@@ -102,6 +109,31 @@ public class TrainController {
         return ResponseEntity.ok(ApiResponse.success(trains));
     }
 
+    /**
+     * Compact seat map for a schedule; supports If-None-Match and deltas via ?since=version
+     * GET /trains/{id}/schedules/{date}/seatmap
+     */
+    @GetMapping("/{id}/schedules/{date}/seatmap")
+    public ResponseEntity<ApiResponse<SeatMapResponse>> getSeatMap(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("Get seat map for train {} on {}", id, date);
+
+        if (ifNoneMatch != null) {
+            String eTag = seatMapService.getETag(id, date);
+            if (ifNoneMatch.contains(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        SeatMapResponse response = seatMapService.getSeatMap(id, date, since);
+        return ResponseEntity.ok()
+                .eTag(seatMapService.toETag(response))
+                .body(ApiResponse.success(response));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<TrainResponse>> createTrain(
             @Valid @RequestBody CreateTrainRequest request) {
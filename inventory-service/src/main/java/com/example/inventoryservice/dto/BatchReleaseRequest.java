@@ -0,0 +1,33 @@
+package com.example.inventoryservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Release reservations on one schedule by the ids they were reserved under.
+ * Ids that were never reserved are recorded as released, so a late reserve is rejected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReleaseRequest {
+
+    @NotNull(message = "Train ID is required")
+    private Long trainId;
+
+    @NotNull(message = "Departure date is required")
+    private String departureDate;
+
+    @NotEmpty(message = "At least one reservation id is required")
+    @Size(max = 500, message = "At most 500 reservations per batch")
+    private List<@NotBlank @Size(max = 64) String> reservationIds;
+}
@@ -0,0 +1,53 @@
+package com.example.inventoryservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Several reservations on one schedule, applied under a single lock.
+ * Items are applied in order; each one succeeds or fails on its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReserveRequest {
+
+    @NotNull(message = "Train ID is required")
+    private Long trainId;
+
+    @NotNull(message = "Departure date is required")
+    private String departureDate;
+
+    @NotEmpty(message = "At least one reservation is required")
+    @Size(max = 500, message = "At most 500 reservations per batch")
+    private List<@Valid Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Number of seats is required")
+        @Positive(message = "Number of seats must be positive")
+        private Integer numberOfSeats;
+
+        private String seatClass; // ECONOMY, BUSINESS, FIRST
+
+        private List<String> seatNumbers; // Optional: specific seat numbers
+
+        // Optional: caller's id for this reservation; repeats are answered without reserving again
+        @Size(max = 64, message = "Reservation ID must be at most 64 characters")
+        private String reservationId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.inventoryservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one reservation (alone or as an item of a batch, in request order).
+ * A successful reservation is also the authoritative quote: the held seats, prices taken
+ * from the train under the same lock, and until when the seats are held.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationResult {
+
+    private boolean reserved;
+    private String message;
+
+    // Set when rejected for lack of seats
+    private Integer availableSeats;
+
+    // Quote, set when reserved
+    private String seatClass;
+    private Integer numberOfSeats;
+    private List<String> seatNumbers;
+    private BigDecimal unitPrice;
+    private BigDecimal totalPrice;
+    private AvailabilityResponse.PriceInfo prices;
+    private LocalDateTime holdExpiresAt;
+
+    public static ReservationResult rejected(String message) {
+        return ReservationResult.builder()
+                .reserved(false)
+                .message(message)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,4 +29,8 @@ public class ReserveSeatRequest {
     private String seatClass; // ECONOMY, BUSINESS, FIRST
 
     private List<String> seatNumbers; // Optional: specific seat numbers
+
+    // Optional: caller's id for this reservation (see BatchReserveRequest.Item)
+    @Size(max = 64, message = "Reservation ID must be at most 64 characters")
+    private String reservationId;
 }
@@ -0,0 +1,47 @@
+package com.example.inventoryservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact seat map for a schedule.
+ * Occupancy is a bitset per car (bit i set = seat i taken), serialized as base64.
+ * When {@code delta} is true, cars carry only the seat indexes that changed since {@code baseVersion}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatMapResponse {
+
+    private Long trainId;
+    private Long scheduleId;
+    private LocalDate departureDate;
+    private String layoutId;
+    private Long version;
+    private Long baseVersion;
+    private Boolean delta;
+    private List<CarMap> cars;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CarMap {
+        private Integer car;
+        private String seatClass;
+        private Integer seats;
+        private Integer occupied;
+        private byte[] bits;
+        private List<Integer> changed;
+    }
+}
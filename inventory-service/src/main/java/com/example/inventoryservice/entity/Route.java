@@ -5,6 +5,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -28,6 +32,8 @@ import lombok.NoArgsConstructor;
     @Index(name = "idx_route_origin_destination", columnList = "origin, destination"),
     @Index(name = "idx_route_active", columnList = "active")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "route")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,82 @@
+package com.example.inventoryservice.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservation made under a caller-supplied reservation id (one per booking saga).
+ * Makes reserve and release idempotent: a repeated reserve is answered from here, and a
+ * release that arrives before its reserve (the reserve timed out on the caller's side but
+ * was still on its way) leaves a RELEASED tombstone, so the late reserve is rejected
+ * instead of holding seats nobody will release.
+ */
+@Entity
+@Table(name = "seat_reservations", indexes = {
+    @Index(name = "idx_seat_reservation_departure", columnList = "departureDate")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReservation {
+
+    @Id
+    @Column(length = 64)
+    private String reservationId;
+
+    @Column(nullable = false)
+    private Long trainId;
+
+    @Column(nullable = false)
+    private LocalDate departureDate;
+
+    @Column(nullable = false, length = 20)
+    private String seatClass;
+
+    // Zero for a tombstone
+    @Column(nullable = false)
+    private Integer numberOfSeats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    private LocalDateTime holdExpiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum ReservationStatus {
+        RESERVED,   // Seats held for the caller
+        RELEASED    // Seats given back, or released before the reserve arrived
+    }
+}
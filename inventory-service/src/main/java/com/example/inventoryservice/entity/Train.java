@@ -6,6 +6,10 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -35,6 +39,8 @@ import lombok.NoArgsConstructor;
     @Index(name = "idx_train_active", columnList = "active"),
     @Index(name = "idx_train_type", columnList = "trainType")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "train")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,108 @@
+package com.example.inventoryservice.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC reads for the availability hot path.
+ * Rows are mapped straight into records: no entities, no persistence context, no transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AvailabilityQueryRepository {
+
+    private static final String COUNTERS_SQL =
+            "SELECT s.available_economy_seats, s.available_business_seats, s.available_first_class_seats, " +
+            "s.reserved_seats, s.status " +
+            "FROM schedules s WHERE s.train_id = ? AND s.departure_date = ?";
+
+    private static final String FULL_SQL =
+            "SELECT s.available_economy_seats, s.available_business_seats, s.available_first_class_seats, " +
+            "s.reserved_seats, s.status, t.train_number, t.train_name, t.departure_time, t.arrival_time, " +
+            "t.total_seats, t.economy_price, t.business_price, t.first_class_price, r.origin, r.destination " +
+            "FROM schedules s JOIN trains t ON t.id = s.train_id JOIN routes r ON r.id = t.route_id " +
+            "WHERE s.train_id = ? AND s.departure_date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Seat counters of a schedule only; train and route data come from the catalog snapshot.
+     */
+    public Optional<ScheduleCounters> findCounters(Long trainId, LocalDate departureDate) {
+        List<ScheduleCounters> rows = jdbcTemplate.query(COUNTERS_SQL,
+                (rs, rowNum) -> new ScheduleCounters(
+                        rs.getInt(1),
+                        rs.getInt(2),
+                        rs.getInt(3),
+                        rs.getInt(4),
+                        rs.getString(5)),
+                trainId, Date.valueOf(departureDate));
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Counters plus train and route columns in one query, for trains missing from the snapshot.
+     */
+    public Optional<AvailabilityRow> findAvailability(Long trainId, LocalDate departureDate) {
+        List<AvailabilityRow> rows = jdbcTemplate.query(FULL_SQL,
+                (rs, rowNum) -> new AvailabilityRow(
+                        new ScheduleCounters(
+                                rs.getInt(1),
+                                rs.getInt(2),
+                                rs.getInt(3),
+                                rs.getInt(4),
+                                rs.getString(5)),
+                        rs.getString(6),
+                        rs.getString(7),
+                        toLocalTime(rs.getTime(8)),
+                        toLocalTime(rs.getTime(9)),
+                        rs.getInt(10),
+                        rs.getBigDecimal(11),
+                        rs.getBigDecimal(12),
+                        rs.getBigDecimal(13),
+                        rs.getString(14),
+                        rs.getString(15)),
+                trainId, Date.valueOf(departureDate));
+        return rows.stream().findFirst();
+    }
+
+    private static LocalTime toLocalTime(Time time) {
+        return time != null ? time.toLocalTime() : null;
+    }
+
+    public record ScheduleCounters(
+            int availableEconomy,
+            int availableBusiness,
+            int availableFirstClass,
+            int reserved,
+            String status) {
+
+        public int totalAvailable() {
+            return availableEconomy + availableBusiness + availableFirstClass;
+        }
+    }
+
+    public record AvailabilityRow(
+            ScheduleCounters counters,
+            String trainNumber,
+            String trainName,
+            LocalTime departureTime,
+            LocalTime arrivalTime,
+            int totalSeats,
+            BigDecimal economyPrice,
+            BigDecimal businessPrice,
+            BigDecimal firstClassPrice,
+            String origin,
+            String destination) {
+    }
+}
@@ -3,18 +3,23 @@ package com.example.inventoryservice.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.inventoryservice.entity.Route;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface RouteRepository extends JpaRepository<Route, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Route> findByOriginAndDestination(String origin, String destination);
     
     List<Route> findByOriginIgnoreCase(String origin);
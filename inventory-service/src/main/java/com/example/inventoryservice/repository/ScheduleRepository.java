@@ -68,6 +68,11 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     @Query("SELECT s FROM Schedule s WHERE s.departureDate < :date AND s.status = 'SCHEDULED'")
     List<Schedule> findPastScheduledSchedules(@Param("date") LocalDate date);
     
+    // Train and route fetched in the same query; ScheduleResponse.from reads both
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.train t LEFT JOIN FETCH t.route " +
+           "WHERE s.status = :status AND s.departureDate >= :since ORDER BY s.departureDate, s.id")
+    List<Schedule> findByStatusSince(@Param("status") ScheduleStatus status, @Param("since") LocalDate since);
+    
     boolean existsByTrainIdAndDepartureDate(Long trainId, LocalDate departureDate);
 }
 
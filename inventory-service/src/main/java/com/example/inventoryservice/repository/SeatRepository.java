@@ -43,4 +43,8 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
             @Param("available") boolean available);
     
     boolean existsByTrainIdAndSeatNumber(Long trainId, String seatNumber);
+    
+    // Seat map layout: carNumber, seatClass, available in allocation order
+    @Query("SELECT s.carNumber, s.seatClass, s.available FROM Seat s WHERE s.train.id = :trainId ORDER BY s.carNumber, s.id")
+    List<Object[]> findSeatLayoutByTrainId(@Param("trainId") Long trainId);
 }
@@ -0,0 +1,22 @@
+package com.example.inventoryservice.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.inventoryservice.entity.SeatReservation;
+
+@Repository
+public interface SeatReservationRepository extends JpaRepository<SeatReservation, String> {
+
+    // Reservations of departed schedules can no longer be reserved or released
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatReservation r WHERE r.departureDate < :date")
+    int deleteByDepartureDateBefore(@Param("date") LocalDate date);
+}
@@ -3,25 +3,33 @@ package com.example.inventoryservice.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.inventoryservice.entity.Train;
 import com.example.inventoryservice.entity.Train.TrainType;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TrainRepository extends JpaRepository<Train, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Train> findByTrainNumber(String trainNumber);
     
     List<Train> findByRouteId(Long routeId);
     
     List<Train> findByActiveTrue();
     
+    @Query("SELECT t FROM Train t JOIN FETCH t.route WHERE t.active = true")
+    List<Train> findAllActiveWithRoute();
+    
     Page<Train> findByActiveTrue(Pageable pageable);
     
     List<Train> findByTrainType(TrainType trainType);
@@ -0,0 +1,106 @@
+package com.example.inventoryservice.service;
+
+import java.time.LocalDate;
+
+import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.Train;
+import com.example.inventoryservice.repository.AvailabilityQueryRepository.AvailabilityRow;
+import com.example.inventoryservice.repository.AvailabilityQueryRepository.ScheduleCounters;
+
+/**
+ * Builds availability responses. Seat counters always come from the schedule; train and
+ * route data come from the catalog snapshot, a Train entity or a JDBC row, whichever the
+ * read path has at hand. Every read path goes through here so the views cannot drift apart.
+ */
+final class AvailabilityMapper {
+
+    private AvailabilityMapper() {
+    }
+
+    static ScheduleCounters counters(Schedule schedule) {
+        return new ScheduleCounters(
+                schedule.getAvailableEconomySeats(),
+                schedule.getAvailableBusinessSeats(),
+                schedule.getAvailableFirstClassSeats() != null ? schedule.getAvailableFirstClassSeats() : 0,
+                schedule.getReservedSeats() != null ? schedule.getReservedSeats() : 0,
+                schedule.getStatus().name());
+    }
+
+    static AvailabilityResponse fromSnapshot(CatalogSnapshot catalog, int idx, LocalDate date,
+            ScheduleCounters counters) {
+        int routeIdx = catalog.trainRoute(idx);
+        return builder(date, counters)
+                .trainId(catalog.trainId(idx))
+                .trainNumber(catalog.trainNumber(idx))
+                .trainName(catalog.trainName(idx))
+                .origin(routeIdx >= 0 ? catalog.origin(routeIdx) : null)
+                .destination(routeIdx >= 0 ? catalog.destination(routeIdx) : null)
+                .departureTime(catalog.departureTime(idx))
+                .arrivalTime(catalog.arrivalTime(idx))
+                .totalSeats(catalog.totalSeats(idx))
+                .prices(prices(catalog, idx))
+                .build();
+    }
+
+    static AvailabilityResponse fromTrain(Train train, LocalDate date, ScheduleCounters counters) {
+        return builder(date, counters)
+                .trainId(train.getId())
+                .trainNumber(train.getTrainNumber())
+                .trainName(train.getTrainName())
+                .origin(train.getRoute().getOrigin())
+                .destination(train.getRoute().getDestination())
+                .departureTime(train.getDepartureTime())
+                .arrivalTime(train.getArrivalTime())
+                .totalSeats(train.getTotalSeats())
+                .prices(prices(train))
+                .build();
+    }
+
+    static AvailabilityResponse.PriceInfo prices(CatalogSnapshot catalog, int idx) {
+        return AvailabilityResponse.PriceInfo.builder()
+                .economy(catalog.economyPrice(idx))
+                .business(catalog.businessPrice(idx))
+                .firstClass(catalog.firstClassPrice(idx))
+                .build();
+    }
+
+    static AvailabilityResponse.PriceInfo prices(Train train) {
+        return AvailabilityResponse.PriceInfo.builder()
+                .economy(train.getEconomyPrice())
+                .business(train.getBusinessPrice())
+                .firstClass(train.getFirstClassPrice())
+                .build();
+    }
+
+    static AvailabilityResponse fromRow(Long trainId, LocalDate date, AvailabilityRow row) {
+        return builder(date, row.counters())
+                .trainId(trainId)
+                .trainNumber(row.trainNumber())
+                .trainName(row.trainName())
+                .origin(row.origin())
+                .destination(row.destination())
+                .departureTime(row.departureTime())
+                .arrivalTime(row.arrivalTime())
+                .totalSeats(row.totalSeats())
+                .prices(AvailabilityResponse.PriceInfo.builder()
+                        .economy(row.economyPrice())
+                        .business(row.businessPrice())
+                        .firstClass(row.firstClassPrice())
+                        .build())
+                .build();
+    }
+
+    private static AvailabilityResponse.AvailabilityResponseBuilder builder(LocalDate date, ScheduleCounters counters) {
+        return AvailabilityResponse.builder()
+                .departureDate(date)
+                .availableSeats(counters.totalAvailable())
+                .reservedSeats(counters.reserved())
+                .seatAvailability(AvailabilityResponse.SeatAvailability.builder()
+                        .economy(counters.availableEconomy())
+                        .business(counters.availableBusiness())
+                        .firstClass(counters.availableFirstClass())
+                        .build())
+                .status(counters.status());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.inventoryservice.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.entity.Route;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.Train;
+import com.example.inventoryservice.repository.AvailabilityQueryRepository.ScheduleCounters;
+import com.example.inventoryservice.repository.RouteRepository;
+import com.example.inventoryservice.repository.TrainRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and swaps in a rebuilt one after catalog writes.
+ * The snapshot is also written to disk so a restarted node can serve from it immediately
+ * while the first rebuild from the database runs in the background; a file older than
+ * snapshot-max-age is ignored rather than serving prices from a long-gone catalog.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+    private final TrainRepository trainRepository;
+    private final RouteRepository routeRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final Path snapshotFile;
+    private final Duration snapshotMaxAge;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.empty();
+
+    public CatalogService(TrainRepository trainRepository,
+                          RouteRepository routeRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.catalog.snapshot-file:data/inventory-catalog.bin}") String snapshotFile,
+                          @Value("${inventory.catalog.snapshot-max-age:1h}") Duration snapshotMaxAge) {
+        this.trainRepository = trainRepository;
+        this.routeRepository = routeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+
+    /**
+     * Current snapshot; safe to read from any thread without locking.
+     */
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Availability view of a schedule; train and route data come from the snapshot,
+     * falling back to the (lazily loaded) entity for trains not in it.
+     */
+    public AvailabilityResponse toAvailabilityResponse(Schedule schedule) {
+        CatalogSnapshot catalog = snapshot;
+        ScheduleCounters counters = AvailabilityMapper.counters(schedule);
+        int idx = catalog.trainIndex(schedule.getTrain().getId());
+        if (idx == CatalogSnapshot.NOT_FOUND) {
+            return AvailabilityMapper.fromTrain(schedule.getTrain(), schedule.getDepartureDate(), counters);
+        }
+        return AvailabilityMapper.fromSnapshot(catalog, idx, schedule.getDepartureDate(), counters);
+    }
+
+    /**
+     * Prices of a schedule's train for quoting; read from the snapshot so a reservation holding
+     * the schedule lock does not load the train, with the entity as fallback for trains not in it.
+     */
+    public AvailabilityResponse.PriceInfo pricesFor(Schedule schedule) {
+        CatalogSnapshot catalog = snapshot;
+        int idx = catalog.trainIndex(schedule.getTrain().getId());
+        if (idx == CatalogSnapshot.NOT_FOUND) {
+            return AvailabilityMapper.prices(schedule.getTrain());
+        }
+        return AvailabilityMapper.prices(catalog, idx);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        loadFromDisk();
+        refresh();
+    }
+
+    /**
+     * Schedule an asynchronous rebuild. Requests arriving while one is queued are coalesced.
+     */
+    public void refresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    logger.error("Failed to rebuild catalog snapshot: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    public CatalogSnapshot rebuild() {
+        long start = System.nanoTime();
+        CatalogSnapshot rebuilt = readOnlyTx.execute(status -> {
+            List<Train> trains = trainRepository.findAllActiveWithRoute();
+
+            Map<Long, Route> routes = new LinkedHashMap<>();
+            routeRepository.findByActiveTrue().forEach(route -> routes.put(route.getId(), route));
+            trains.forEach(train -> routes.putIfAbsent(train.getRoute().getId(), train.getRoute()));
+
+            return CatalogSnapshot.of(snapshot.getVersion() + 1, List.copyOf(routes.values()), trains);
+        });
+
+        snapshot = rebuilt;
+        logger.info("Catalog snapshot v{} built: {} trains, {} routes in {} ms",
+                rebuilt.getVersion(), rebuilt.trainCount(), rebuilt.routeCount(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        saveToDisk(rebuilt);
+        return rebuilt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // ============ Persistence ============
+
+    private void loadFromDisk() {
+        if (!Files.isReadable(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            CatalogSnapshot loaded = CatalogSnapshot.readFrom(in);
+            if (loaded.getBuiltAt().isBefore(Instant.now().minus(snapshotMaxAge))) {
+                logger.info("Ignoring catalog snapshot {} built at {}: older than {}",
+                        snapshotFile, loaded.getBuiltAt(), snapshotMaxAge);
+                return;
+            }
+            snapshot = loaded;
+            logger.info("Loaded catalog snapshot v{} from {} ({} trains, built at {})",
+                    loaded.getVersion(), snapshotFile, loaded.trainCount(), loaded.getBuiltAt());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable catalog snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void saveToDisk(CatalogSnapshot toSave) {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                toSave.writeTo(out);
+            }
+            restrictToOwner(tmp);
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write catalog snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the directory's permissions
+        }
+    }
+}
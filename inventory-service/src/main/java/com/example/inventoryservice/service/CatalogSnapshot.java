@@ -0,0 +1,370 @@
+package com.example.inventoryservice.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.inventoryservice.entity.Route;
+import com.example.inventoryservice.entity.Train;
+
+/**
+ * Immutable in-memory copy of the active catalog (routes and trains).
+ * Entities are flattened into primitive arrays addressed by a dense index; ids are kept
+ * sorted so lookups are a binary search. Never mutated after construction, so readers
+ * need no locking and a new snapshot is simply swapped in on change.
+ * {@link #writeTo}/{@link #readFrom} use a plain versioned binary layout (no Java
+ * serialization), so a snapshot file can only ever produce these arrays.
+ */
+public final class CatalogSnapshot {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int MAGIC = 0x49434154; // "ICAT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_ENTRIES = 1_000_000;
+
+    private final long version;
+    private final Instant builtAt;
+
+    // Routes, indexed by dense route index (sorted by id)
+    private final long[] routeIds;
+    private final String[] origins;
+    private final String[] destinations;
+    private final int[] durationMinutes;
+
+    // Trains, indexed by dense train index (sorted by id)
+    private final long[] trainIds;
+    private final String[] trainNumbers;
+    private final String[] trainNames;
+    private final byte[] trainTypes;
+    private final int[] trainRoute;
+    private final int[] departureSecond;
+    private final int[] arrivalSecond;
+    private final int[] totalSeats;
+    private final int[] economySeats;
+    private final int[] businessSeats;
+    private final int[] firstClassSeats;
+    private final long[] economyPriceCents;
+    private final long[] businessPriceCents;
+    private final long[] firstClassPriceCents;
+
+    private CatalogSnapshot(long version, Instant builtAt, int routeCount, int trainCount) {
+        this.version = version;
+        this.builtAt = builtAt;
+
+        routeIds = new long[routeCount];
+        origins = new String[routeCount];
+        destinations = new String[routeCount];
+        durationMinutes = new int[routeCount];
+
+        trainIds = new long[trainCount];
+        trainNumbers = new String[trainCount];
+        trainNames = new String[trainCount];
+        trainTypes = new byte[trainCount];
+        trainRoute = new int[trainCount];
+        departureSecond = new int[trainCount];
+        arrivalSecond = new int[trainCount];
+        totalSeats = new int[trainCount];
+        economySeats = new int[trainCount];
+        businessSeats = new int[trainCount];
+        firstClassSeats = new int[trainCount];
+        economyPriceCents = new long[trainCount];
+        businessPriceCents = new long[trainCount];
+        firstClassPriceCents = new long[trainCount];
+    }
+
+    /**
+     * Build a snapshot; routes must include every route referenced by the trains.
+     */
+    public static CatalogSnapshot of(long version, List<Route> routes, List<Train> trains) {
+        List<Route> sortedRoutes = new ArrayList<>(routes);
+        sortedRoutes.sort(Comparator.comparing(Route::getId));
+        List<Train> sortedTrains = new ArrayList<>(trains);
+        sortedTrains.sort(Comparator.comparing(Train::getId));
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, Instant.now(), sortedRoutes.size(), sortedTrains.size());
+        for (int i = 0; i < sortedRoutes.size(); i++) {
+            Route route = sortedRoutes.get(i);
+            snapshot.routeIds[i] = route.getId();
+            snapshot.origins[i] = route.getOrigin();
+            snapshot.destinations[i] = route.getDestination();
+            snapshot.durationMinutes[i] = route.getDurationMinutes() != null ? route.getDurationMinutes() : 0;
+        }
+        for (int i = 0; i < sortedTrains.size(); i++) {
+            Train train = sortedTrains.get(i);
+            snapshot.trainIds[i] = train.getId();
+            snapshot.trainNumbers[i] = train.getTrainNumber();
+            snapshot.trainNames[i] = train.getTrainName();
+            snapshot.trainTypes[i] = (byte) train.getTrainType().ordinal();
+            snapshot.trainRoute[i] = Arrays.binarySearch(snapshot.routeIds, train.getRoute().getId());
+            snapshot.departureSecond[i] = toSecond(train.getDepartureTime());
+            snapshot.arrivalSecond[i] = toSecond(train.getArrivalTime());
+            snapshot.totalSeats[i] = train.getTotalSeats() != null ? train.getTotalSeats() : 0;
+            snapshot.economySeats[i] = train.getEconomySeats() != null ? train.getEconomySeats() : 0;
+            snapshot.businessSeats[i] = train.getBusinessSeats() != null ? train.getBusinessSeats() : 0;
+            snapshot.firstClassSeats[i] = train.getFirstClassSeats() != null ? train.getFirstClassSeats() : 0;
+            snapshot.economyPriceCents[i] = toCents(train.getEconomyPrice());
+            snapshot.businessPriceCents[i] = toCents(train.getBusinessPrice());
+            snapshot.firstClassPriceCents[i] = toCents(train.getFirstClassPrice());
+        }
+        return snapshot;
+    }
+
+    public static CatalogSnapshot empty() {
+        return new CatalogSnapshot(0L, Instant.now(), 0, 0);
+    }
+
+    // ============ Binary Layout ============
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(version);
+        out.writeLong(builtAt.toEpochMilli());
+
+        out.writeInt(routeIds.length);
+        for (int i = 0; i < routeIds.length; i++) {
+            out.writeLong(routeIds[i]);
+            writeString(out, origins[i]);
+            writeString(out, destinations[i]);
+            out.writeInt(durationMinutes[i]);
+        }
+
+        out.writeInt(trainIds.length);
+        for (int i = 0; i < trainIds.length; i++) {
+            out.writeLong(trainIds[i]);
+            writeString(out, trainNumbers[i]);
+            writeString(out, trainNames[i]);
+            out.writeByte(trainTypes[i]);
+            out.writeInt(trainRoute[i]);
+            out.writeInt(departureSecond[i]);
+            out.writeInt(arrivalSecond[i]);
+            out.writeInt(totalSeats[i]);
+            out.writeInt(economySeats[i]);
+            out.writeInt(businessSeats[i]);
+            out.writeInt(firstClassSeats[i]);
+            out.writeLong(economyPriceCents[i]);
+            out.writeLong(businessPriceCents[i]);
+            out.writeLong(firstClassPriceCents[i]);
+        }
+    }
+
+    /**
+     * Read a snapshot written by {@link #writeTo}; anything malformed fails with IOException.
+     */
+    public static CatalogSnapshot readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        int format = in.readInt();
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog snapshot format " + format);
+        }
+        long version = in.readLong();
+        Instant builtAt = Instant.ofEpochMilli(in.readLong());
+
+        int routeCount = readCount(in);
+        long[] routeIds = new long[routeCount];
+        String[] origins = new String[routeCount];
+        String[] destinations = new String[routeCount];
+        int[] durationMinutes = new int[routeCount];
+        for (int i = 0; i < routeCount; i++) {
+            routeIds[i] = in.readLong();
+            origins[i] = readString(in);
+            destinations[i] = readString(in);
+            durationMinutes[i] = in.readInt();
+        }
+        requireAscending(routeIds);
+
+        int trainCount = readCount(in);
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, builtAt, routeCount, trainCount);
+        System.arraycopy(routeIds, 0, snapshot.routeIds, 0, routeCount);
+        System.arraycopy(origins, 0, snapshot.origins, 0, routeCount);
+        System.arraycopy(destinations, 0, snapshot.destinations, 0, routeCount);
+        System.arraycopy(durationMinutes, 0, snapshot.durationMinutes, 0, routeCount);
+
+        int trainTypeCount = Train.TrainType.values().length;
+        for (int i = 0; i < trainCount; i++) {
+            snapshot.trainIds[i] = in.readLong();
+            snapshot.trainNumbers[i] = readString(in);
+            snapshot.trainNames[i] = readString(in);
+            snapshot.trainTypes[i] = in.readByte();
+            snapshot.trainRoute[i] = in.readInt();
+            snapshot.departureSecond[i] = in.readInt();
+            snapshot.arrivalSecond[i] = in.readInt();
+            snapshot.totalSeats[i] = in.readInt();
+            snapshot.economySeats[i] = in.readInt();
+            snapshot.businessSeats[i] = in.readInt();
+            snapshot.firstClassSeats[i] = in.readInt();
+            snapshot.economyPriceCents[i] = in.readLong();
+            snapshot.businessPriceCents[i] = in.readLong();
+            snapshot.firstClassPriceCents[i] = in.readLong();
+            if (snapshot.trainTypes[i] < 0 || snapshot.trainTypes[i] >= trainTypeCount
+                    || snapshot.trainRoute[i] < NOT_FOUND || snapshot.trainRoute[i] >= routeCount
+                    || !isSecondOfDay(snapshot.departureSecond[i]) || !isSecondOfDay(snapshot.arrivalSecond[i])) {
+                throw new IOException("Corrupt train entry at index " + i);
+            }
+        }
+        requireAscending(snapshot.trainIds);
+        return snapshot;
+    }
+
+    // ============ Lookups ============
+
+    public int trainIndex(long trainId) {
+        int idx = Arrays.binarySearch(trainIds, trainId);
+        return idx >= 0 ? idx : NOT_FOUND;
+    }
+
+    public int routeIndex(long routeId) {
+        int idx = Arrays.binarySearch(routeIds, routeId);
+        return idx >= 0 ? idx : NOT_FOUND;
+    }
+
+    // ============ Train Accessors ============
+
+    public long trainId(int idx) {
+        return trainIds[idx];
+    }
+
+    public String trainNumber(int idx) {
+        return trainNumbers[idx];
+    }
+
+    public String trainName(int idx) {
+        return trainNames[idx];
+    }
+
+    public Train.TrainType trainType(int idx) {
+        return Train.TrainType.values()[trainTypes[idx]];
+    }
+
+    public int trainRoute(int idx) {
+        return trainRoute[idx];
+    }
+
+    public LocalTime departureTime(int idx) {
+        return departureSecond[idx] < 0 ? null : LocalTime.ofSecondOfDay(departureSecond[idx]);
+    }
+
+    public LocalTime arrivalTime(int idx) {
+        return arrivalSecond[idx] < 0 ? null : LocalTime.ofSecondOfDay(arrivalSecond[idx]);
+    }
+
+    public int totalSeats(int idx) {
+        return totalSeats[idx];
+    }
+
+    public int economySeats(int idx) {
+        return economySeats[idx];
+    }
+
+    public int businessSeats(int idx) {
+        return businessSeats[idx];
+    }
+
+    public int firstClassSeats(int idx) {
+        return firstClassSeats[idx];
+    }
+
+    public BigDecimal economyPrice(int idx) {
+        return fromCents(economyPriceCents[idx]);
+    }
+
+    public BigDecimal businessPrice(int idx) {
+        return fromCents(businessPriceCents[idx]);
+    }
+
+    public BigDecimal firstClassPrice(int idx) {
+        return fromCents(firstClassPriceCents[idx]);
+    }
+
+    // ============ Route Accessors ============
+
+    public long routeId(int idx) {
+        return routeIds[idx];
+    }
+
+    public String origin(int idx) {
+        return origins[idx];
+    }
+
+    public String destination(int idx) {
+        return destinations[idx];
+    }
+
+    public int durationMinutes(int idx) {
+        return durationMinutes[idx];
+    }
+
+    // ============ Metadata ============
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public int trainCount() {
+        return trainIds.length;
+    }
+
+    public int routeCount() {
+        return routeIds.length;
+    }
+
+    // ============ Helper Methods ============
+
+    private static int toSecond(LocalTime time) {
+        return time != null ? time.toSecondOfDay() : -1;
+    }
+
+    private static boolean isSecondOfDay(int second) {
+        return second >= -1 && second < 86_400;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ENTRIES) {
+            throw new IOException("Implausible entry count " + count);
+        }
+        return count;
+    }
+
+    private static void requireAscending(long[] ids) throws IOException {
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] <= ids[i - 1]) {
+                throw new IOException("Ids are not sorted");
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Prices are stored in minor units; Long.MIN_VALUE marks a missing price
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).longValue() : Long.MIN_VALUE;
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return cents == Long.MIN_VALUE ? null : BigDecimal.valueOf(cents, 2);
+    }
+}
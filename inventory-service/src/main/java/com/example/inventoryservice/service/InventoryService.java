@@ -1,29 +1,48 @@
 package com.example.inventoryservice.service;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.dto.BatchReleaseRequest;
+import com.example.inventoryservice.dto.BatchReserveRequest;
+import com.example.inventoryservice.dto.ReservationResult;
 import com.example.inventoryservice.dto.ReserveSeatRequest;
 import com.example.inventoryservice.entity.Inventory;
 import com.example.inventoryservice.entity.Schedule;
-import com.example.inventoryservice.entity.Train;
+import com.example.inventoryservice.entity.SeatReservation;
+import com.example.inventoryservice.entity.SeatReservation.ReservationStatus;
 import com.example.inventoryservice.exception.InsufficientSeatsException;
 import com.example.inventoryservice.exception.ScheduleNotFoundException;
 import com.example.inventoryservice.exception.TrainNotFoundException;
+import com.example.inventoryservice.repository.AvailabilityQueryRepository;
 import com.example.inventoryservice.repository.InventoryRepository;
 import com.example.inventoryservice.repository.ScheduleRepository;
+import com.example.inventoryservice.repository.SeatReservationRepository;
 import com.example.inventoryservice.repository.TrainRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -42,19 +61,38 @@ public class InventoryService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private final InventoryRepository inventoryRepository;
+    private final AvailabilityQueryRepository availabilityQueryRepository;
     private final ScheduleRepository scheduleRepository;
+    private final SeatReservationRepository seatReservationRepository;
     private final TrainRepository trainRepository;
     private final RedissonClient redissonClient;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final CatalogService catalogService;
+    private final LockContentionProfiler contentionProfiler;
 
+    @Value("${inventory.reservation.hold-duration:15m}")
+    private Duration holdDuration;
+
+    /**
+     * Lean read path: one JDBC query for the schedule counters, reference data from the
+     * catalog snapshot. Runs outside any transaction and creates no entities.
+     */
     @Cacheable(value = "inventory", key = "#trainId + ':' + #departureDate")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AvailabilityResponse checkAvailability(Long trainId, String departureDate) {
         logger.debug("Checking availability for train {} on {}", trainId, departureDate);
         
         LocalDate date = parseDate(departureDate);
         
-        Optional<Schedule> scheduleOpt = scheduleRepository.findByTrainIdAndDepartureDate(trainId, date);
-        if (scheduleOpt.isEmpty()) {
+        CatalogSnapshot catalog = catalogService.current();
+        int trainIdx = catalog.trainIndex(trainId);
+        Optional<AvailabilityResponse> response = trainIdx != CatalogSnapshot.NOT_FOUND
+                ? availabilityQueryRepository.findCounters(trainId, date)
+                        .map(counters -> AvailabilityMapper.fromSnapshot(catalog, trainIdx, date, counters))
+                : availabilityQueryRepository.findAvailability(trainId, date)
+                        .map(row -> AvailabilityMapper.fromRow(trainId, date, row));
+
+        return response.orElseGet(() -> {
             logger.debug("No schedule found for train {} on {}", trainId, date);
             return AvailabilityResponse.builder()
                     .trainId(trainId)
@@ -63,35 +101,7 @@ public class InventoryService {
                     .reservedSeats(0)
                     .status("NOT_AVAILABLE")
                     .build();
-        }
-
-        Schedule schedule = scheduleOpt.get();
-        Train train = schedule.getTrain();
-
-        return AvailabilityResponse.builder()
-                .trainId(trainId)
-                .trainNumber(train.getTrainNumber())
-                .trainName(train.getTrainName())
-                .origin(train.getRoute().getOrigin())
-                .destination(train.getRoute().getDestination())
-                .departureDate(date)
-                .departureTime(train.getDepartureTime())
-                .arrivalTime(train.getArrivalTime())
-                .totalSeats(train.getTotalSeats())
-                .availableSeats(schedule.getTotalAvailableSeats())
-                .reservedSeats(schedule.getReservedSeats())
-                .seatAvailability(AvailabilityResponse.SeatAvailability.builder()
-                        .economy(schedule.getAvailableEconomySeats())
-                        .business(schedule.getAvailableBusinessSeats())
-                        .firstClass(schedule.getAvailableFirstClassSeats())
-                        .build())
-                .prices(AvailabilityResponse.PriceInfo.builder()
-                        .economy(train.getEconomyPrice())
-                        .business(train.getBusinessPrice())
-                        .firstClass(train.getFirstClassPrice())
-                        .build())
-                .status(schedule.getStatus().name())
-                .build();
+        });
     }
 
     @Transactional
@@ -99,14 +109,19 @@ public class InventoryService {
         String lockKey = LOCK_PREFIX + request.getTrainId() + ":" + request.getDepartureDate();
         RLock lock = redissonClient.getLock(lockKey);
 
+        long waitStart = System.nanoTime();
         try {
             if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                long acquiredAt = System.nanoTime();
+                contentionProfiler.recordAcquired(lockKey, LockContentionProfiler.RESERVE, acquiredAt - waitStart);
                 try {
                     return doReserveSeats(request);
                 } finally {
                     lock.unlock();
+                    contentionProfiler.recordReleased(lockKey, LockContentionProfiler.RESERVE, System.nanoTime() - acquiredAt);
                 }
             } else {
+                contentionProfiler.recordTimeout(lockKey, LockContentionProfiler.RESERVE, System.nanoTime() - waitStart);
                 logger.warn("Could not acquire lock for reservation: {}", lockKey);
                 return false;
             }
@@ -117,19 +132,121 @@ public class InventoryService {
         }
     }
 
+    /**
+     * Apply several reservations on one schedule under a single lock acquisition and row lock.
+     * Items are applied in order and fail individually (e.g. when the schedule runs out of seats
+     * part-way through); a lock timeout or missing schedule rejects every item.
+     */
+    @Transactional
+    public List<ReservationResult> reserveSeatsBatch(BatchReserveRequest request) {
+        String lockKey = LOCK_PREFIX + request.getTrainId() + ":" + request.getDepartureDate();
+        RLock lock = redissonClient.getLock(lockKey);
+
+        long waitStart = System.nanoTime();
+        try {
+            if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                long acquiredAt = System.nanoTime();
+                contentionProfiler.recordAcquired(lockKey, LockContentionProfiler.RESERVE, acquiredAt - waitStart);
+                try {
+                    return doReserveSeatsBatch(request);
+                } finally {
+                    lock.unlock();
+                    contentionProfiler.recordReleased(lockKey, LockContentionProfiler.RESERVE, System.nanoTime() - acquiredAt);
+                }
+            } else {
+                contentionProfiler.recordTimeout(lockKey, LockContentionProfiler.RESERVE, System.nanoTime() - waitStart);
+                logger.warn("Could not acquire lock for batch reservation: {}", lockKey);
+                return rejectAll(request, "Could not acquire inventory lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while acquiring lock for batch reservation", e);
+            return rejectAll(request, "Interrupted");
+        }
+    }
+
+    /**
+     * Reserve seats and quote them in one call: the check, the reservation and the price all
+     * happen under the schedule lock, so there is no separate availability check to race with
+     */
+    @Transactional
+    public ReservationResult reserveAndQuote(ReserveSeatRequest request) {
+        BatchReserveRequest batch = BatchReserveRequest.builder()
+                .trainId(request.getTrainId())
+                .departureDate(request.getDepartureDate())
+                .items(List.of(BatchReserveRequest.Item.builder()
+                        .numberOfSeats(request.getNumberOfSeats())
+                        .seatClass(request.getSeatClass())
+                        .seatNumbers(request.getSeatNumbers())
+                        .reservationId(request.getReservationId())
+                        .build()))
+                .build();
+        return reserveSeatsBatch(batch).get(0);
+    }
+
+    /**
+     * Release reservations on one schedule by reservation id, under a single lock.
+     * Releasing is idempotent, and an id that was never reserved is recorded as released
+     * so a reserve that arrives later is rejected.
+     */
+    @Transactional
+    public boolean releaseReservations(BatchReleaseRequest request) {
+        String lockKey = LOCK_PREFIX + request.getTrainId() + ":" + request.getDepartureDate();
+        RLock lock = redissonClient.getLock(lockKey);
+
+        long waitStart = System.nanoTime();
+        try {
+            if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                long acquiredAt = System.nanoTime();
+                contentionProfiler.recordAcquired(lockKey, LockContentionProfiler.RELEASE, acquiredAt - waitStart);
+                try {
+                    return doReleaseReservations(request);
+                } finally {
+                    lock.unlock();
+                    contentionProfiler.recordReleased(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - acquiredAt);
+                }
+            } else {
+                contentionProfiler.recordTimeout(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - waitStart);
+                logger.warn("Could not acquire lock for reservation release: {}", lockKey);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while acquiring lock for reservation release", e);
+            return false;
+        }
+    }
+
+    /**
+     * Drop reservation records of schedules that have departed
+     */
+    @Scheduled(cron = "${inventory.reservation.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeDepartedReservations() {
+        int deleted = seatReservationRepository.deleteByDepartureDateBefore(LocalDate.now().minusDays(1));
+        if (deleted > 0) {
+            logger.info("Purged {} reservation records of departed schedules", deleted);
+        }
+    }
+
     @Transactional
     public boolean releaseSeats(Long trainId, String departureDate, Integer numberOfSeats) {
         String lockKey = LOCK_PREFIX + trainId + ":" + departureDate;
         RLock lock = redissonClient.getLock(lockKey);
 
+        long waitStart = System.nanoTime();
         try {
             if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                long acquiredAt = System.nanoTime();
+                contentionProfiler.recordAcquired(lockKey, LockContentionProfiler.RELEASE, acquiredAt - waitStart);
                 try {
                     return doReleaseSeats(trainId, departureDate, numberOfSeats, null);
                 } finally {
                     lock.unlock();
+                    contentionProfiler.recordReleased(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - acquiredAt);
                 }
             } else {
+                contentionProfiler.recordTimeout(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - waitStart);
                 logger.warn("Could not acquire lock for release: {}", lockKey);
                 return false;
             }
@@ -145,14 +262,19 @@ public class InventoryService {
         String lockKey = LOCK_PREFIX + trainId + ":" + departureDate;
         RLock lock = redissonClient.getLock(lockKey);
 
+        long waitStart = System.nanoTime();
         try {
             if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                long acquiredAt = System.nanoTime();
+                contentionProfiler.recordAcquired(lockKey, LockContentionProfiler.RELEASE, acquiredAt - waitStart);
                 try {
                     return doReleaseSeats(trainId, departureDate, numberOfSeats, seatClass);
                 } finally {
                     lock.unlock();
+                    contentionProfiler.recordReleased(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - acquiredAt);
                 }
             } else {
+                contentionProfiler.recordTimeout(lockKey, LockContentionProfiler.RELEASE, System.nanoTime() - waitStart);
                 return false;
             }
         } catch (InterruptedException e) {
@@ -172,23 +294,134 @@ public class InventoryService {
         int requested = request.getNumberOfSeats();
 
         // Check availability based on seat class
-        boolean hasSeats = switch (seatClass) {
-            case "ECONOMY" -> schedule.getAvailableEconomySeats() >= requested;
-            case "BUSINESS" -> schedule.getAvailableBusinessSeats() >= requested;
-            case "FIRST" -> schedule.getAvailableFirstClassSeats() >= requested;
-            default -> schedule.getTotalAvailableSeats() >= requested;
-        };
-
-        if (!hasSeats) {
-            int available = switch (seatClass) {
-                case "ECONOMY" -> schedule.getAvailableEconomySeats();
-                case "BUSINESS" -> schedule.getAvailableBusinessSeats();
-                case "FIRST" -> schedule.getAvailableFirstClassSeats();
-                default -> schedule.getTotalAvailableSeats();
-            };
+        int available = availableSeats(schedule, seatClass);
+        if (available < requested) {
             throw new InsufficientSeatsException(seatClass, requested, available);
         }
 
+        Inventory inventory = inventoryRepository.findByTrainIdAndDepartureDateWithLock(
+                request.getTrainId(), date)
+                .orElse(null);
+        applyReservation(schedule, inventory, seatClass, requested);
+        scheduleRepository.save(schedule);
+        if (inventory != null) {
+            inventoryRepository.save(inventory);
+        }
+
+        // Evict cache
+        evictCache(request.getTrainId(), request.getDepartureDate());
+
+        logger.info("Reserved {} {} seats for train {} on {}", 
+                requested, seatClass, request.getTrainId(), request.getDepartureDate());
+        return true;
+    }
+
+    private List<ReservationResult> doReserveSeatsBatch(BatchReserveRequest request) {
+        LocalDate date = parseDate(request.getDepartureDate());
+
+        Optional<Schedule> scheduleOpt = scheduleRepository.findByTrainIdAndDepartureDateWithLock(
+                request.getTrainId(), date);
+        if (scheduleOpt.isEmpty()) {
+            return rejectAll(request, new ScheduleNotFoundException(request.getTrainId(), date).getMessage());
+        }
+        Schedule schedule = scheduleOpt.get();
+        Inventory inventory = inventoryRepository.findByTrainIdAndDepartureDateWithLock(
+                request.getTrainId(), date)
+                .orElse(null);
+
+        Map<String, SeatReservation> ledger = findReservations(request.getItems().stream()
+                .map(BatchReserveRequest.Item::getReservationId)
+                .filter(Objects::nonNull)
+                .toList());
+        List<SeatReservation> newReservations = new ArrayList<>();
+
+        AvailabilityResponse.PriceInfo prices = catalogService.pricesFor(schedule);
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plus(holdDuration);
+        List<ReservationResult> results = new ArrayList<>(request.getItems().size());
+        int reservedSeats = 0;
+        for (BatchReserveRequest.Item item : request.getItems()) {
+            String reservationId = item.getReservationId();
+            SeatReservation known = reservationId != null ? ledger.get(reservationId) : null;
+            if (known != null) {
+                // Repeat of a reservation we already applied, or one released before it got here
+                results.add(known.getStatus() == ReservationStatus.RESERVED
+                        ? quote(prices, known.getSeatClass(), item, known.getHoldExpiresAt())
+                        : ReservationResult.rejected("Reservation " + reservationId + " was already released"));
+                continue;
+            }
+
+            String seatClass = item.getSeatClass() != null ? item.getSeatClass().toUpperCase() : "ECONOMY";
+            int requested = item.getNumberOfSeats();
+            int available = availableSeats(schedule, seatClass);
+            if (available < requested) {
+                ReservationResult rejected = ReservationResult.rejected(
+                        new InsufficientSeatsException(seatClass, requested, available).getMessage());
+                rejected.setAvailableSeats(available);
+                results.add(rejected);
+                continue;
+            }
+            applyReservation(schedule, inventory, seatClass, requested);
+            reservedSeats += requested;
+            results.add(quote(prices, seatClass, item, holdExpiresAt));
+            if (reservationId != null) {
+                SeatReservation reservation = SeatReservation.builder()
+                        .reservationId(reservationId)
+                        .trainId(request.getTrainId())
+                        .departureDate(date)
+                        .seatClass(seatClass)
+                        .numberOfSeats(requested)
+                        .status(ReservationStatus.RESERVED)
+                        .holdExpiresAt(holdExpiresAt)
+                        .build();
+                ledger.put(reservationId, reservation);
+                newReservations.add(reservation);
+            }
+        }
+
+        if (reservedSeats > 0) {
+            scheduleRepository.save(schedule);
+            if (inventory != null) {
+                inventoryRepository.save(inventory);
+            }
+            seatReservationRepository.saveAll(newReservations);
+            evictCache(request.getTrainId(), request.getDepartureDate());
+        }
+
+        logger.info("Batch reserved {} seats in {} of {} requests for train {} on {}", reservedSeats,
+                results.stream().filter(ReservationResult::isReserved).count(), results.size(),
+                request.getTrainId(), request.getDepartureDate());
+        return results;
+    }
+
+    private ReservationResult quote(AvailabilityResponse.PriceInfo prices, String seatClass,
+            BatchReserveRequest.Item item, LocalDateTime holdExpiresAt) {
+        BigDecimal unitPrice = switch (seatClass) {
+            case "BUSINESS" -> prices.getBusiness();
+            case "FIRST" -> prices.getFirstClass();
+            default -> prices.getEconomy();
+        };
+        return ReservationResult.builder()
+                .reserved(true)
+                .seatClass(seatClass)
+                .numberOfSeats(item.getNumberOfSeats())
+                .seatNumbers(item.getSeatNumbers())
+                .unitPrice(unitPrice)
+                .totalPrice(unitPrice.multiply(BigDecimal.valueOf(item.getNumberOfSeats())))
+                .prices(prices)
+                .holdExpiresAt(holdExpiresAt)
+                .build();
+    }
+
+    private int availableSeats(Schedule schedule, String seatClass) {
+        return switch (seatClass) {
+            case "ECONOMY" -> schedule.getAvailableEconomySeats();
+            case "BUSINESS" -> schedule.getAvailableBusinessSeats();
+            case "FIRST" -> schedule.getAvailableFirstClassSeats();
+            default -> schedule.getTotalAvailableSeats();
+        };
+    }
+
+    private void applyReservation(Schedule schedule, Inventory inventory, String seatClass, int requested) {
         // Update schedule
         switch (seatClass) {
             case "ECONOMY" -> schedule.setAvailableEconomySeats(
@@ -201,13 +434,8 @@ public class InventoryService {
                     schedule.getAvailableEconomySeats() - requested);
         }
         schedule.setReservedSeats(schedule.getReservedSeats() + requested);
-        scheduleRepository.save(schedule);
 
         // Update inventory
-        Inventory inventory = inventoryRepository.findByTrainIdAndDepartureDateWithLock(
-                request.getTrainId(), date)
-                .orElse(null);
-        
         if (inventory != null) {
             inventory.setAvailableSeats(inventory.getAvailableSeats() - requested);
             inventory.setReservedSeats(inventory.getReservedSeats() + requested);
@@ -219,15 +447,13 @@ public class InventoryService {
                 case "FIRST" -> inventory.setFirstClassAvailable(
                         inventory.getFirstClassAvailable() - requested);
             }
-            inventoryRepository.save(inventory);
         }
+    }
 
-        // Evict cache
-        evictCache(request.getTrainId(), request.getDepartureDate());
-
-        logger.info("Reserved {} {} seats for train {} on {}", 
-                requested, seatClass, request.getTrainId(), request.getDepartureDate());
-        return true;
+    private List<ReservationResult> rejectAll(BatchReserveRequest request, String message) {
+        return request.getItems().stream()
+                .map(item -> ReservationResult.rejected(message))
+                .toList();
     }
 
     private boolean doReleaseSeats(Long trainId, String departureDate, Integer numberOfSeats, String seatClass) {
@@ -241,44 +467,110 @@ public class InventoryService {
 
         Schedule schedule = scheduleOpt.get();
         String effectiveSeatClass = seatClass != null ? seatClass.toUpperCase() : "ECONOMY";
+        Inventory inventory = inventoryRepository.findByTrainIdAndDepartureDateWithLock(trainId, date)
+                .orElse(null);
+        applyRelease(schedule, inventory, effectiveSeatClass, numberOfSeats);
+        scheduleRepository.save(schedule);
+        if (inventory != null) {
+            inventoryRepository.save(inventory);
+        }
+
+        // Evict cache
+        evictCache(trainId, departureDate);
+
+        logger.info("Released {} {} seats for train {} on {}", 
+                numberOfSeats, effectiveSeatClass, trainId, departureDate);
+        return true;
+    }
+
+    private boolean doReleaseReservations(BatchReleaseRequest request) {
+        LocalDate date = parseDate(request.getDepartureDate());
+
+        Optional<Schedule> scheduleOpt = scheduleRepository.findByTrainIdAndDepartureDateWithLock(
+                request.getTrainId(), date);
+        if (scheduleOpt.isEmpty()) {
+            logger.warn("Schedule not found for reservation release: train={}, date={}", request.getTrainId(), date);
+            return false;
+        }
+        Schedule schedule = scheduleOpt.get();
+        Inventory inventory = inventoryRepository.findByTrainIdAndDepartureDateWithLock(
+                request.getTrainId(), date)
+                .orElse(null);
+
+        Set<String> reservationIds = new LinkedHashSet<>(request.getReservationIds());
+        Map<String, SeatReservation> ledger = findReservations(reservationIds);
+        List<SeatReservation> changed = new ArrayList<>(reservationIds.size());
+        int releasedSeats = 0;
+        for (String reservationId : reservationIds) {
+            SeatReservation reservation = ledger.get(reservationId);
+            if (reservation == null) {
+                // Never reserved (yet): leave a tombstone so a late reserve is rejected
+                changed.add(SeatReservation.builder()
+                        .reservationId(reservationId)
+                        .trainId(request.getTrainId())
+                        .departureDate(date)
+                        .seatClass("ECONOMY")
+                        .numberOfSeats(0)
+                        .status(ReservationStatus.RELEASED)
+                        .build());
+            } else if (reservation.getStatus() == ReservationStatus.RESERVED) {
+                applyRelease(schedule, inventory, reservation.getSeatClass(), reservation.getNumberOfSeats());
+                releasedSeats += reservation.getNumberOfSeats();
+                reservation.setStatus(ReservationStatus.RELEASED);
+                changed.add(reservation);
+            }
+        }
 
+        if (releasedSeats > 0) {
+            scheduleRepository.save(schedule);
+            if (inventory != null) {
+                inventoryRepository.save(inventory);
+            }
+            evictCache(request.getTrainId(), request.getDepartureDate());
+        }
+        seatReservationRepository.saveAll(changed);
+
+        logger.info("Released {} seats for {} of {} reservations on train {} on {}", releasedSeats,
+                changed.size(), reservationIds.size(), request.getTrainId(), request.getDepartureDate());
+        return true;
+    }
+
+    private void applyRelease(Schedule schedule, Inventory inventory, String seatClass, int released) {
         // Update schedule
-        switch (effectiveSeatClass) {
+        switch (seatClass) {
             case "ECONOMY" -> schedule.setAvailableEconomySeats(
-                    schedule.getAvailableEconomySeats() + numberOfSeats);
+                    schedule.getAvailableEconomySeats() + released);
             case "BUSINESS" -> schedule.setAvailableBusinessSeats(
-                    schedule.getAvailableBusinessSeats() + numberOfSeats);
+                    schedule.getAvailableBusinessSeats() + released);
             case "FIRST" -> schedule.setAvailableFirstClassSeats(
-                    schedule.getAvailableFirstClassSeats() + numberOfSeats);
+                    schedule.getAvailableFirstClassSeats() + released);
             default -> schedule.setAvailableEconomySeats(
-                    schedule.getAvailableEconomySeats() + numberOfSeats);
+                    schedule.getAvailableEconomySeats() + released);
         }
-        schedule.setReservedSeats(Math.max(0, schedule.getReservedSeats() - numberOfSeats));
-        scheduleRepository.save(schedule);
+        schedule.setReservedSeats(Math.max(0, schedule.getReservedSeats() - released));
 
         // Update inventory
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByTrainIdAndDepartureDateWithLock(trainId, date);
-        if (inventoryOpt.isPresent()) {
-            Inventory inventory = inventoryOpt.get();
-            inventory.setAvailableSeats(inventory.getAvailableSeats() + numberOfSeats);
-            inventory.setReservedSeats(Math.max(0, inventory.getReservedSeats() - numberOfSeats));
-            switch (effectiveSeatClass) {
+        if (inventory != null) {
+            inventory.setAvailableSeats(inventory.getAvailableSeats() + released);
+            inventory.setReservedSeats(Math.max(0, inventory.getReservedSeats() - released));
+            switch (seatClass) {
                 case "ECONOMY" -> inventory.setEconomyAvailable(
-                        inventory.getEconomyAvailable() + numberOfSeats);
+                        inventory.getEconomyAvailable() + released);
                 case "BUSINESS" -> inventory.setBusinessAvailable(
-                        inventory.getBusinessAvailable() + numberOfSeats);
+                        inventory.getBusinessAvailable() + released);
                 case "FIRST" -> inventory.setFirstClassAvailable(
-                        inventory.getFirstClassAvailable() + numberOfSeats);
+                        inventory.getFirstClassAvailable() + released);
             }
-            inventoryRepository.save(inventory);
         }
+    }
 
-        // Evict cache
-        evictCache(trainId, departureDate);
-
-        logger.info("Released {} {} seats for train {} on {}", 
-                numberOfSeats, effectiveSeatClass, trainId, departureDate);
-        return true;
+    private Map<String, SeatReservation> findReservations(Iterable<String> reservationIds) {
+        Map<String, SeatReservation> byId = new HashMap<>();
+        if (reservationIds.iterator().hasNext()) {
+            seatReservationRepository.findAllById(reservationIds)
+                    .forEach(reservation -> byId.put(reservation.getReservationId(), reservation));
+        }
+        return byId;
     }
 
     private LocalDate parseDate(String dateStr) {
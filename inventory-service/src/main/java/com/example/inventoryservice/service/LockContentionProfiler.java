@@ -0,0 +1,186 @@
+package com.example.inventoryservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records wait/hold times and timeouts for the per-schedule inventory locks.
+ * Aggregate histograms go to Micrometer (tagged by operation only, to keep cardinality
+ * bounded); per-key statistics live in a ConcurrentHashMap of striped counters, so recording
+ * takes no lock on the hot path it measures. Ranking happens at read time. A scheduled trim
+ * keeps the most used MAX_TRACKED_KEYS / 2 keys once more than MAX_TRACKED_KEYS are tracked,
+ * so no sort runs while a lock is held; between trims, keys past twice the cap are not tracked.
+ */
+@Component
+public class LockContentionProfiler {
+
+    public static final String RESERVE = "reserve";
+    public static final String RELEASE = "release";
+
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final Map<String, Timer> waitTimers = new HashMap<>();
+    private final Map<String, Timer> holdTimers = new HashMap<>();
+    private final Map<String, Counter> timeoutCounters = new HashMap<>();
+
+    private final ConcurrentHashMap<String, KeyStats> keyStats = new ConcurrentHashMap<>();
+
+    public LockContentionProfiler(MeterRegistry meterRegistry) {
+        for (String operation : List.of(RESERVE, RELEASE)) {
+            waitTimers.put(operation, Timer.builder("inventory.lock.wait")
+                    .description("Time spent waiting for an inventory lock")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(meterRegistry));
+            holdTimers.put(operation, Timer.builder("inventory.lock.hold")
+                    .description("Time an inventory lock was held")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+            timeoutCounters.put(operation, Counter.builder("inventory.lock.timeouts")
+                    .description("Inventory lock acquisitions that timed out")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordAcquired(String lockKey, String operation, long waitNanos) {
+        waitTimers.get(operation).record(waitNanos, TimeUnit.NANOSECONDS);
+        KeyStats stats = statsFor(lockKey);
+        if (stats != null) {
+            stats.acquisitions.increment();
+            stats.waitNanos.add(waitNanos);
+            stats.maxWaitNanos.accumulate(waitNanos);
+        }
+    }
+
+    public void recordReleased(String lockKey, String operation, long holdNanos) {
+        holdTimers.get(operation).record(holdNanos, TimeUnit.NANOSECONDS);
+        KeyStats stats = keyStats.get(lockKey);
+        if (stats != null) {
+            stats.holdNanos.add(holdNanos);
+            stats.maxHoldNanos.accumulate(holdNanos);
+        }
+    }
+
+    public void recordTimeout(String lockKey, String operation, long waitNanos) {
+        waitTimers.get(operation).record(waitNanos, TimeUnit.NANOSECONDS);
+        timeoutCounters.get(operation).increment();
+        KeyStats stats = statsFor(lockKey);
+        if (stats != null) {
+            stats.timeouts.increment();
+            stats.waitNanos.add(waitNanos);
+            stats.maxWaitNanos.accumulate(waitNanos);
+        }
+    }
+
+    /**
+     * Hottest lock keys by request count (acquisitions + timeouts), highest first.
+     */
+    public List<Map<String, Object>> topKeys(int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, KeyStats> entry : ranked(limit)) {
+            KeyStats stats = entry.getValue();
+            long acquisitions = stats.acquisitions.sum();
+            long timeouts = stats.timeouts.sum();
+            long attempts = acquisitions + timeouts;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("lockKey", entry.getKey());
+            row.put("requests", attempts);
+            row.put("acquisitions", acquisitions);
+            row.put("timeouts", timeouts);
+            row.put("avgWaitMs", attempts == 0 ? 0.0 : stats.waitNanos.sum() / 1e6 / attempts);
+            row.put("maxWaitMs", stats.maxWaitNanos.get() / 1e6);
+            row.put("avgHoldMs", acquisitions == 0 ? 0.0 : stats.holdNanos.sum() / 1e6 / acquisitions);
+            row.put("maxHoldMs", stats.maxHoldNanos.get() / 1e6);
+            result.add(row);
+        }
+        return result;
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String operation : waitTimers.keySet()) {
+            Timer wait = waitTimers.get(operation);
+            Timer hold = holdTimers.get(operation);
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("attempts", wait.count());
+            op.put("timeouts", (long) timeoutCounters.get(operation).count());
+            op.put("meanWaitMs", wait.mean(TimeUnit.MILLISECONDS));
+            op.put("maxWaitMs", wait.max(TimeUnit.MILLISECONDS));
+            op.put("meanHoldMs", hold.mean(TimeUnit.MILLISECONDS));
+            op.put("maxHoldMs", hold.max(TimeUnit.MILLISECONDS));
+            summary.put(operation, op);
+        }
+        return summary;
+    }
+
+    public void reset() {
+        keyStats.clear();
+    }
+
+    /**
+     * Drop the least used half once more than MAX_TRACKED_KEYS keys are tracked
+     */
+    @Scheduled(fixedDelay = 10_000)
+    public void trim() {
+        if (keyStats.size() <= MAX_TRACKED_KEYS) {
+            return;
+        }
+        List<Map.Entry<String, KeyStats>> ranked = ranked(Integer.MAX_VALUE);
+        ranked.subList(MAX_TRACKED_KEYS / 2, ranked.size())
+                .forEach(entry -> keyStats.remove(entry.getKey(), entry.getValue()));
+    }
+
+    // ============ Helper Methods ============
+
+    // Null once the map is full until the next trim; size() is a cheap estimate, the bound is approximate
+    private KeyStats statsFor(String lockKey) {
+        KeyStats stats = keyStats.get(lockKey);
+        if (stats != null || keyStats.size() >= 2 * MAX_TRACKED_KEYS) {
+            return stats;
+        }
+        return keyStats.computeIfAbsent(lockKey, key -> new KeyStats());
+    }
+
+    private List<Map.Entry<String, KeyStats>> ranked(int limit) {
+        List<Map.Entry<String, KeyStats>> entries = new ArrayList<>(keyStats.size());
+        keyStats.forEach((key, stats) -> entries.add(Map.entry(key, stats)));
+        // Counters keep moving while we sort, so rank on a frozen copy of each count
+        Map<KeyStats, Long> requests = new HashMap<>(entries.size() * 2);
+        entries.forEach(entry -> requests.put(entry.getValue(), entry.getValue().requests()));
+        entries.sort(Comparator.comparingLong((Map.Entry<String, KeyStats> e) -> requests.get(e.getValue())).reversed());
+        return entries.subList(0, Math.max(0, Math.min(limit, entries.size())));
+    }
+
+    private static final class KeyStats {
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+        final LongAdder holdNanos = new LongAdder();
+        final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0L);
+
+        long requests() {
+            return acquisitions.sum() + timeouts.sum();
+        }
+    }
+}
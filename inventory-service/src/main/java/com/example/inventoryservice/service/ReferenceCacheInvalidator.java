@@ -0,0 +1,103 @@
+package com.example.inventoryservice.service;
+
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.inventoryservice.entity.Route;
+import com.example.inventoryservice.entity.Train;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cluster-wide invalidation for the Hibernate second-level cache.
+ * Each node caches Train/Route locally; admin writes broadcast the changed id over a
+ * Redis topic after commit so every other node drops its copy and cached lookups.
+ * Every node, including the writer, also rebuilds its catalog snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCacheInvalidator.class);
+
+    private static final String TOPIC = "inventory:l2-invalidation";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final RedissonClient redissonClient;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogService catalogService;
+
+    private RTopic topic;
+
+    @PostConstruct
+    public void subscribe() {
+        topic = redissonClient.getTopic(TOPIC);
+        topic.addListener(String.class, (channel, message) -> onMessage(message));
+        logger.info("Subscribed to second-level cache invalidation topic: {}", TOPIC);
+    }
+
+    public void trainChanged(Long trainId) {
+        publishAfterCommit(Train.class.getSimpleName(), trainId);
+    }
+
+    public void routeChanged(Long routeId) {
+        publishAfterCommit(Route.class.getSimpleName(), routeId);
+    }
+
+    private void publishAfterCommit(String entity, Long id) {
+        String message = NODE_ID + ":" + entity + ":" + id;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                    catalogService.refresh();
+                }
+            });
+        } else {
+            publish(message);
+            catalogService.refresh();
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            topic.publish(message);
+        } catch (Exception e) {
+            // Other nodes fall back to region expiry
+            logger.error("Failed to publish cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split(":");
+        if (parts.length != 3 || NODE_ID.equals(parts[0])) {
+            return;
+        }
+
+        Long id = Long.valueOf(parts[2]);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (Train.class.getSimpleName().equals(parts[1])) {
+            cache.evictEntityData(Train.class, id);
+        } else if (Route.class.getSimpleName().equals(parts[1])) {
+            cache.evictEntityData(Route.class, id);
+        } else {
+            logger.warn("Unknown cache invalidation message: {}", message);
+            return;
+        }
+        cache.evictQueryRegions();
+        catalogService.refresh();
+        logger.debug("Evicted {} {} from second-level cache", parts[1], id);
+    }
+}
@@ -28,6 +28,7 @@ public class RouteService {
     private static final Logger logger = LoggerFactory.getLogger(RouteService.class);
 
     private final RouteRepository routeRepository;
+    private final ReferenceCacheInvalidator referenceCacheInvalidator;
 
     @Cacheable(value = "routes", key = "#id")
     public RouteResponse getRouteById(Long id) {
@@ -90,6 +91,7 @@ public class RouteService {
 
         route = routeRepository.save(route);
         logger.info("Route created with id: {}", route.getId());
+        referenceCacheInvalidator.routeChanged(route.getId());
 
         return RouteResponse.from(route);
     }
@@ -110,6 +112,7 @@ public class RouteService {
         route.setDescription(request.getDescription());
 
         route = routeRepository.save(route);
+        referenceCacheInvalidator.routeChanged(id);
         return RouteResponse.from(route);
     }
 
@@ -123,6 +126,7 @@ public class RouteService {
 
         route.setActive(false);
         routeRepository.save(route);
+        referenceCacheInvalidator.routeChanged(id);
     }
 }
 
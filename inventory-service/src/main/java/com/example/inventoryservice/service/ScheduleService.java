@@ -36,6 +36,7 @@ public class ScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final TrainRepository trainRepository;
     private final InventoryRepository inventoryRepository;
+    private final CatalogService catalogService;
 
     public ScheduleResponse getScheduleById(Long id) {
         logger.debug("Fetching schedule by id: {}", id);
@@ -57,6 +58,17 @@ public class ScheduleService {
                 .map(ScheduleResponse::from);
     }
 
+    /**
+     * Schedules in a status departing on or after a day; polled by ticket-service to complete
+     * tickets of ARRIVED schedules
+     */
+    public List<ScheduleResponse> getSchedulesByStatus(Schedule.ScheduleStatus status, LocalDate since) {
+        logger.debug("Fetching {} schedules since {}", status, since);
+        return scheduleRepository.findByStatusSince(status, since).stream()
+                .map(ScheduleResponse::from)
+                .collect(Collectors.toList());
+    }
+
     public List<ScheduleResponse> searchSchedules(SearchTrainRequest request) {
         logger.debug("Searching schedules from {} to {} on {}", 
                 request.getOrigin(), request.getDestination(), request.getDepartureDate());
@@ -90,7 +102,7 @@ public class ScheduleService {
                 request.getDepartureDate());
         
         return schedules.stream()
-                .map(this::toAvailabilityResponse)
+                .map(catalogService::toAvailabilityResponse)
                 .collect(Collectors.toList());
     }
 
@@ -171,32 +183,5 @@ public class ScheduleService {
         scheduleRepository.updateStatus(id, status);
     }
 
-    private AvailabilityResponse toAvailabilityResponse(Schedule schedule) {
-        Train train = schedule.getTrain();
-        return AvailabilityResponse.builder()
-                .trainId(train.getId())
-                .trainNumber(train.getTrainNumber())
-                .trainName(train.getTrainName())
-                .origin(train.getRoute().getOrigin())
-                .destination(train.getRoute().getDestination())
-                .departureDate(schedule.getDepartureDate())
-                .departureTime(train.getDepartureTime())
-                .arrivalTime(train.getArrivalTime())
-                .totalSeats(train.getTotalSeats())
-                .availableSeats(schedule.getTotalAvailableSeats())
-                .reservedSeats(schedule.getReservedSeats())
-                .seatAvailability(AvailabilityResponse.SeatAvailability.builder()
-                        .economy(schedule.getAvailableEconomySeats())
-                        .business(schedule.getAvailableBusinessSeats())
-                        .firstClass(schedule.getAvailableFirstClassSeats())
-                        .build())
-                .prices(AvailabilityResponse.PriceInfo.builder()
-                        .economy(train.getEconomyPrice())
-                        .business(train.getBusinessPrice())
-                        .firstClass(train.getFirstClassPrice())
-                        .build())
-                .status(schedule.getStatus().name())
-                .build();
-    }
 }
 
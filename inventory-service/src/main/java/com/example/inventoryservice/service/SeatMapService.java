@@ -0,0 +1,262 @@
+package com.example.inventoryservice.service;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.inventoryservice.dto.SeatMapResponse;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.Seat.SeatClass;
+import com.example.inventoryservice.exception.ScheduleNotFoundException;
+import com.example.inventoryservice.repository.ScheduleRepository;
+import com.example.inventoryservice.repository.SeatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds compact seat maps for schedules.
+ * Seats are not assigned per schedule, so booked seats of each class are laid out in
+ * allocation order after seats flagged unavailable on the train. The schedule version
+ * (bumped on every reserve/release) is the map version and drives ETags and deltas.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SeatMapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapService.class);
+
+    private static final int HISTORY_SIZE = 8;
+    private static final int MAX_TRACKED_SCHEDULES = 1024;
+
+    private final ScheduleRepository scheduleRepository;
+    private final SeatRepository seatRepository;
+
+    // Recent snapshots per schedule, newest first, used to answer delta requests
+    private final Map<Long, Deque<Snapshot>> history = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Deque<Snapshot>> eldest) {
+                    return size() > MAX_TRACKED_SCHEDULES;
+                }
+            });
+
+    public String getETag(Long trainId, LocalDate date) {
+        return toETag(findSchedule(trainId, date));
+    }
+
+    public String toETag(SeatMapResponse response) {
+        return "\"" + response.getScheduleId() + "-" + response.getVersion() + "\"";
+    }
+
+    public SeatMapResponse getSeatMap(Long trainId, LocalDate date, Long sinceVersion) {
+        logger.debug("Building seat map for train {} on {} since {}", trainId, date, sinceVersion);
+
+        Schedule schedule = findSchedule(trainId, date);
+        Snapshot current = currentSnapshot(trainId, schedule);
+
+        Snapshot base = sinceVersion != null ? findSnapshot(schedule.getId(), sinceVersion) : null;
+        if (base != null && base.version != current.version && base.layoutId.equals(current.layoutId)) {
+            return toDelta(trainId, schedule, base, current);
+        }
+        return toFull(trainId, schedule, current);
+    }
+
+    // ============ Snapshot Building ============
+
+    private Snapshot currentSnapshot(Long trainId, Schedule schedule) {
+        long version = versionOf(schedule);
+        Snapshot cached = findSnapshot(schedule.getId(), version);
+        if (cached != null) {
+            return cached;
+        }
+
+        Snapshot snapshot = buildSnapshot(trainId, schedule, version);
+        synchronized (history) {
+            Deque<Snapshot> snapshots = history.computeIfAbsent(schedule.getId(), id -> new ArrayDeque<>());
+            snapshots.addFirst(snapshot);
+            while (snapshots.size() > HISTORY_SIZE) {
+                snapshots.removeLast();
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot buildSnapshot(Long trainId, Schedule schedule, long version) {
+        List<Object[]> rows = seatRepository.findSeatLayoutByTrainId(trainId);
+
+        // Group seats into cars, keeping allocation order
+        List<Integer> carNumbers = new ArrayList<>();
+        List<SeatClass> carClasses = new ArrayList<>();
+        List<Integer> carStarts = new ArrayList<>();
+        Map<SeatClass, Integer> capacity = new EnumMap<>(SeatClass.class);
+        for (int i = 0; i < rows.size(); i++) {
+            Integer carNumber = (Integer) rows.get(i)[0];
+            SeatClass seatClass = (SeatClass) rows.get(i)[1];
+            if (carNumbers.isEmpty() || !carNumbers.get(carNumbers.size() - 1).equals(carNumber)) {
+                carNumbers.add(carNumber);
+                carClasses.add(seatClass);
+                carStarts.add(i);
+            }
+            capacity.merge(seatClass, 1, Integer::sum);
+        }
+
+        Map<SeatClass, Integer> toBook = new EnumMap<>(SeatClass.class);
+        toBook.put(SeatClass.ECONOMY, booked(capacity, SeatClass.ECONOMY, schedule.getAvailableEconomySeats()));
+        toBook.put(SeatClass.BUSINESS, booked(capacity, SeatClass.BUSINESS, schedule.getAvailableBusinessSeats()));
+        toBook.put(SeatClass.FIRST, booked(capacity, SeatClass.FIRST, schedule.getAvailableFirstClassSeats()));
+
+        // Seats blocked on the train count against the booked total first
+        boolean[] occupied = new boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            if (!Boolean.TRUE.equals(rows.get(i)[2])) {
+                occupied[i] = true;
+                toBook.merge((SeatClass) rows.get(i)[1], -1, Integer::sum);
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            SeatClass seatClass = (SeatClass) rows.get(i)[1];
+            if (!occupied[i] && toBook.get(seatClass) > 0) {
+                occupied[i] = true;
+                toBook.merge(seatClass, -1, Integer::sum);
+            }
+        }
+
+        int cars = carNumbers.size();
+        int[] seats = new int[cars];
+        byte[][] bits = new byte[cars][];
+        StringBuilder layout = new StringBuilder();
+        for (int c = 0; c < cars; c++) {
+            int start = carStarts.get(c);
+            int end = c + 1 < cars ? carStarts.get(c + 1) : rows.size();
+            seats[c] = end - start;
+            bits[c] = new byte[(seats[c] + 7) / 8];
+            for (int i = start; i < end; i++) {
+                if (occupied[i]) {
+                    int bit = i - start;
+                    bits[c][bit >> 3] |= (byte) (1 << (bit & 7));
+                }
+            }
+            if (c > 0) {
+                layout.append('.');
+            }
+            layout.append(carClasses.get(c).name().charAt(0)).append(seats[c]);
+        }
+
+        int[] numbers = carNumbers.stream().mapToInt(Integer::intValue).toArray();
+        return new Snapshot(version, layout.toString(), numbers, carClasses.toArray(new SeatClass[0]), seats, bits);
+    }
+
+    // ============ Response Mapping ============
+
+    private SeatMapResponse toFull(Long trainId, Schedule schedule, Snapshot snapshot) {
+        List<SeatMapResponse.CarMap> cars = new ArrayList<>(snapshot.carNumbers.length);
+        for (int c = 0; c < snapshot.carNumbers.length; c++) {
+            cars.add(SeatMapResponse.CarMap.builder()
+                    .car(snapshot.carNumbers[c])
+                    .seatClass(snapshot.carClasses[c].name())
+                    .seats(snapshot.seats[c])
+                    .occupied(bitCount(snapshot.bits[c]))
+                    .bits(snapshot.bits[c])
+                    .build());
+        }
+        return baseResponse(trainId, schedule, snapshot)
+                .delta(false)
+                .cars(cars)
+                .build();
+    }
+
+    private SeatMapResponse toDelta(Long trainId, Schedule schedule, Snapshot base, Snapshot current) {
+        List<SeatMapResponse.CarMap> cars = new ArrayList<>();
+        for (int c = 0; c < current.carNumbers.length; c++) {
+            List<Integer> changed = new ArrayList<>();
+            for (int b = 0; b < current.bits[c].length; b++) {
+                int diff = (current.bits[c][b] ^ base.bits[c][b]) & 0xFF;
+                while (diff != 0) {
+                    int bit = Integer.numberOfTrailingZeros(diff);
+                    changed.add(b * 8 + bit);
+                    diff &= diff - 1;
+                }
+            }
+            if (!changed.isEmpty()) {
+                cars.add(SeatMapResponse.CarMap.builder()
+                        .car(current.carNumbers[c])
+                        .occupied(bitCount(current.bits[c]))
+                        .changed(changed)
+                        .build());
+            }
+        }
+        return baseResponse(trainId, schedule, current)
+                .baseVersion(base.version)
+                .delta(true)
+                .cars(cars)
+                .build();
+    }
+
+    private SeatMapResponse.SeatMapResponseBuilder baseResponse(Long trainId, Schedule schedule, Snapshot snapshot) {
+        return SeatMapResponse.builder()
+                .trainId(trainId)
+                .scheduleId(schedule.getId())
+                .departureDate(schedule.getDepartureDate())
+                .layoutId(snapshot.layoutId)
+                .version(snapshot.version);
+    }
+
+    // ============ Helper Methods ============
+
+    private Schedule findSchedule(Long trainId, LocalDate date) {
+        return scheduleRepository.findByTrainIdAndDepartureDate(trainId, date)
+                .orElseThrow(() -> new ScheduleNotFoundException(trainId, date));
+    }
+
+    private String toETag(Schedule schedule) {
+        return "\"" + schedule.getId() + "-" + versionOf(schedule) + "\"";
+    }
+
+    private Snapshot findSnapshot(Long scheduleId, long version) {
+        synchronized (history) {
+            Deque<Snapshot> snapshots = history.get(scheduleId);
+            if (snapshots == null) {
+                return null;
+            }
+            for (Snapshot snapshot : snapshots) {
+                if (snapshot.version == version) {
+                    return snapshot;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static long versionOf(Schedule schedule) {
+        return schedule.getVersion() != null ? schedule.getVersion() : 0L;
+    }
+
+    private static int booked(Map<SeatClass, Integer> capacity, SeatClass seatClass, Integer available) {
+        int total = capacity.getOrDefault(seatClass, 0);
+        return Math.max(total - (available != null ? available : total), 0);
+    }
+
+    private static int bitCount(byte[] bits) {
+        int count = 0;
+        for (byte b : bits) {
+            count += Integer.bitCount(b & 0xFF);
+        }
+        return count;
+    }
+
+    private record Snapshot(long version, String layoutId, int[] carNumbers,
+            SeatClass[] carClasses, int[] seats, byte[][] bits) {
+    }
+}
@@ -36,6 +36,7 @@ public class TrainService {
     private final TrainRepository trainRepository;
     private final RouteRepository routeRepository;
     private final SeatRepository seatRepository;
+    private final ReferenceCacheInvalidator referenceCacheInvalidator;
 
     @Cacheable(value = "trains", key = "#id")
     public TrainResponse getTrainById(Long id) {
@@ -110,6 +111,7 @@ public class TrainService {
 
         // Generate seats for the train
         generateSeats(train);
+        referenceCacheInvalidator.trainChanged(train.getId());
 
         return TrainResponse.from(train);
     }
@@ -141,6 +143,7 @@ public class TrainService {
         train.setAmenities(request.getAmenities());
 
         train = trainRepository.save(train);
+        referenceCacheInvalidator.trainChanged(id);
         return TrainResponse.from(train);
     }
 
@@ -154,6 +157,7 @@ public class TrainService {
 
         train.setActive(false);
         trainRepository.save(train);
+        referenceCacheInvalidator.trainChanged(id);
     }
 
     private void generateSeats(Train train) {
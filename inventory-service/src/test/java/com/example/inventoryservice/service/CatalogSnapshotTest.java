@@ -0,0 +1,100 @@
+package com.example.inventoryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.inventoryservice.entity.Route;
+import com.example.inventoryservice.entity.Train;
+
+class CatalogSnapshotTest {
+
+    private final Route route = Route.builder()
+            .id(3L)
+            .origin("Ha Noi")
+            .destination("Da Nang")
+            .durationMinutes(900)
+            .build();
+
+    @Test
+    void roundTripsThroughTheBinaryLayout() throws IOException {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(4L, List.of(route), List.of(
+                train(20L, "SE3", null),
+                train(10L, "SE1", new BigDecimal("850000.50"))));
+
+        CatalogSnapshot read = read(write(snapshot));
+
+        assertThat(read.getVersion()).isEqualTo(4L);
+        assertThat(read.getBuiltAt()).isEqualTo(snapshot.getBuiltAt().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(read.trainCount()).isEqualTo(2);
+        int idx = read.trainIndex(10L);
+        assertThat(idx).isZero();
+        assertThat(read.trainNumber(idx)).isEqualTo("SE1");
+        assertThat(read.trainName(idx)).isNull();
+        assertThat(read.departureTime(idx)).isEqualTo(LocalTime.of(6, 30));
+        assertThat(read.arrivalTime(idx)).isNull();
+        assertThat(read.businessPrice(idx)).isEqualByComparingTo("850000.50");
+        assertThat(read.firstClassPrice(read.trainIndex(20L))).isNull();
+        assertThat(read.destination(read.trainRoute(idx))).isEqualTo("Da Nang");
+        assertThat(read.trainIndex(15L)).isEqualTo(CatalogSnapshot.NOT_FOUND);
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() {
+        byte[] garbage = {(byte) 0xAC, (byte) 0xED, 0, 5, 0x73, 0x72, 0, 0};
+
+        assertThatThrownBy(() -> read(garbage)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTruncatedAndCorruptSnapshots() throws IOException {
+        byte[] bytes = write(CatalogSnapshot.of(1L, List.of(route), List.of(train(10L, "SE1", null))));
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 4);
+        assertThatThrownBy(() -> read(truncated)).isInstanceOf(IOException.class);
+
+        // Route count field right after magic, format, version and build time
+        byte[] hugeCount = bytes.clone();
+        hugeCount[24] = 0x7F;
+        assertThatThrownBy(() -> read(hugeCount)).isInstanceOf(IOException.class);
+    }
+
+    private Train train(Long id, String number, BigDecimal firstClassPrice) {
+        return Train.builder()
+                .id(id)
+                .trainNumber(number)
+                .route(route)
+                .departureTime(LocalTime.of(6, 30))
+                .totalSeats(100)
+                .economySeats(80)
+                .businessSeats(20)
+                .economyPrice(new BigDecimal("500000"))
+                .businessPrice(new BigDecimal("850000.50"))
+                .firstClassPrice(firstClassPrice)
+                .build();
+    }
+
+    private static byte[] write(CatalogSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            snapshot.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static CatalogSnapshot read(byte[] bytes) throws IOException {
+        return CatalogSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.inventoryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.inventoryservice.dto.AvailabilityResponse;
+import com.example.inventoryservice.dto.BatchReleaseRequest;
+import com.example.inventoryservice.dto.BatchReserveRequest;
+import com.example.inventoryservice.dto.ReservationResult;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.SeatReservation;
+import com.example.inventoryservice.entity.SeatReservation.ReservationStatus;
+import com.example.inventoryservice.entity.Train;
+import com.example.inventoryservice.repository.AvailabilityQueryRepository;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.repository.ScheduleRepository;
+import com.example.inventoryservice.repository.SeatReservationRepository;
+import com.example.inventoryservice.repository.TrainRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InventoryServiceReservationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 11, 2);
+
+    private final Map<String, SeatReservation> ledger = new HashMap<>();
+    private Schedule schedule;
+    private CatalogService catalogService;
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Train train = Train.builder()
+                .id(7L)
+                .economyPrice(new BigDecimal("20.00"))
+                .businessPrice(new BigDecimal("40.00"))
+                .firstClassPrice(new BigDecimal("60.00"))
+                .build();
+        schedule = Schedule.builder()
+                .train(train)
+                .departureDate(DATE)
+                .availableEconomySeats(10)
+                .availableBusinessSeats(0)
+                .reservedSeats(0)
+                .build();
+
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findByTrainIdAndDepartureDateWithLock(7L, DATE)).thenReturn(Optional.of(schedule));
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findByTrainIdAndDepartureDateWithLock(anyLong(), any())).thenReturn(Optional.empty());
+
+        // In-memory ledger
+        SeatReservationRepository reservationRepository = mock(SeatReservationRepository.class);
+        when(reservationRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            List<SeatReservation> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(ledger.get(id)).ifPresent(found::add));
+            return found;
+        });
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<SeatReservation> saved = invocation.getArgument(0);
+            saved.forEach(reservation -> ledger.put(reservation.getReservationId(), reservation));
+            return saved;
+        });
+
+        catalogService = mock(CatalogService.class);
+        when(catalogService.pricesFor(schedule)).thenReturn(AvailabilityMapper.prices(train));
+
+        RLock lock = mock(RLock.class);
+        when(lock.tryLock(anyLong(), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(true);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+
+        inventoryService = new InventoryService(inventoryRepository, mock(AvailabilityQueryRepository.class),
+                scheduleRepository, reservationRepository, mock(TrainRepository.class), redissonClient,
+                mock(RedisTemplate.class), catalogService,
+                new LockContentionProfiler(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(inventoryService, "holdDuration", Duration.ofMinutes(15));
+    }
+
+    @Test
+    void repeatedReservationIsAnsweredWithoutReservingAgain() {
+        ReservationResult first = inventoryService.reserveSeatsBatch(reserve(item("r-1", 3))).get(0);
+        ReservationResult repeat = inventoryService.reserveSeatsBatch(reserve(item("r-1", 3))).get(0);
+
+        assertThat(first.isReserved()).isTrue();
+        assertThat(repeat.isReserved()).isTrue();
+        assertThat(repeat.getTotalPrice()).isEqualByComparingTo("60.00");
+        assertThat(repeat.getHoldExpiresAt()).isEqualTo(first.getHoldExpiresAt());
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(7);
+    }
+
+    @Test
+    void reservationIsQuotedFromTheCatalogPrices() {
+        when(catalogService.pricesFor(schedule)).thenReturn(AvailabilityResponse.PriceInfo.builder()
+                .economy(new BigDecimal("25.00"))
+                .business(new BigDecimal("45.00"))
+                .firstClass(new BigDecimal("65.00"))
+                .build());
+
+        ReservationResult result = inventoryService.reserveSeatsBatch(reserve(item("r-1", 2))).get(0);
+
+        assertThat(result.getUnitPrice()).isEqualByComparingTo("25.00");
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("50.00");
+        assertThat(result.getPrices().getBusiness()).isEqualByComparingTo("45.00");
+    }
+
+    @Test
+    void duplicateIdInOneBatchIsReservedOnce() {
+        List<ReservationResult> results = inventoryService.reserveSeatsBatch(BatchReserveRequest.builder()
+                .trainId(7L)
+                .departureDate(DATE.toString())
+                .items(List.of(item("r-1", 2), item("r-1", 2)))
+                .build());
+
+        assertThat(results).allMatch(ReservationResult::isReserved);
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(8);
+    }
+
+    @Test
+    void releaseGivesSeatsBackOnce() {
+        inventoryService.reserveSeatsBatch(reserve(item("r-1", 4)));
+
+        assertThat(inventoryService.releaseReservations(release("r-1"))).isTrue();
+        assertThat(inventoryService.releaseReservations(release("r-1"))).isTrue();
+
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(10);
+        assertThat(schedule.getReservedSeats()).isZero();
+        assertThat(ledger.get("r-1").getStatus()).isEqualTo(ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void reserveArrivingAfterItsReleaseIsRejected() {
+        // The caller gave up on the reservation and released it before inventory saw it
+        assertThat(inventoryService.releaseReservations(release("r-1"))).isTrue();
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(10);
+
+        ReservationResult late = inventoryService.reserveSeatsBatch(reserve(item("r-1", 2))).get(0);
+
+        assertThat(late.isReserved()).isFalse();
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(10);
+    }
+
+    @Test
+    void reservationsWithoutIdAreNotRecorded() {
+        assertThat(inventoryService.reserveSeatsBatch(reserve(item(null, 1))).get(0).isReserved()).isTrue();
+
+        assertThat(ledger).isEmpty();
+        assertThat(schedule.getAvailableEconomySeats()).isEqualTo(9);
+    }
+
+    private static BatchReserveRequest reserve(BatchReserveRequest.Item item) {
+        return BatchReserveRequest.builder()
+                .trainId(7L)
+                .departureDate(DATE.toString())
+                .items(List.of(item))
+                .build();
+    }
+
+    private static BatchReserveRequest.Item item(String reservationId, int seats) {
+        return BatchReserveRequest.Item.builder()
+                .numberOfSeats(seats)
+                .reservationId(reservationId)
+                .build();
+    }
+
+    private static BatchReleaseRequest release(String... reservationIds) {
+        return BatchReleaseRequest.builder()
+                .trainId(7L)
+                .departureDate(DATE.toString())
+                .reservationIds(List.of(reservationIds))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.inventoryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LockContentionProfilerTest {
+
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private LockContentionProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new LockContentionProfiler(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void recordingPastTheCapDoesNotTrimInline() {
+        for (int i = 0; i < MAX_TRACKED_KEYS + 100; i++) {
+            profiler.recordAcquired("key-" + i, LockContentionProfiler.RESERVE, 1_000);
+        }
+
+        assertThat(profiler.topKeys(Integer.MAX_VALUE)).hasSize(MAX_TRACKED_KEYS + 100);
+    }
+
+    @Test
+    void newKeysAreNotTrackedOnceTheMapIsFull() {
+        for (int i = 0; i < 2 * MAX_TRACKED_KEYS + 10; i++) {
+            profiler.recordAcquired("key-" + i, LockContentionProfiler.RESERVE, 1_000);
+        }
+
+        assertThat(profiler.topKeys(Integer.MAX_VALUE)).hasSize(2 * MAX_TRACKED_KEYS);
+    }
+
+    @Test
+    void scheduledTrimKeepsTheMostUsedKeys() {
+        for (int i = 0; i < MAX_TRACKED_KEYS + 1; i++) {
+            profiler.recordAcquired("key-" + i, LockContentionProfiler.RESERVE, 1_000);
+        }
+        for (int i = 0; i < 5; i++) {
+            profiler.recordTimeout("hot", LockContentionProfiler.RESERVE, 1_000);
+        }
+
+        profiler.trim();
+
+        List<Map<String, Object>> keys = profiler.topKeys(Integer.MAX_VALUE);
+        assertThat(keys).hasSize(MAX_TRACKED_KEYS / 2);
+        assertThat(keys.get(0)).containsEntry("lockKey", "hot").containsEntry("requests", 5L);
+    }
+
+    @Test
+    void negativeLimitReturnsNoKeys() {
+        profiler.recordAcquired("key", LockContentionProfiler.RESERVE, 1_000);
+
+        assertThat(profiler.topKeys(-1)).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.inventoryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.inventoryservice.dto.SeatMapResponse;
+import com.example.inventoryservice.entity.Schedule;
+import com.example.inventoryservice.entity.Seat.SeatClass;
+import com.example.inventoryservice.repository.ScheduleRepository;
+import com.example.inventoryservice.repository.SeatRepository;
+
+class SeatMapServiceTest {
+
+    private static final long TRAIN_ID = 7L;
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final SeatMapService seatMapService = new SeatMapService(scheduleRepository, seatRepository);
+
+    @BeforeEach
+    void layout() {
+        // Car 1: four economy seats; car 2: two business seats, the second blocked on the train
+        when(seatRepository.findSeatLayoutByTrainId(TRAIN_ID)).thenReturn(List.of(
+                new Object[] {1, SeatClass.ECONOMY, true},
+                new Object[] {1, SeatClass.ECONOMY, true},
+                new Object[] {1, SeatClass.ECONOMY, true},
+                new Object[] {1, SeatClass.ECONOMY, true},
+                new Object[] {2, SeatClass.BUSINESS, true},
+                new Object[] {2, SeatClass.BUSINESS, false}));
+    }
+
+    @Test
+    void fullMapMarksBookedAndBlockedSeats() {
+        scheduleAt(1L, 3, 1);
+
+        SeatMapResponse map = seatMapService.getSeatMap(TRAIN_ID, DATE, null);
+
+        assertThat(map.getDelta()).isFalse();
+        assertThat(map.getLayoutId()).isEqualTo("E4.B2");
+        assertThat(map.getCars()).hasSize(2);
+        assertThat(map.getCars().get(0).getBits()).containsExactly(0b0001);
+        assertThat(map.getCars().get(0).getOccupied()).isEqualTo(1);
+        // The blocked seat accounts for the one booked business seat
+        assertThat(map.getCars().get(1).getBits()).containsExactly(0b10);
+        assertThat(map.getCars().get(1).getOccupied()).isEqualTo(1);
+    }
+
+    @Test
+    void deltaListsOnlyTheSeatsThatChanged() {
+        scheduleAt(1L, 3, 1);
+        seatMapService.getSeatMap(TRAIN_ID, DATE, null);
+        scheduleAt(2L, 1, 1);
+
+        SeatMapResponse delta = seatMapService.getSeatMap(TRAIN_ID, DATE, 1L);
+
+        assertThat(delta.getDelta()).isTrue();
+        assertThat(delta.getBaseVersion()).isEqualTo(1L);
+        assertThat(delta.getVersion()).isEqualTo(2L);
+        assertThat(delta.getCars()).hasSize(1);
+        assertThat(delta.getCars().get(0).getCar()).isEqualTo(1);
+        assertThat(delta.getCars().get(0).getChanged()).containsExactly(1, 2);
+        assertThat(delta.getCars().get(0).getOccupied()).isEqualTo(3);
+    }
+
+    @Test
+    void releasedSeatsShowUpAsChangedToo() {
+        scheduleAt(1L, 1, 1);
+        seatMapService.getSeatMap(TRAIN_ID, DATE, null);
+        scheduleAt(2L, 4, 1);
+
+        SeatMapResponse delta = seatMapService.getSeatMap(TRAIN_ID, DATE, 1L);
+
+        assertThat(delta.getDelta()).isTrue();
+        assertThat(delta.getCars().get(0).getChanged()).containsExactly(0, 1, 2);
+        assertThat(delta.getCars().get(0).getOccupied()).isZero();
+    }
+
+    @Test
+    void unknownBaseVersionFallsBackToFullMap() {
+        scheduleAt(5L, 3, 1);
+
+        SeatMapResponse map = seatMapService.getSeatMap(TRAIN_ID, DATE, 3L);
+
+        assertThat(map.getDelta()).isFalse();
+        assertThat(map.getBaseVersion()).isNull();
+        assertThat(map.getCars()).hasSize(2);
+    }
+
+    private void scheduleAt(long version, int economyAvailable, int businessAvailable) {
+        Schedule schedule = Schedule.builder()
+                .id(11L)
+                .departureDate(DATE)
+                .availableEconomySeats(economyAvailable)
+                .availableBusinessSeats(businessAvailable)
+                .availableFirstClassSeats(0)
+                .reservedSeats(0)
+                .version(version)
+                .build();
+        when(scheduleRepository.findByTrainIdAndDepartureDate(TRAIN_ID, DATE)).thenReturn(Optional.of(schedule));
+    }
+}
@@ -4,7 +4,6 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -26,6 +25,8 @@ import com.example.notificationservice.dto.NotificationResponse;
 import com.example.notificationservice.dto.SendNotificationRequest;
 import com.example.notificationservice.dto.UpdatePreferenceRequest;
 import com.example.notificationservice.service.NotificationService;
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -44,19 +45,18 @@ public class NotificationController {
 
     /**
      * Get current user's notifications
-     * GET /notifications/my
+     * GET /notifications/my?cursor=...&size=20 (keyset; pass page=N for offset pages with totals)
      */
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getMyNotifications(
+    public ResponseEntity<ApiResponse<PageResponse<NotificationResponse>>> getMyNotifications(
             @RequestHeader("X-User-Id") Long userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         logger.debug("Get notifications for user: {}", userId);
         
-        size = Math.min(size, MAX_PAGE_SIZE);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        Page<NotificationResponse> notifications = notificationService.getUserNotifications(userId, pageable);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageResponse<NotificationResponse> notifications = userNotificationsPage(userId, page, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
@@ -166,19 +166,18 @@ public class NotificationController {
 
     /**
      * Get notifications for a specific user (admin)
-     * GET /notifications/user/{userId}
+     * GET /notifications/user/{userId}?cursor=...&size=20 (keyset; pass page=N for offset pages with totals)
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getUserNotifications(
+    public ResponseEntity<ApiResponse<PageResponse<NotificationResponse>>> getUserNotifications(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         logger.debug("Get notifications for user: {}", userId);
         
-        size = Math.min(size, MAX_PAGE_SIZE);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        Page<NotificationResponse> notifications = notificationService.getUserNotifications(userId, pageable);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageResponse<NotificationResponse> notifications = userNotificationsPage(userId, page, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
@@ -201,5 +200,17 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<String>> health() {
         return ResponseEntity.ok(ApiResponse.success("Notification Service is healthy"));
     }
-}
 
+    // ============ Helper Methods ============
+
+    /**
+     * Keyset page by default (no COUNT query); offset page with totals when a page number is given
+     */
+    private PageResponse<NotificationResponse> userNotificationsPage(Long userId, Integer page, String cursor, int size) {
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            return PageResponse.from(notificationService.getUserNotifications(userId, pageable));
+        }
+        return notificationService.getUserNotifications(userId, PageCursor.decode(cursor), size);
+    }
+}
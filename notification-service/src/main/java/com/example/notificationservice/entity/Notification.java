@@ -23,7 +23,8 @@ import lombok.NoArgsConstructor;
     @Index(name = "idx_notification_type", columnList = "type"),
     @Index(name = "idx_notification_status", columnList = "status"),
     @Index(name = "idx_notification_created", columnList = "createdAt"),
-    @Index(name = "idx_notification_read", columnList = "readAt")
+    @Index(name = "idx_notification_read", columnList = "readAt"),
+    @Index(name = "idx_notification_user_created", columnList = "userId, createdAt, id")
 })
 @Data
 @Builder
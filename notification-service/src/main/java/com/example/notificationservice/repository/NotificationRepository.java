@@ -24,6 +24,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     Page<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
+    // Keyset pages of a user's history, newest first (LIMIT via Pageable, no COUNT query)
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstKeysetPage(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetPageAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+    
     List<Notification> findByUserIdAndStatus(Long userId, NotificationStatus status);
     
     // Find unread notifications
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,8 @@ import com.example.notificationservice.entity.Notification.NotificationType;
 import com.example.notificationservice.entity.NotificationPreference;
 import com.example.notificationservice.repository.NotificationPreferenceRepository;
 import com.example.notificationservice.repository.NotificationRepository;
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -145,6 +148,18 @@ public class NotificationService {
                 .map(NotificationResponse::from);
     }
 
+    /**
+     * Keyset page of a user's notifications, newest first; constant cost at any depth
+     */
+    public PageResponse<NotificationResponse> getUserNotifications(Long userId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Notification> rows = cursor == null
+                ? notificationRepository.findFirstKeysetPage(userId, limit)
+                : notificationRepository.findKeysetPageAfter(userId, cursor.createdAt(), cursor.id(), limit);
+        return PageResponse.fromKeyset(rows, size, cursor == null, NotificationResponse::from,
+                notification -> new PageCursor(notification.getCreatedAt(), notification.getId()));
+    }
+
     public List<NotificationResponse> getUnreadNotifications(Long userId) {
         return notificationRepository.findUnreadByUserId(userId).stream()
                 .map(NotificationResponse::from)
@@ -1,5 +1,8 @@
 package com.example.paymentservice.controller;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -26,6 +29,8 @@ import com.example.paymentservice.dto.RefundRequest;
 import com.example.paymentservice.entity.Payment.PaymentMethod;
 import com.example.paymentservice.entity.Payment.PaymentStatus;
 import com.example.paymentservice.service.PaymentService;
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +42,7 @@ public class PaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 100;
 
     private final PaymentService paymentService;
 
@@ -124,21 +130,36 @@ public class PaymentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Get payments for several tickets in one call
+     * GET /payments/by-tickets?ids=1,2,3
+     */
+    @GetMapping("/by-tickets")
+    public ResponseEntity<ApiResponse<List<PaymentResponse>>> getPaymentsByTicketIds(
+            @RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("At most " + MAX_BATCH_IDS + " ticket ids per request", 400));
+        }
+        logger.debug("Get payments for {} tickets", ids.size());
+        List<PaymentResponse> response = paymentService.getPaymentsByTicketIds(new LinkedHashSet<>(ids));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Get current user's payments
-     * GET /payments/my
+     * GET /payments/my?cursor=...&size=10 (keyset; pass page=N for offset pages with totals)
      */
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<Page<PaymentResponse>>> getMyPayments(
+    public ResponseEntity<ApiResponse<PageResponse<PaymentResponse>>> getMyPayments(
             @RequestHeader("X-User-Id") Long userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
         logger.debug("Get payments for user: {}", userId);
         
-        size = Math.min(size, MAX_PAGE_SIZE);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        Page<PaymentResponse> payments = paymentService.getUserPayments(userId, pageable);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageResponse<PaymentResponse> payments = userPaymentsPage(userId, page, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(payments));
     }
 
@@ -176,19 +197,18 @@ public class PaymentController {
 
     /**
      * Get payments for a specific user (admin/internal)
-     * GET /payments/user/{userId}
+     * GET /payments/user/{userId}?cursor=...&size=10 (keyset; pass page=N for offset pages with totals)
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<Page<PaymentResponse>>> getUserPayments(
+    public ResponseEntity<ApiResponse<PageResponse<PaymentResponse>>> getUserPayments(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
         logger.debug("Get payments for user: {}", userId);
         
-        size = Math.min(size, MAX_PAGE_SIZE);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        Page<PaymentResponse> payments = paymentService.getUserPayments(userId, pageable);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageResponse<PaymentResponse> payments = userPaymentsPage(userId, page, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(payments));
     }
 
@@ -248,4 +268,17 @@ public class PaymentController {
     public ResponseEntity<ApiResponse<String>> health() {
         return ResponseEntity.ok(ApiResponse.success("Payment Service is healthy"));
     }
+
+    // ============ Helper Methods ============
+
+    /**
+     * Keyset page by default (no COUNT query); offset page with totals when a page number is given
+     */
+    private PageResponse<PaymentResponse> userPaymentsPage(Long userId, Integer page, String cursor, int size) {
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            return PageResponse.from(paymentService.getUserPayments(userId, pageable));
+        }
+        return paymentService.getUserPayments(userId, PageCursor.decode(cursor), size);
+    }
 }
@@ -26,7 +26,8 @@ import lombok.NoArgsConstructor;
     @Index(name = "idx_payment_user", columnList = "userId"),
     @Index(name = "idx_payment_status", columnList = "status"),
     @Index(name = "idx_payment_transaction", columnList = "transactionId"),
-    @Index(name = "idx_payment_created", columnList = "createdAt")
+    @Index(name = "idx_payment_created", columnList = "createdAt"),
+    @Index(name = "idx_payment_user_created", columnList = "userId, createdAt, id")
 })
 @Data
 @Builder
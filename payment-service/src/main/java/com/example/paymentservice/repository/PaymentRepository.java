@@ -2,6 +2,7 @@ package com.example.paymentservice.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByTicketIdAndStatus(Long ticketId, PaymentStatus status);
     
+    List<Payment> findByTicketIdIn(Collection<Long> ticketIds);
+    
     // Find by transaction
     Optional<Payment> findByTransactionId(String transactionId);
     
@@ -38,6 +41,21 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Page<Payment> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
+    // Keyset pages of a user's history, newest first (LIMIT via Pageable, no COUNT query)
+    @Query("SELECT p FROM Payment p WHERE p.userId = :userId " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findFirstKeysetPage(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT p FROM Payment p WHERE p.userId = :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findKeysetPageAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+    
     // Find by status
     List<Payment> findByStatus(PaymentStatus status);
     
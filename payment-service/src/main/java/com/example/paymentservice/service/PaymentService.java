@@ -2,6 +2,7 @@ package com.example.paymentservice.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,8 @@ import com.example.paymentservice.exception.DuplicatePaymentException;
 import com.example.paymentservice.exception.PaymentNotFoundException;
 import com.example.paymentservice.exception.PaymentProcessingException;
 import com.example.paymentservice.repository.PaymentRepository;
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -203,6 +207,18 @@ public class PaymentService {
         return PaymentResponse.from(payment);
     }
 
+    /**
+     * Payments for several tickets in one query; tickets without a payment are simply absent
+     */
+    public List<PaymentResponse> getPaymentsByTicketIds(Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return List.of();
+        }
+        return paymentRepository.findByTicketIdIn(ticketIds).stream()
+                .map(PaymentResponse::from)
+                .collect(Collectors.toList());
+    }
+
     public List<PaymentResponse> getUserPayments(Long userId) {
         return paymentRepository.findByUserId(userId).stream()
                 .map(PaymentResponse::from)
@@ -214,6 +230,18 @@ public class PaymentService {
                 .map(PaymentResponse::from);
     }
 
+    /**
+     * Keyset page of a user's payments, newest first; constant cost at any depth
+     */
+    public PageResponse<PaymentResponse> getUserPayments(Long userId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Payment> rows = cursor == null
+                ? paymentRepository.findFirstKeysetPage(userId, limit)
+                : paymentRepository.findKeysetPageAfter(userId, cursor.createdAt(), cursor.id(), limit);
+        return PageResponse.fromKeyset(rows, size, cursor == null, PaymentResponse::from,
+                payment -> new PageCursor(payment.getCreatedAt(), payment.getId()));
+    }
+
     public Page<PaymentResponse> searchPayments(Long userId, PaymentStatus status, 
             PaymentMethod method, Pageable pageable) {
         return paymentRepository.searchPayments(userId, status, method, pageable)
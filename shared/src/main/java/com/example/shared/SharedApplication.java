@@ -1,13 +0,0 @@
-package com.example.shared;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class SharedApplication {
-
-	public static void main(String[] args) {
-		SpringApplication.run(SharedApplication.class, args);
-	}
-
-}
@@ -1,6 +1,7 @@
 package com.example.shared.dto;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 
@@ -11,6 +12,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Page of results. Offset pages (from) carry page number and totals; keyset pages (fromKeyset)
+ * carry a nextCursor instead and skip the COUNT query, so totals are absent.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,14 +24,15 @@ import lombok.NoArgsConstructor;
 public class PageResponse<T> {
     
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
     
     public static <T> PageResponse<T> from(Page<T> page) {
         return PageResponse.<T>builder()
@@ -56,5 +62,22 @@ public class PageResponse<T> {
                 .hasPrevious(page > 0)
                 .build();
     }
+    
+    /**
+     * Keyset page from rows fetched with limit size + 1; the extra row only signals that more exist
+     */
+    public static <E, T> PageResponse<T> fromKeyset(List<E> rows, int size, boolean first,
+            Function<E, T> mapper, Function<E, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        return PageResponse.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(size)
+                .first(first)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(!first)
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null)
+                .build();
+    }
 }
-
@@ -0,0 +1,14 @@
+package com.example.shared.exception;
+
+/**
+ * A page cursor that was not produced by PageCursor.encode (truncated, edited or from another format)
+ */
+public class InvalidCursorException extends BaseException {
+
+    private static final String ERROR_CODE = "INVALID_CURSOR";
+    private static final int STATUS_CODE = 400;
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, ERROR_CODE, STATUS_CODE, cause);
+    }
+}
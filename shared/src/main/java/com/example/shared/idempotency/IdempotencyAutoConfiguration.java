@@ -0,0 +1,44 @@
+package com.example.shared.idempotency;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Idempotency-Key support for services that list their idempotent POST endpoints
+ * under idempotency.paths. Entries are stored in Redis under idempotency:{service}:.
+ */
+@AutoConfiguration(after = {RedisAutoConfiguration.class, JacksonAutoConfiguration.class})
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "idempotency", name = "paths")
+@ConditionalOnBean({StringRedisTemplate.class, ObjectMapper.class})
+public class IdempotencyAutoConfiguration {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            @Value("${spring.application.name}") String serviceName,
+            // Must outlive the slowest request behind a key, or a retry runs it twice
+            @Value("${idempotency.in-flight-ttl:5m}") Duration inFlightTtl,
+            @Value("${idempotency.response-ttl:24h}") Duration responseTtl) {
+        return new IdempotencyStore(redisTemplate, objectMapper, "idempotency:" + serviceName + ":",
+                inFlightTtl, responseTtl);
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+            @Value("${idempotency.paths}") List<String> paths) {
+        return new IdempotencyFilter(idempotencyStore, objectMapper, paths);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.shared.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.shared.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Honours the Idempotency-Key header on the configured POST endpoints (idempotency.paths).
+ * The first request with a key runs normally and its response is stored; repeats get the
+ * stored response replayed without reaching the controller, and a repeat that arrives
+ * while the first is still running gets 409. A key reused with a different request body
+ * gets 422 instead of someone else's response.
+ * 5xx responses are not stored so the client can retry them.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    // Idempotent endpoints take small JSON commands; the body is buffered to hash it
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final List<String> idempotentPaths;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+            List<String> idempotentPaths) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.idempotentPaths = List.copyOf(idempotentPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return idempotentPaths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an Idempotency-Key are limited to " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        HttpServletRequest bufferedRequest = new BufferedBodyRequest(request, body);
+        String requestHash = sha256(body);
+
+        // Keys are scoped per user and endpoint so two clients can't collide
+        String key = request.getHeader("X-User-Id") + ":" + request.getRequestURI() + ":" + idempotencyKey;
+
+        Optional<IdempotencyStore.Entry> existing;
+        try {
+            existing = idempotencyStore.claim(key, requestHash);
+        } catch (Exception e) {
+            // Redis unavailable: process without deduplication rather than failing the request
+            logger.warn("Idempotency store unavailable, processing without key: {}", e.getMessage());
+            filterChain.doFilter(bufferedRequest, response);
+            return;
+        }
+
+        if (existing.isPresent()) {
+            IdempotencyStore.Entry entry = existing.get();
+            if (!entry.matches(requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            if (entry.inFlight()) {
+                writeError(response, HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is already being processed");
+                return;
+            }
+            logger.info("Replaying stored response for idempotency key: {}", idempotencyKey);
+            response.setStatus(entry.status());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (entry.contentType() != null) {
+                response.setContentType(entry.contentType());
+            }
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(entry.body() != null ? entry.body() : "");
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(bufferedRequest, responseWrapper);
+            completed = responseWrapper.getStatus() < 500;
+        } finally {
+            if (completed) {
+                storeQuietly(key, requestHash, responseWrapper);
+            } else {
+                releaseQuietly(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void storeQuietly(String key, String requestHash, ContentCachingResponseWrapper responseWrapper) {
+        try {
+            idempotencyStore.complete(key, requestHash, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                    new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            logger.warn("Failed to store idempotent response: {}", e.getMessage());
+            releaseQuietly(key);
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            idempotencyStore.release(key);
+        } catch (Exception e) {
+            logger.warn("Failed to release idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(message, status.value()));
+    }
+
+    static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Replays the body that was read up front to hash it
+     */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Buffered request bodies are read synchronously");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.shared.idempotency;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Redis-backed record of idempotent requests.
+ * A key is first claimed with an in-flight marker (SET NX) and later replaced by the
+ * stored response; both expire, so a crashed request never blocks its key forever.
+ * Every entry carries the hash of the request body that claimed it, so a key reused
+ * with a different body can be told apart from a genuine retry.
+ */
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final String IN_FLIGHT = "IN_FLIGHT";
+    private static final String IN_FLIGHT_PREFIX = IN_FLIGHT + ":";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Duration inFlightTtl;
+    private final Duration responseTtl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String keyPrefix,
+            Duration inFlightTtl, Duration responseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.inFlightTtl = inFlightTtl;
+        this.responseTtl = responseTtl;
+    }
+
+    /**
+     * Try to claim a key for a new request with the given body hash.
+     * Returns empty if claimed, otherwise the current entry (in flight or completed).
+     */
+    public Optional<Entry> claim(String key, String requestHash) {
+        String redisKey = keyPrefix + key;
+        String marker = IN_FLIGHT_PREFIX + requestHash;
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, marker, inFlightTtl);
+        if (Boolean.TRUE.equals(claimed)) {
+            return Optional.empty();
+        }
+
+        String value = redisTemplate.opsForValue().get(redisKey);
+        if (value == null) {
+            // Expired between SETNX and GET; try once more
+            claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, marker, inFlightTtl);
+            return Boolean.TRUE.equals(claimed) ? Optional.empty() : Optional.of(Entry.pending(null));
+        }
+        if (value.startsWith(IN_FLIGHT_PREFIX)) {
+            return Optional.of(Entry.pending(value.substring(IN_FLIGHT_PREFIX.length())));
+        }
+        if (IN_FLIGHT.equals(value)) {
+            // Marker written before request hashes were recorded
+            return Optional.of(Entry.pending(null));
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(value, Entry.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Discarding unreadable idempotency entry: {}", key);
+            redisTemplate.delete(redisKey);
+            return Optional.of(Entry.pending(null));
+        }
+    }
+
+    public void complete(String key, String requestHash, int status, String contentType, String body) {
+        try {
+            String value = objectMapper.writeValueAsString(new Entry(false, requestHash, status, contentType, body));
+            redisTemplate.opsForValue().set(keyPrefix + key, value, responseTtl);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to store idempotent response for key: {}", key, e);
+            release(key);
+        }
+    }
+
+    /**
+     * Drop the claim so the client can retry (used when the request failed transiently)
+     */
+    public void release(String key) {
+        redisTemplate.delete(keyPrefix + key);
+    }
+
+    public record Entry(boolean inFlight, String requestHash, int status, String contentType, String body) {
+
+        static Entry pending(String requestHash) {
+            return new Entry(true, requestHash, 0, null, null);
+        }
+
+        /**
+         * Whether the entry was created by a request with this body; entries stored
+         * without a hash are trusted until they expire
+         */
+        public boolean matches(String otherHash) {
+            return requestHash == null || Objects.equals(requestHash, otherHash);
+        }
+    }
+}
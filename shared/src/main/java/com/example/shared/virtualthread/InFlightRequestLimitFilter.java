@@ -0,0 +1,86 @@
+package com.example.shared.virtualthread;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.shared.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caps in-flight requests in virtual-thread mode, where Tomcat no longer has a 200-thread pool
+ * to do it. The cap is derived from the JDBC pool size so a burst queues briefly here and
+ * is shed with 503, instead of piling up behind Hikari until connection timeouts.
+ * A request holds its permit until the filter chain returns; for async requests (streaming
+ * responses) that is when async processing starts, so long streams are bounded elsewhere.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InFlightRequestLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightRequestLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+
+    public InFlightRequestLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            int poolSize, int requestsPerConnection, long acquireTimeoutMs) {
+        int maxInFlight = poolSize * requestsPerConnection;
+        this.permits = new Semaphore(maxInFlight);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.objectMapper = objectMapper;
+        Gauge.builder("http.server.requests.in-flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Requests currently admitted by the in-flight limit")
+                .register(meterRegistry);
+        logger.info("Virtual-thread mode: at most {} in-flight requests ({} connections x {})",
+                maxInFlight, poolSize, requestsPerConnection);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(),
+                    ApiResponse.error("Service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE.value()));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
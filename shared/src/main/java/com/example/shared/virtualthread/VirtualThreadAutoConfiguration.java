@@ -0,0 +1,41 @@
+package com.example.shared.virtualthread;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Virtual-thread support for every service that runs with spring.threads.virtual.enabled:
+ * JFR pinning diagnostics, and an in-flight request cap in place of Tomcat's thread pool.
+ * Settings live under virtual-threads.* in each service's application.yml.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public InFlightRequestLimitFilter inFlightRequestLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${virtual-threads.requests-per-connection:50}") int requestsPerConnection,
+            @Value("${virtual-threads.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        return new InFlightRequestLimitFilter(objectMapper, meterRegistry, poolSize, requestsPerConnection,
+                acquireTimeoutMs);
+    }
+}
@@ -1,13 +0,0 @@
-package com.example.shared;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-@SpringBootTest
-class SharedApplicationTests {
-
-	@Test
-	void contextLoads() {
-	}
-
-}
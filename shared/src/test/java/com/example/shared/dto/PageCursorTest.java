@@ -0,0 +1,73 @@
+package com.example.shared.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.shared.exception.InvalidCursorException;
+
+class PageCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123_456_000), 42L);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String encoded = new PageCursor(LocalDateTime.of(2026, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void notBase64IsRejected() {
+        assertInvalid("not a cursor!");
+    }
+
+    @Test
+    void missingSeparatorIsRejected() {
+        assertInvalid(encodeRaw("2026-10-19T08:30:15"));
+    }
+
+    @Test
+    void tamperedTimestampIsRejected() {
+        assertInvalid(encodeRaw("2026-13-45T08:30:15|42"));
+    }
+
+    @Test
+    void tamperedIdIsRejected() {
+        assertInvalid(encodeRaw("2026-10-19T08:30:15|42 OR 1=1"));
+        assertInvalid(encodeRaw("2026-10-19T08:30:15|"));
+    }
+
+    @Test
+    void truncatedCursorIsRejected() {
+        String encoded = new PageCursor(LocalDateTime.of(2026, 10, 19, 8, 30), 42L).encode();
+
+        assertInvalid(encoded.substring(0, encoded.length() / 2));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> PageCursor.decode(cursor))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Invalid page cursor");
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
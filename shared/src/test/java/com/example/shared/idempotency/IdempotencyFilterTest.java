@@ -0,0 +1,126 @@
+package com.example.shared.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"trainId\":7,\"numberOfSeats\":2}";
+    private static final String KEY = "42:/tickets/book:abc";
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(IdempotencyStore.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new IdempotencyFilter(store, objectMapper, List.of("/tickets/book"));
+    }
+
+    @Test
+    void firstRequestReachesControllerWithItsBodyAndIsStored() throws Exception {
+        String hash = IdempotencyFilter.sha256(BODY.getBytes(StandardCharsets.UTF_8));
+        when(store.claim(KEY, hash)).thenReturn(Optional.empty());
+        StringBuilder seenBody = new StringBuilder();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                seenBody.append(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8));
+                resp.setStatus(201);
+                resp.getWriter().write("created");
+            }
+        }));
+
+        assertThat(seenBody.toString()).isEqualTo(BODY);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("created");
+        verify(store).complete(eq(KEY), eq(hash), eq(201), any(), eq("created"));
+    }
+
+    @Test
+    void repeatWithSameBodyReplaysStoredResponse() throws Exception {
+        String hash = IdempotencyFilter.sha256(BODY.getBytes(StandardCharsets.UTF_8));
+        when(store.claim(KEY, hash)).thenReturn(Optional.of(
+                new IdempotencyStore.Entry(false, hash, 201, "application/json", "{\"id\":1}")));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(BODY), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() throws Exception {
+        String otherHash = IdempotencyFilter.sha256("{\"trainId\":8}".getBytes(StandardCharsets.UTF_8));
+        when(store.claim(eq(KEY), anyString())).thenReturn(Optional.of(
+                new IdempotencyStore.Entry(false, otherHash, 201, "application/json", "{\"id\":1}")));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(BODY), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).doesNotContain("\"id\":1");
+        verify(store, never()).release(anyString());
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyWhileInFlightIsRejected() throws Exception {
+        when(store.claim(eq(KEY), anyString())).thenReturn(Optional.of(
+                new IdempotencyStore.Entry(true, "0000", 0, null, null)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void entryWithoutHashIsTreatedAsMatching() {
+        IdempotencyStore.Entry legacy = new IdempotencyStore.Entry(true, null, 0, null, null);
+
+        assertThat(legacy.matches("anything")).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tickets/book");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "abc");
+        request.addHeader("X-User-Id", "42");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.shared.virtualthread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class InFlightRequestLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InFlightRequestLimitFilter filter;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // One connection x one request: a single permit
+        filter = new InFlightRequestLimitFilter(new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry, 1, 1, 20);
+        callers = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void requestBeyondTheCapIsShedWith503() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<?> first = callers.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(),
+                    new MockFilterChain(new HttpServlet() {
+                        @Override
+                        protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                            admitted.countDown();
+                            try {
+                                finish.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }));
+            return null;
+        });
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("http.server.requests.in-flight").gauge().value()).isEqualTo(1.0);
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), shed, chain);
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+
+        finish.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("http.server.requests.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void permitIsReturnedWhenTheChainFails() throws Exception {
+        MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                throw new IOException("client went away");
+            }
+        });
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), failing);
+        } catch (IOException expected) {
+            // Propagated as is
+        }
+
+        MockHttpServletResponse next = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), next, new MockFilterChain());
+        assertThat(next.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void actuatorIsNeverShed() throws Exception {
+        MockHttpServletRequest health = new MockHttpServletRequest("GET", "/actuator/health");
+        health.setRequestURI("/actuator/health");
+
+        assertThat(filter.shouldNotFilter(health)).isTrue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.ticketservice.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one downstream service, adjusted from measured round-trip times
+ * (the gradient algorithm of Netflix concurrency-limits):
+ * <ul>
+ *   <li>a long-window average RTT is the no-load baseline; each sample is compared against it</li>
+ *   <li>gradient = tolerance x baseline / sample, clamped to [0.5, 1]; the new limit is
+ *       limit x gradient + queueSize, so the limit grows while latency stays at the baseline
+ *       and shrinks once requests start queueing downstream</li>
+ *   <li>timeouts cut the limit multiplicatively (AIMD backoff)</li>
+ * </ul>
+ * Samples taken while fewer than half the permits are in use don't raise the limit, so an idle
+ * period can't inflate it beyond what the downstream has actually shown it can handle.
+ */
+public class AdaptiveConcurrencyLimit {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final int queueSize;
+	private final double tolerance;
+	private final double smoothing;
+	private final double backoffRatio;
+	private final int longWindow;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile double limit;
+
+	// Guarded by this
+	private double longRtt;
+	private double lastRtt;
+	private long samples;
+
+	public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int queueSize,
+			double tolerance, double smoothing, double backoffRatio, int longWindow) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.queueSize = queueSize;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.backoffRatio = backoffRatio;
+		this.longWindow = longWindow;
+	}
+
+	/**
+	 * Take a permit if fewer than limit calls are in flight; returns the in-flight count
+	 * including this call, or -1 if the call must be rejected
+	 */
+	public int tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				return -1;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return current + 1;
+			}
+		}
+	}
+
+	/**
+	 * Release a permit after a successful call and feed its RTT into the limit
+	 */
+	public void onSuccess(long rttNanos, int inFlightAtStart) {
+		inFlight.decrementAndGet();
+		update(rttNanos, inFlightAtStart);
+	}
+
+	/**
+	 * Release a permit after a timeout; the downstream is overloaded, so back off
+	 */
+	public synchronized void onDropped() {
+		inFlight.decrementAndGet();
+		limit = Math.max(minLimit, limit * backoffRatio);
+	}
+
+	/**
+	 * Release a permit without a sample (errors unrelated to load, cancelled calls)
+	 */
+	public void onIgnore() {
+		inFlight.decrementAndGet();
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public synchronized double getLongRttMillis() {
+		return longRtt / 1_000_000.0;
+	}
+
+	/**
+	 * Calls waiting in the downstream's queue rather than being served, estimated from how far
+	 * the latest RTT is above the baseline (Little's law: in-flight x (1 - baseline / rtt))
+	 */
+	public synchronized double getEstimatedQueue() {
+		if (lastRtt <= 0 || longRtt <= 0) {
+			return 0;
+		}
+		return Math.max(0, inFlight.get() * (1 - longRtt / lastRtt));
+	}
+
+	private synchronized void update(long rttNanos, int inFlightAtStart) {
+		double rtt = rttNanos;
+		lastRtt = rtt;
+		if (samples < longWindow) {
+			// Plain average until the window is filled, then exponential
+			samples++;
+			longRtt += (rtt - longRtt) / samples;
+		} else {
+			longRtt += (rtt - longRtt) * 2 / (longWindow + 1);
+		}
+		if (longRtt / rtt > 2) {
+			// Latency has dropped well below the baseline (e.g. downstream scaled out); let it catch up
+			longRtt *= 0.95;
+		}
+
+		if (inFlightAtStart < limit / 2) {
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+		double newLimit = limit * gradient + queueSize;
+		newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+}
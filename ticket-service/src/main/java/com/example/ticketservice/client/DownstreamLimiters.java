@@ -0,0 +1,197 @@
+package com.example.ticketservice.client;
+
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.exception.DownstreamOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Adaptive concurrency limits on outbound calls, one per downstream service.
+ * Calls over the limit fail fast with {@link DownstreamOverloadedException} (a retryable 503)
+ * instead of queueing on a service that is already slowing down. This sits in front of the
+ * circuit breakers, which only react once calls actually fail.
+ *
+ * Feign calls go through the breaker, which turns failures (including its own time limit)
+ * into fallback values. The clients' fallback factories report the cause with
+ * {@link #recordFallback}, so a fallback counts as a drop or is ignored instead of being
+ * taken for a fast successful call.
+ */
+@Component
+public class DownstreamLimiters {
+
+	private static final Logger logger = LoggerFactory.getLogger(DownstreamLimiters.class);
+
+	// Cause of a Feign fallback on this thread; fallbacks run on the calling thread
+	private static final ThreadLocal<Throwable> FALLBACK_CAUSE = new ThreadLocal<>();
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+	@Value("${ticket.concurrency-limit.enabled:true}")
+	private boolean enabled;
+
+	@Value("${ticket.concurrency-limit.initial-limit:20}")
+	private int initialLimit;
+
+	@Value("${ticket.concurrency-limit.min-limit:4}")
+	private int minLimit;
+
+	@Value("${ticket.concurrency-limit.max-limit:200}")
+	private int maxLimit;
+
+	@Value("${ticket.concurrency-limit.queue-size:4}")
+	private int queueSize;
+
+	@Value("${ticket.concurrency-limit.rtt-tolerance:1.5}")
+	private double rttTolerance;
+
+	@Value("${ticket.concurrency-limit.smoothing:0.2}")
+	private double smoothing;
+
+	@Value("${ticket.concurrency-limit.backoff-ratio:0.9}")
+	private double backoffRatio;
+
+	@Value("${ticket.concurrency-limit.long-window:600}")
+	private int longWindow;
+
+	public DownstreamLimiters(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Run a blocking call (Feign) under the service's limit
+	 */
+	public <T> T call(String serviceId, Supplier<T> call) {
+		if (!enabled) {
+			return call.get();
+		}
+		Limiter limiter = limiter(serviceId);
+		int inFlight = limiter.acquire(serviceId);
+		long start = System.nanoTime();
+		FALLBACK_CAUSE.remove();
+		try {
+			T result = call.get();
+			Throwable fallbackCause = FALLBACK_CAUSE.get();
+			if (fallbackCause != null) {
+				limiter.release(fallbackCause);
+			} else {
+				limiter.limit().onSuccess(System.nanoTime() - start, inFlight);
+			}
+			return result;
+		} catch (RuntimeException e) {
+			limiter.release(e);
+			throw e;
+		} finally {
+			FALLBACK_CAUSE.remove();
+		}
+	}
+
+	/**
+	 * Called by a Feign fallback factory: the call on this thread returned a fallback value because of cause
+	 */
+	public static void recordFallback(Throwable cause) {
+		FALLBACK_CAUSE.set(cause);
+	}
+
+	/**
+	 * Subscribe to a non-blocking call under the service's limit; the permit is held until the
+	 * call completes, fails or is cancelled
+	 */
+	public <T> Mono<T> call(String serviceId, Mono<T> call) {
+		if (!enabled) {
+			return call;
+		}
+		return Mono.defer(() -> {
+			Limiter limiter = limiter(serviceId);
+			int inFlight = limiter.acquire(serviceId);
+			long start = System.nanoTime();
+			return call
+					.doOnError(limiter::release)
+					.doFinally(signal -> {
+						if (signal == SignalType.ON_COMPLETE) {
+							limiter.limit().onSuccess(System.nanoTime() - start, inFlight);
+						} else if (signal == SignalType.CANCEL) {
+							limiter.limit().onIgnore();
+						}
+					});
+		});
+	}
+
+	// ============ Helper Methods ============
+
+	private Limiter limiter(String serviceId) {
+		return limiters.computeIfAbsent(serviceId, this::createLimiter);
+	}
+
+	private Limiter createLimiter(String serviceId) {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, queueSize,
+				rttTolerance, smoothing, backoffRatio, longWindow);
+		Gauge.builder("ticket.downstream.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+				.description("Current adaptive concurrency limit")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+		Gauge.builder("ticket.downstream.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+				.description("Outbound calls currently in flight")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+		Gauge.builder("ticket.downstream.concurrency.queued", limit, AdaptiveConcurrencyLimit::getEstimatedQueue)
+				.description("In-flight calls estimated to be queued downstream (RTT above baseline)")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+		Gauge.builder("ticket.downstream.rtt.baseline", limit, AdaptiveConcurrencyLimit::getLongRttMillis)
+				.description("Long-window average RTT the limit is measured against, in ms")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+		Counter rejected = Counter.builder("ticket.downstream.concurrency.rejected")
+				.description("Outbound calls rejected by the concurrency limit")
+				.tag("service", serviceId)
+				.register(meterRegistry);
+		logger.info("Adaptive concurrency limit for {} starting at {}", serviceId, initialLimit);
+		return new Limiter(limit, rejected);
+	}
+
+	private static boolean isTimeout(Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException
+					|| cause instanceof io.netty.handler.timeout.TimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record Limiter(AdaptiveConcurrencyLimit limit, Counter rejected) {
+
+		int acquire(String serviceId) {
+			int inFlight = limit.tryAcquire();
+			if (inFlight < 0) {
+				rejected.increment();
+				throw new DownstreamOverloadedException(serviceId);
+			}
+			return inFlight;
+		}
+
+		// Timeouts are the overload signal; other errors say nothing about capacity
+		void release(Throwable error) {
+			if (isTimeout(error)) {
+				limit.onDropped();
+			} else {
+				limit.onIgnore();
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.ticketservice.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.publisher.Mono;
+
+/**
+ * GETs against discovered service instances over the pooled non-blocking WebClient.
+ * Idempotent reads can be hedged: if the primary instance hasn't answered within the
+ * service's recent p95 latency, the same request goes to a second instance and the first
+ * successful response wins (the loser is cancelled). Only use for side-effect free GETs.
+ */
+@Component
+public class HedgingWebClient {
+
+	private static final double HEDGE_PERCENTILE = 0.95;
+
+	private final WebClient webClient;
+	private final DiscoveryClient discoveryClient;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+	private final Map<String, Counter> hedges = new ConcurrentHashMap<>();
+	private final AtomicInteger nextInstance = new AtomicInteger();
+
+	@Value("${ticket.http.hedging.enabled:true}")
+	private boolean hedgingEnabled;
+
+	@Value("${ticket.http.hedging.min-delay-ms:20}")
+	private long minDelayMs;
+
+	@Value("${ticket.http.hedging.max-delay-ms:1000}")
+	private long maxDelayMs;
+
+	// Used until the service has a p95 to go by
+	@Value("${ticket.http.hedging.default-delay-ms:200}")
+	private long defaultDelayMs;
+
+	public HedgingWebClient(WebClient downstreamWebClient,
+			DiscoveryClient discoveryClient,
+			MeterRegistry meterRegistry) {
+		this.webClient = downstreamWebClient;
+		this.discoveryClient = discoveryClient;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Plain GET to one instance of the service
+	 */
+	public <T> Mono<T> get(String serviceId, Function<UriBuilder, URI> uri, ParameterizedTypeReference<T> type) {
+		return Mono.defer(() -> {
+			List<ServiceInstance> instances = instancesOf(serviceId);
+			return timed(serviceId, instances.get(pick(instances.size())), uri, type);
+		});
+	}
+
+	/**
+	 * GET hedged to a second instance after the service's p95 latency; falls back to a plain
+	 * GET when hedging is disabled or only one instance is registered
+	 */
+	public <T> Mono<T> hedgedGet(String serviceId, Function<UriBuilder, URI> uri, ParameterizedTypeReference<T> type) {
+		return Mono.defer(() -> {
+			List<ServiceInstance> instances = instancesOf(serviceId);
+			int primary = pick(instances.size());
+			Mono<T> first = timed(serviceId, instances.get(primary), uri, type);
+			if (!hedgingEnabled || instances.size() < 2) {
+				return first;
+			}
+			Mono<T> second = timed(serviceId, instances.get((primary + 1) % instances.size()), uri, type)
+					.delaySubscription(hedgeDelay(serviceId))
+					.doOnSubscribe(subscription -> hedgeCounter(serviceId).increment());
+			return Mono.firstWithValue(first, second);
+		});
+	}
+
+	// ============ Helper Methods ============
+
+	private List<ServiceInstance> instancesOf(String serviceId) {
+		List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+		if (instances == null || instances.isEmpty()) {
+			throw new IllegalStateException("No instances available for " + serviceId);
+		}
+		return instances;
+	}
+
+	private int pick(int size) {
+		return Math.floorMod(nextInstance.getAndIncrement(), size);
+	}
+
+	private <T> Mono<T> timed(String serviceId, ServiceInstance instance,
+			Function<UriBuilder, URI> uri, ParameterizedTypeReference<T> type) {
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return webClient.get()
+					.uri(uri.apply(UriComponentsBuilder.fromUri(instance.getUri())))
+					.retrieve()
+					.bodyToMono(type)
+					// Only successful responses feed the hedge delay; cancelled losers are not recorded
+					.doOnSuccess(body -> latency(serviceId).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+		});
+	}
+
+	private Duration hedgeDelay(String serviceId) {
+		long delayMs = defaultDelayMs;
+		for (ValueAtPercentile percentile : latency(serviceId).takeSnapshot().percentileValues()) {
+			if (percentile.percentile() == HEDGE_PERCENTILE && percentile.value() > 0) {
+				delayMs = (long) percentile.value(TimeUnit.MILLISECONDS);
+			}
+		}
+		return Duration.ofMillis(Math.min(maxDelayMs, Math.max(minDelayMs, delayMs)));
+	}
+
+	private Timer latency(String serviceId) {
+		return latencies.computeIfAbsent(serviceId, id -> Timer.builder("ticket.downstream.latency")
+				.description("Latency of successful GETs to downstream services")
+				.tag("service", id)
+				.publishPercentiles(HEDGE_PERCENTILE)
+				.distributionStatisticExpiry(Duration.ofMinutes(1))
+				.register(meterRegistry));
+	}
+
+	private Counter hedgeCounter(String serviceId) {
+		return hedges.computeIfAbsent(serviceId, id -> Counter.builder("ticket.downstream.hedged")
+				.description("GETs re-sent to a second instance after the hedge delay")
+				.tag("service", id)
+				.register(meterRegistry));
+	}
+}
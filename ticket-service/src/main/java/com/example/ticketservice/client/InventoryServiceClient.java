@@ -1,19 +1,28 @@
 package com.example.ticketservice.client;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.ticketservice.dto.ApiResponse;
 import com.example.ticketservice.dto.AvailabilityResponse;
+import com.example.ticketservice.dto.BatchReleaseRequest;
+import com.example.ticketservice.dto.BatchReserveRequest;
+import com.example.ticketservice.dto.ReservationResult;
 import com.example.ticketservice.dto.ReserveSeatRequest;
+import com.example.ticketservice.dto.ScheduleResponse;
 
-@FeignClient(name = "inventory-service", fallback = InventoryServiceClientFallback.class)
+@FeignClient(name = InventoryServiceClient.SERVICE_ID, fallbackFactory = InventoryServiceClientFallbackFactory.class)
 public interface InventoryServiceClient {
 
+	String SERVICE_ID = "inventory-service";
+
 	@GetMapping("/inventory/availability")
 	AvailabilityResponse checkAvailability(
 			@RequestParam("trainId") Long trainId,
@@ -23,10 +32,26 @@ public interface InventoryServiceClient {
 	@PostMapping("/inventory/reserve")
 	Boolean reserveSeats(@RequestBody ReserveSeatRequest request);
 
+	@PostMapping("/inventory/reserve-and-quote")
+	ApiResponse<ReservationResult> reserveAndQuote(@RequestBody ReserveSeatRequest request);
+
+	@PostMapping("/inventory/reserve/batch")
+	ApiResponse<List<ReservationResult>> reserveSeatsBatch(@RequestBody BatchReserveRequest request);
+
 	@PostMapping("/inventory/release")
 	Boolean releaseSeats(
 			@RequestParam("trainId") Long trainId,
 			@RequestParam("departureDate") String departureDate,
 			@RequestParam("numberOfSeats") Integer numberOfSeats
 	);
+
+	// Idempotent; ids never reserved are recorded so a late reserve with that id is rejected
+	@PostMapping("/inventory/release/batch")
+	ApiResponse<Boolean> releaseReservations(@RequestBody BatchReleaseRequest request);
+
+	@GetMapping("/schedules/status/{status}")
+	ApiResponse<List<ScheduleResponse>> getSchedulesByStatus(
+			@PathVariable("status") String status,
+			@RequestParam("since") String since
+	);
 }
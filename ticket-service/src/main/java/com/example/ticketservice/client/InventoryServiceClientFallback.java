@@ -1,11 +1,18 @@
 package com.example.ticketservice.client;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.example.ticketservice.dto.ApiResponse;
 import com.example.ticketservice.dto.AvailabilityResponse;
+import com.example.ticketservice.dto.BatchReleaseRequest;
+import com.example.ticketservice.dto.BatchReserveRequest;
+import com.example.ticketservice.dto.ReservationResult;
 import com.example.ticketservice.dto.ReserveSeatRequest;
+import com.example.ticketservice.dto.ScheduleResponse;
 
 @Component
 public class InventoryServiceClientFallback implements InventoryServiceClient {
@@ -31,11 +38,36 @@ public class InventoryServiceClientFallback implements InventoryServiceClient {
 		return false;
 	}
 
+	@Override
+	public ApiResponse<ReservationResult> reserveAndQuote(ReserveSeatRequest request) {
+		logger.error("Fallback: Inventory service is unavailable for reserveAndQuote. TrainId: {}", request.getTrainId());
+		return null;
+	}
+
+	@Override
+	public ApiResponse<List<ReservationResult>> reserveSeatsBatch(BatchReserveRequest request) {
+		logger.error("Fallback: Inventory service is unavailable for reserveSeatsBatch. TrainId: {}", request.getTrainId());
+		return null;
+	}
+
 	@Override
 	public Boolean releaseSeats(Long trainId, String departureDate, Integer numberOfSeats) {
 		logger.error("Fallback: Inventory service is unavailable for releaseSeats. TrainId: {}", trainId);
-		// Return true to allow ticket cancellation to proceed, seats will be released later
-		return true;
+		// Return false so the booking saga keeps the release pending and retries it
+		return false;
+	}
+
+	@Override
+	public ApiResponse<Boolean> releaseReservations(BatchReleaseRequest request) {
+		logger.error("Fallback: Inventory service is unavailable for releaseReservations. TrainId: {}", request.getTrainId());
+		// Null so the booking saga keeps the release pending and retries it
+		return null;
 	}
-}
 
+	@Override
+	public ApiResponse<List<ScheduleResponse>> getSchedulesByStatus(String status, String since) {
+		logger.error("Fallback: Inventory service is unavailable for getSchedulesByStatus. Status: {}", status);
+		// Null so the completion job skips this run instead of treating it as "nothing arrived"
+		return null;
+	}
+}
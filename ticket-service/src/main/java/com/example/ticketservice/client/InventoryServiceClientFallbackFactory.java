@@ -0,0 +1,23 @@
+package com.example.ticketservice.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands out the inventory fallback and reports why the call fell back to the concurrency limit,
+ * which would otherwise take the fallback's quick return for a fast successful call
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryServiceClientFallbackFactory implements FallbackFactory<InventoryServiceClient> {
+
+	private final InventoryServiceClientFallback fallback;
+
+	@Override
+	public InventoryServiceClient create(Throwable cause) {
+		DownstreamLimiters.recordFallback(cause);
+		return fallback;
+	}
+}
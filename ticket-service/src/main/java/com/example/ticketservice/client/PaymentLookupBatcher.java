@@ -0,0 +1,178 @@
+package com.example.ticketservice.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.PaymentResponse;
+import com.example.ticketservice.exception.DownstreamOverloadedException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Coalesces payment-by-ticket lookups into batched GET /payments/by-tickets calls, sent over
+ * the non-blocking WebClient (Feign as fallback).
+ * Lookups arriving within a short window (from any thread) share one downstream call;
+ * a full batch is sent immediately.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentLookupBatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaymentLookupBatcher.class);
+
+	private final PaymentWebClient paymentWebClient;
+	private final PaymentServiceClient paymentServiceClient;
+	private final DownstreamLimiters downstreamLimiters;
+
+	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "payment-lookup-batcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Object lock = new Object();
+	private Map<Long, CompletableFuture<PaymentResponse>> pending = new HashMap<>();
+	private boolean flushScheduled;
+
+	@Value("${ticket.payment-lookup.window-ms:5}")
+	private long windowMs;
+
+	@Value("${ticket.payment-lookup.max-batch-size:100}")
+	private int maxBatchSize;
+
+	@Value("${ticket.payment-lookup.timeout-ms:3000}")
+	private long timeoutMs;
+
+	/**
+	 * Payment of one ticket; completes with null if the ticket has no payment
+	 */
+	public CompletableFuture<PaymentResponse> lookup(Long ticketId) {
+		CompletableFuture<PaymentResponse> future;
+		Map<Long, CompletableFuture<PaymentResponse>> fullBatch = null;
+		synchronized (lock) {
+			future = pending.computeIfAbsent(ticketId, id -> new CompletableFuture<>());
+			if (pending.size() >= maxBatchSize) {
+				fullBatch = pending;
+				pending = new HashMap<>();
+			} else if (!flushScheduled) {
+				flushScheduled = true;
+				scheduler.schedule(this::flushPending, windowMs, TimeUnit.MILLISECONDS);
+			}
+		}
+		if (fullBatch != null) {
+			fetch(fullBatch);
+		}
+		return future;
+	}
+
+	/**
+	 * Payments of several tickets, keyed by ticket id (tickets without payment are absent).
+	 * Sent right away rather than waiting for the window. Lookups that fail or time out are
+	 * left out, so callers can render without payment info.
+	 */
+	public Map<Long, PaymentResponse> lookupAll(Collection<Long> ticketIds) {
+		Map<Long, CompletableFuture<PaymentResponse>> futures = new HashMap<>();
+		for (Long ticketId : new LinkedHashSet<>(ticketIds)) {
+			futures.put(ticketId, lookup(ticketId));
+		}
+		flushPending();
+
+		Map<Long, PaymentResponse> payments = new HashMap<>();
+		futures.forEach((ticketId, future) -> {
+			PaymentResponse payment = await(ticketId, future);
+			if (payment != null) {
+				payments.put(ticketId, payment);
+			}
+		});
+		return payments;
+	}
+
+	/**
+	 * Blocking single lookup with the configured timeout; null if none or on failure
+	 */
+	public PaymentResponse lookupNow(Long ticketId) {
+		return await(ticketId, lookup(ticketId));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdown();
+	}
+
+	// ============ Helper Methods ============
+
+	private void flushPending() {
+		Map<Long, CompletableFuture<PaymentResponse>> batch;
+		synchronized (lock) {
+			flushScheduled = false;
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			pending = new HashMap<>();
+		}
+		fetch(batch);
+	}
+
+	private void fetch(Map<Long, CompletableFuture<PaymentResponse>> batch) {
+		List<Long> ticketIds = new ArrayList<>(batch.keySet());
+		// Non-blocking: the batcher thread only subscribes; futures complete on the response
+		paymentWebClient.getPaymentsByTicketIds(ticketIds)
+				// Overload rejections are not retried; Feign would only add to the load
+				.onErrorResume(e -> !(e instanceof DownstreamOverloadedException), e -> {
+					logger.debug("WebClient payment lookup failed, retrying via Feign: {}", e.getMessage());
+					return Mono.fromCallable(() -> fetchViaFeign(ticketIds))
+							.subscribeOn(Schedulers.boundedElastic());
+				})
+				.switchIfEmpty(Mono.error(() -> new IllegalStateException("Payment service returned no data")))
+				.subscribe(payments -> {
+					Map<Long, PaymentResponse> byTicket = new HashMap<>();
+					for (PaymentResponse payment : payments) {
+						byTicket.put(payment.getTicketId(), payment);
+					}
+					logger.debug("Fetched payments for {} tickets in one call", ticketIds.size());
+					batch.forEach((ticketId, future) -> future.complete(byTicket.get(ticketId)));
+				}, e -> {
+					logger.debug("Batched payment lookup failed for {} tickets: {}", ticketIds.size(), e.getMessage());
+					batch.values().forEach(future -> future.completeExceptionally(e));
+				});
+	}
+
+	private List<PaymentResponse> fetchViaFeign(List<Long> ticketIds) {
+		ApiResponse<List<PaymentResponse>> response = downstreamLimiters.call(PaymentServiceClient.SERVICE_ID,
+				() -> paymentServiceClient.getPaymentsByTicketIds(ticketIds));
+		if (response == null || response.getData() == null) {
+			throw new IllegalStateException("Payment service returned no data");
+		}
+		return response.getData();
+	}
+
+	private PaymentResponse await(Long ticketId, CompletableFuture<PaymentResponse> future) {
+		try {
+			return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (Exception e) {
+			logger.debug("Could not fetch payment info for ticket: {}", ticketId);
+			return null;
+		}
+	}
+}
@@ -1,18 +1,24 @@
 package com.example.ticketservice.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.ticketservice.dto.ApiResponse;
 import com.example.ticketservice.dto.PaymentRequest;
 import com.example.ticketservice.dto.PaymentResponse;
 
-@FeignClient(name = "payment-service", fallback = PaymentServiceClientFallback.class)
+@FeignClient(name = PaymentServiceClient.SERVICE_ID, fallbackFactory = PaymentServiceClientFallbackFactory.class)
 public interface PaymentServiceClient {
 
+	String SERVICE_ID = "payment-service";
+
 	@PostMapping("/payments/process")
 	PaymentResponse processPayment(
 			@RequestHeader("X-User-Id") Long userId,
@@ -27,5 +33,8 @@ public interface PaymentServiceClient {
 
 	@GetMapping("/payments/ticket/{ticketId}")
 	PaymentResponse getPaymentByTicketId(@PathVariable("ticketId") Long ticketId);
+
+	@GetMapping("/payments/by-tickets")
+	ApiResponse<List<PaymentResponse>> getPaymentsByTicketIds(@RequestParam("ids") List<Long> ticketIds);
 }
 
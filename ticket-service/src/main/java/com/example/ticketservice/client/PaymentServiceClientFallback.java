@@ -1,9 +1,12 @@
 package com.example.ticketservice.client;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.example.ticketservice.dto.ApiResponse;
 import com.example.ticketservice.dto.PaymentRequest;
 import com.example.ticketservice.dto.PaymentResponse;
 
@@ -29,5 +32,11 @@ public class PaymentServiceClientFallback implements PaymentServiceClient {
 		logger.error("Fallback: Payment service is unavailable for getPaymentByTicketId. TicketId: {}", ticketId);
 		return null;
 	}
+
+	@Override
+	public ApiResponse<List<PaymentResponse>> getPaymentsByTicketIds(List<Long> ticketIds) {
+		logger.error("Fallback: Payment service is unavailable for getPaymentsByTicketIds. Tickets: {}", ticketIds.size());
+		return null;
+	}
 }
 
@@ -0,0 +1,23 @@
+package com.example.ticketservice.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands out the payment fallback and reports why the call fell back to the concurrency limit,
+ * which would otherwise take the fallback's quick return for a fast successful call
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentServiceClientFallbackFactory implements FallbackFactory<PaymentServiceClient> {
+
+	private final PaymentServiceClientFallback fallback;
+
+	@Override
+	public PaymentServiceClient create(Throwable cause) {
+		DownstreamLimiters.recordFallback(cause);
+		return fallback;
+	}
+}
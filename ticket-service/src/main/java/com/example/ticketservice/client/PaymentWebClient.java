@@ -0,0 +1,47 @@
+package com.example.ticketservice.client;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.PaymentResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads from payment-service; the batched payment lookup is a plain GET,
+ * so it can be hedged to a second instance on slow responses.
+ */
+@Component
+public class PaymentWebClient {
+
+	private static final ParameterizedTypeReference<ApiResponse<List<PaymentResponse>>> PAYMENTS_TYPE =
+			new ParameterizedTypeReference<>() {};
+
+	private final HedgingWebClient hedgingWebClient;
+	private final DownstreamLimiters downstreamLimiters;
+	private final Duration timeout;
+
+	public PaymentWebClient(HedgingWebClient hedgingWebClient,
+			DownstreamLimiters downstreamLimiters,
+			@Value("${ticket.http.response-timeout-ms:5000}") long timeoutMs) {
+		this.hedgingWebClient = hedgingWebClient;
+		this.downstreamLimiters = downstreamLimiters;
+		this.timeout = Duration.ofMillis(timeoutMs);
+	}
+
+	public Mono<List<PaymentResponse>> getPaymentsByTicketIds(Collection<Long> ticketIds) {
+		Mono<ApiResponse<List<PaymentResponse>>> call = hedgingWebClient.hedgedGet(PaymentServiceClient.SERVICE_ID,
+				uri -> uri.path("/payments/by-tickets")
+						.queryParam("ids", ticketIds.toArray())
+						.build(),
+				PAYMENTS_TYPE);
+		return downstreamLimiters.call(PaymentServiceClient.SERVICE_ID, call.timeout(timeout))
+				.flatMap(response -> Mono.justOrEmpty(response.getData()));
+	}
+}
@@ -0,0 +1,171 @@
+package com.example.ticketservice.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.BatchReserveRequest;
+import com.example.ticketservice.dto.ReservationResult;
+import com.example.ticketservice.dto.ReserveSeatRequest;
+import com.example.ticketservice.exception.TicketOperationException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent seat reservations on the same schedule into one
+ * POST /inventory/reserve/batch, so inventory takes its schedule lock once per batch
+ * instead of once per booking. Each caller gets its own result, including the price quote.
+ * The first caller for a schedule leads the batch: it waits for the window (or until the
+ * batch is full), sends it on its own thread and fans the per-item results out to the
+ * callers that joined. No extra threads are involved.
+ */
+@Component
+public class ReservationBatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReservationBatcher.class);
+
+	private final InventoryServiceClient inventoryServiceClient;
+	private final DownstreamLimiters downstreamLimiters;
+	private final DistributionSummary batchSizes;
+
+	private final Object lock = new Object();
+	private final Map<String, Batch> open = new HashMap<>();
+
+	@Value("${ticket.reservation-batch.enabled:true}")
+	private boolean enabled;
+
+	@Value("${ticket.reservation-batch.window-ms:2}")
+	private long windowMs;
+
+	@Value("${ticket.reservation-batch.max-batch-size:64}")
+	private int maxBatchSize;
+
+	@Value("${ticket.reservation-batch.timeout-ms:15000}")
+	private long timeoutMs;
+
+	public ReservationBatcher(InventoryServiceClient inventoryServiceClient,
+			DownstreamLimiters downstreamLimiters,
+			MeterRegistry meterRegistry) {
+		this.inventoryServiceClient = inventoryServiceClient;
+		this.downstreamLimiters = downstreamLimiters;
+		this.batchSizes = DistributionSummary.builder("ticket.reservation.batch.size")
+				.description("Reservations sent per batch call to inventory")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Reserve and quote seats, possibly together with concurrent reservations on the same schedule.
+	 * A rejection comes back as a result with reserved=false; throws if the call failed, in which
+	 * case inventory state is unknown (same as a failed single reservation).
+	 */
+	public ReservationResult reserve(ReserveSeatRequest request) {
+		if (!enabled) {
+			ApiResponse<ReservationResult> response = downstreamLimiters.call(InventoryServiceClient.SERVICE_ID,
+					() -> inventoryServiceClient.reserveAndQuote(request));
+			if (response == null || response.getData() == null) {
+				throw new TicketOperationException("Seat reservation returned no usable result");
+			}
+			return response.getData();
+		}
+
+		String key = request.getTrainId() + ":" + request.getDepartureDate();
+		Batch batch;
+		int index;
+		boolean leader = false;
+		synchronized (lock) {
+			batch = open.get(key);
+			if (batch == null) {
+				batch = new Batch(request.getTrainId(), request.getDepartureDate());
+				open.put(key, batch);
+				leader = true;
+			}
+			index = batch.items.size();
+			batch.items.add(BatchReserveRequest.Item.from(request));
+			if (batch.items.size() >= maxBatchSize) {
+				// Closed for new callers; wake the leader to send it now
+				open.remove(key);
+				batch.full.countDown();
+			}
+		}
+
+		if (leader) {
+			lead(key, batch);
+		}
+		return await(batch, index);
+	}
+
+	// ============ Helper Methods ============
+
+	private void lead(String key, Batch batch) {
+		try {
+			batch.full.await(windowMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		List<BatchReserveRequest.Item> items;
+		synchronized (lock) {
+			open.remove(key, batch);
+			items = new ArrayList<>(batch.items);
+		}
+
+		try {
+			batchSizes.record(items.size());
+			ApiResponse<List<ReservationResult>> response = downstreamLimiters.call(InventoryServiceClient.SERVICE_ID,
+					() -> inventoryServiceClient.reserveSeatsBatch(BatchReserveRequest.builder()
+							.trainId(batch.trainId)
+							.departureDate(batch.departureDate)
+							.items(items)
+							.build()));
+			if (response == null || response.getData() == null || response.getData().size() != items.size()) {
+				throw new TicketOperationException("Batch seat reservation returned no usable result");
+			}
+			logger.debug("Reserved {} requests for {} in one call", items.size(), key);
+			batch.results.complete(response.getData());
+		} catch (Throwable e) {
+			batch.results.completeExceptionally(e);
+		}
+	}
+
+	private ReservationResult await(Batch batch, int index) {
+		try {
+			return batch.results.get(timeoutMs, TimeUnit.MILLISECONDS).get(index);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TicketOperationException("Interrupted while reserving seats", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new TicketOperationException("Seat reservation failed", e.getCause());
+		} catch (Exception e) {
+			throw new TicketOperationException("Seat reservation timed out", e);
+		}
+	}
+
+	private static final class Batch {
+
+		private final Long trainId;
+		private final String departureDate;
+		// Guarded by the batcher lock until the batch is sent
+		private final List<BatchReserveRequest.Item> items = new ArrayList<>();
+		private final CountDownLatch full = new CountDownLatch(1);
+		private final CompletableFuture<List<ReservationResult>> results = new CompletableFuture<>();
+
+		private Batch(Long trainId, String departureDate) {
+			this.trainId = trainId;
+			this.departureDate = departureDate;
+		}
+	}
+}
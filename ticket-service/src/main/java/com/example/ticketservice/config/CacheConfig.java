@@ -1,8 +1,8 @@
 package com.example.ticketservice.config;
 
 import java.time.Duration;
+import java.util.Map;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,14 +10,25 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.example.shared.dto.PageResponse;
+import com.example.ticketservice.dto.TicketResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+	// Key prefix for the cache format; entries written by older formats (JSON, the old page shape) are ignored
+	private static final String CACHE_KEY_PREFIX = "v3:";
+
 	@Bean
 	public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
 		RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -36,24 +47,54 @@ public class CacheConfig {
 		return template;
 	}
 
+	/**
+	 * Two-level cache: Caffeine L1 per instance in front of Redis L2.
+	 * L1 TTLs are much shorter than L2 so a missed invalidation only means briefly stale local data.
+	 */
 	@Bean
-	public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+	public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+			StringRedisTemplate stringRedisTemplate,
+			MeterRegistry meterRegistry) {
 		// Default cache configuration
 		RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
 				.entryTtl(Duration.ofMinutes(10))
+				.prefixCacheNameWith(CACHE_KEY_PREFIX)
 				.serializeKeysWith(RedisSerializationContext.SerializationPair
 						.fromSerializer(new StringRedisSerializer()))
 				.serializeValuesWith(RedisSerializationContext.SerializationPair
 						.fromSerializer(new GenericJackson2JsonRedisSerializer()))
 				.disableCachingNullValues();
 
-		return RedisCacheManager.builder(connectionFactory)
+		RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
 				.cacheDefaults(defaultConfig)
-				// Custom TTL for specific caches
-				.withCacheConfiguration("tickets", 
-						defaultConfig.entryTtl(Duration.ofMinutes(5)))
-				.withCacheConfiguration("userTickets", 
-						defaultConfig.entryTtl(Duration.ofMinutes(2)))
+				// Custom TTL and typed binary serializers for specific caches
+				.withCacheConfiguration("tickets",
+						defaultConfig.entryTtl(Duration.ofMinutes(5))
+								.serializeValuesWith(RedisSerializationContext.SerializationPair
+										.fromSerializer(SmileRedisSerializer.of(TicketResponse.class))))
+				.withCacheConfiguration("userTickets",
+						defaultConfig.entryTtl(Duration.ofMinutes(2))
+								.serializeValuesWith(RedisSerializationContext.SerializationPair
+										.fromSerializer(SmileRedisSerializer.of(PageResponse.class, TicketResponse.class))))
 				.build();
+		redisCacheManager.afterPropertiesSet();
+
+		return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry,
+				Map.of(
+						"tickets", new TwoLevelCacheManager.LocalSpec(10_000, Duration.ofSeconds(30)),
+						"userTickets", new TwoLevelCacheManager.LocalSpec(5_000, Duration.ofSeconds(15))),
+				new TwoLevelCacheManager.LocalSpec(1_000, Duration.ofSeconds(30)));
+	}
+
+	/**
+	 * Delivers L1 invalidations published by other instances
+	 */
+	@Bean
+	public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+			TwoLevelCacheManager cacheManager) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+		return container;
 	}
 }
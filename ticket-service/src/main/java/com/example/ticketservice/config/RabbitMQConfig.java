@@ -5,11 +5,13 @@ import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -28,6 +30,15 @@ public class RabbitMQConfig {
 	@Value("${rabbitmq.queue.booking-cancelled:booking-cancelled-queue}")
 	private String bookingCancelledQueue;
 
+	@Value("${rabbitmq.queue.booking-completed:booking-completed-queue}")
+	private String bookingCompletedQueue;
+
+	@Value("${rabbitmq.queue.ticket-document:ticket-document-queue}")
+	private String ticketDocumentQueue;
+
+	@Value("${rabbitmq.queue.booking-request:booking-request-queue}")
+	private String bookingRequestQueue;
+
 	@Value("${rabbitmq.routing-key.booking-created:booking.created}")
 	private String bookingCreatedRoutingKey;
 
@@ -37,6 +48,27 @@ public class RabbitMQConfig {
 	@Value("${rabbitmq.routing-key.booking-cancelled:booking.cancelled}")
 	private String bookingCancelledRoutingKey;
 
+	@Value("${rabbitmq.routing-key.booking-completed:booking.completed}")
+	private String bookingCompletedRoutingKey;
+
+	@Value("${rabbitmq.routing-key.booking-request:booking.request}")
+	private String bookingRequestRoutingKey;
+
+	@Value("${rabbitmq.routing-key.ticket-document:ticket.document}")
+	private String ticketDocumentRoutingKey;
+
+	@Value("${ticket.booking.workers.min:2}")
+	private int bookingWorkersMin;
+
+	@Value("${ticket.booking.workers.max:8}")
+	private int bookingWorkersMax;
+
+	@Value("${ticket.documents.workers.min:1}")
+	private int documentWorkersMin;
+
+	@Value("${ticket.documents.workers.max:4}")
+	private int documentWorkersMax;
+
 	// Exchange
 	@Bean
 	public DirectExchange bookingExchange() {
@@ -68,6 +100,31 @@ public class RabbitMQConfig {
 				.build();
 	}
 
+	@Bean
+	public Queue bookingCompletedQueue() {
+		return QueueBuilder.durable(bookingCompletedQueue)
+				.withArgument("x-dead-letter-exchange", bookingExchange + ".dlx")
+				.withArgument("x-dead-letter-routing-key", bookingCompletedRoutingKey + ".dlq")
+				.build();
+	}
+
+	@Bean
+	public Queue bookingRequestQueue() {
+		return QueueBuilder.durable(bookingRequestQueue)
+				.withArgument("x-dead-letter-exchange", bookingExchange + ".dlx")
+				.withArgument("x-dead-letter-routing-key", bookingRequestRoutingKey + ".dlq")
+				.build();
+	}
+
+	// Document renders: fed by booking confirmations and by explicit render requests
+	@Bean
+	public Queue ticketDocumentQueue() {
+		return QueueBuilder.durable(ticketDocumentQueue)
+				.withArgument("x-dead-letter-exchange", bookingExchange + ".dlx")
+				.withArgument("x-dead-letter-routing-key", ticketDocumentRoutingKey + ".dlq")
+				.build();
+	}
+
 	// Bindings
 	@Bean
 	public Binding bookingCreatedBinding() {
@@ -93,6 +150,66 @@ public class RabbitMQConfig {
 				.with(bookingCancelledRoutingKey);
 	}
 
+	@Bean
+	public Binding bookingCompletedBinding() {
+		return BindingBuilder
+				.bind(bookingCompletedQueue())
+				.to(bookingExchange())
+				.with(bookingCompletedRoutingKey);
+	}
+
+	@Bean
+	public Binding bookingRequestBinding() {
+		return BindingBuilder
+				.bind(bookingRequestQueue())
+				.to(bookingExchange())
+				.with(bookingRequestRoutingKey);
+	}
+
+	@Bean
+	public Binding ticketDocumentConfirmedBinding() {
+		return BindingBuilder
+				.bind(ticketDocumentQueue())
+				.to(bookingExchange())
+				.with(bookingConfirmedRoutingKey);
+	}
+
+	@Bean
+	public Binding ticketDocumentBinding() {
+		return BindingBuilder
+				.bind(ticketDocumentQueue())
+				.to(bookingExchange())
+				.with(ticketDocumentRoutingKey);
+	}
+
+	// Bounded worker pool for async booking; prefetch 1 so slow bookings don't pile up on one consumer
+	@Bean
+	public SimpleRabbitListenerContainerFactory bookingWorkerContainerFactory(
+			SimpleRabbitListenerContainerFactoryConfigurer configurer,
+			ConnectionFactory connectionFactory) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		configurer.configure(factory, connectionFactory);
+		factory.setConcurrentConsumers(bookingWorkersMin);
+		factory.setMaxConcurrentConsumers(bookingWorkersMax);
+		factory.setPrefetchCount(1);
+		factory.setMessageConverter(jsonMessageConverter());
+		return factory;
+	}
+
+	// Bounded worker pool for document rendering, kept apart from booking workers so renders never delay bookings
+	@Bean
+	public SimpleRabbitListenerContainerFactory documentRenderContainerFactory(
+			SimpleRabbitListenerContainerFactoryConfigurer configurer,
+			ConnectionFactory connectionFactory) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		configurer.configure(factory, connectionFactory);
+		factory.setConcurrentConsumers(documentWorkersMin);
+		factory.setMaxConcurrentConsumers(documentWorkersMax);
+		factory.setPrefetchCount(1);
+		factory.setMessageConverter(jsonMessageConverter());
+		return factory;
+	}
+
 	// Message Converter
 	@Bean
 	public MessageConverter jsonMessageConverter() {
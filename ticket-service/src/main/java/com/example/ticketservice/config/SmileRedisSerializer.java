@@ -0,0 +1,62 @@
+package com.example.ticketservice.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Typed binary (Smile) serializer for cache values.
+ * The target type is fixed per cache, so no class names are embedded in the payload,
+ * and Smile's back-references keep repeated field names to a byte or two.
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+
+	private static final ObjectMapper MAPPER = SmileMapper.builder()
+			.findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
+	private final JavaType type;
+
+	private SmileRedisSerializer(JavaType type) {
+		this.type = type;
+	}
+
+	public static <T> SmileRedisSerializer<T> of(Class<T> type) {
+		return new SmileRedisSerializer<>(MAPPER.getTypeFactory().constructType(type));
+	}
+
+	public static <T> SmileRedisSerializer<T> of(Class<?> rawType, Class<?>... parameterTypes) {
+		return new SmileRedisSerializer<>(MAPPER.getTypeFactory().constructParametricType(rawType, parameterTypes));
+	}
+
+	@Override
+	public byte[] serialize(T value) throws SerializationException {
+		if (value == null) {
+			return null;
+		}
+		try {
+			return MAPPER.writeValueAsBytes(value);
+		} catch (Exception e) {
+			throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public T deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		try {
+			return MAPPER.readValue(bytes, type);
+		} catch (Exception e) {
+			throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.example.ticketservice.config;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache with a per-instance Caffeine L1 in front of the shared Redis L2.
+ * Reads try L1 first and fill it from L2. Evictions and writes go to both levels and are
+ * broadcast so other instances drop their L1 copy; filling a key after a miss is not a
+ * change and is not broadcast. L1 keys are the key's string form, which is also what Redis
+ * uses, so a broadcast key matches on every instance.
+ *
+ * L1 holds values in their serialized form and every hit reads a fresh copy, so callers
+ * never share (and cannot modify) a cached DTO.
+ */
+public class TwoLevelCache implements Cache {
+
+	private final String name;
+	private final com.github.benmanes.caffeine.cache.Cache<String, byte[]> local;
+	private final Cache remote;
+	private final SerializationPair<Object> localSerializer;
+	private final TwoLevelCacheManager.InvalidationPublisher invalidationPublisher;
+	private final Counter remoteHits;
+	private final Counter remoteMisses;
+
+	// Key this thread last missed on; a put of that key right after is a fill, not a change
+	private final ThreadLocal<String> missedKey = new ThreadLocal<>();
+
+	TwoLevelCache(String name,
+			com.github.benmanes.caffeine.cache.Cache<String, byte[]> local,
+			Cache remote,
+			SerializationPair<Object> localSerializer,
+			TwoLevelCacheManager.InvalidationPublisher invalidationPublisher,
+			MeterRegistry meterRegistry) {
+		this.name = name;
+		this.local = local;
+		this.remote = remote;
+		this.localSerializer = localSerializer;
+		this.invalidationPublisher = invalidationPublisher;
+		this.remoteHits = Counter.builder("ticket.cache.l2.requests")
+				.description("Redis (L2) lookups after an L1 miss")
+				.tag("cache", name)
+				.tag("result", "hit")
+				.register(meterRegistry);
+		this.remoteMisses = Counter.builder("ticket.cache.l2.requests")
+				.description("Redis (L2) lookups after an L1 miss")
+				.tag("cache", name)
+				.tag("result", "miss")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return local;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		String localKey = key.toString();
+		missedKey.remove();
+		byte[] bytes = local.getIfPresent(localKey);
+		if (bytes != null) {
+			return new SimpleValueWrapper(localSerializer.read(ByteBuffer.wrap(bytes)));
+		}
+
+		ValueWrapper wrapper = remote.get(key);
+		if (wrapper != null && wrapper.get() != null) {
+			remoteHits.increment();
+			// The wrapper holds a freshly deserialized value, so it can go to the caller as is
+			putLocal(localKey, wrapper.get());
+			return wrapper;
+		}
+		remoteMisses.increment();
+		missedKey.set(localKey);
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper == null) {
+			return null;
+		}
+		Object value = wrapper.get();
+		if (type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		try {
+			T value = valueLoader.call();
+			fill(key, value);
+			return value;
+		} catch (Exception e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		String localKey = key.toString();
+		boolean fillAfterMiss = localKey.equals(missedKey.get());
+		missedKey.remove();
+		if (value == null) {
+			// Null values are not cached (matches the Redis configuration)
+			if (!fillAfterMiss) {
+				evict(key);
+			}
+			return;
+		}
+		remote.put(key, value);
+		putLocal(localKey, value);
+		if (!fillAfterMiss) {
+			invalidationPublisher.publish(name, localKey);
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		remote.evict(key);
+		local.invalidate(key.toString());
+		invalidationPublisher.publish(name, key.toString());
+	}
+
+	@Override
+	public void clear() {
+		remote.clear();
+		local.invalidateAll();
+		invalidationPublisher.publish(name, null);
+	}
+
+	/**
+	 * Store a value loaded after a miss; nothing changed, so other instances are not told
+	 */
+	private void fill(Object key, Object value) {
+		if (value == null) {
+			return;
+		}
+		remote.put(key, value);
+		putLocal(key.toString(), value);
+	}
+
+	private void putLocal(String localKey, Object value) {
+		ByteBuffer buffer = localSerializer.write(value);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		local.put(localKey, bytes);
+	}
+
+	/**
+	 * Drop an entry (or everything, for a null key) from L1 only; used for remote invalidations
+	 */
+	void invalidateLocal(String key) {
+		if (key == null) {
+			local.invalidateAll();
+		} else {
+			local.invalidate(key);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.ticketservice.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * CacheManager combining a bounded Caffeine L1 per instance with a Redis L2 (any CacheManager).
+ * Also listens on the invalidation channel and drops L1 entries changed by other instances.
+ * L1 TTLs are kept short so a lost pub/sub message only means briefly stale local data.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+	public static final String INVALIDATION_CHANNEL = "ticket:cache-invalidation";
+
+	// Separates node id, cache name and key in invalidation messages; '*' as key means clear
+	private static final String SEPARATOR = "|";
+	private static final String CLEAR_ALL = "*";
+
+	private final CacheManager remoteCacheManager;
+	private final StringRedisTemplate redisTemplate;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, LocalSpec> localSpecs;
+	private final LocalSpec defaultLocalSpec;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final InvalidationPublisher invalidationPublisher = this::publish;
+
+	private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+	public TwoLevelCacheManager(CacheManager remoteCacheManager,
+			StringRedisTemplate redisTemplate,
+			MeterRegistry meterRegistry,
+			Map<String, LocalSpec> localSpecs,
+			LocalSpec defaultLocalSpec) {
+		this.remoteCacheManager = remoteCacheManager;
+		this.redisTemplate = redisTemplate;
+		this.meterRegistry = meterRegistry;
+		this.localSpecs = Map.copyOf(localSpecs);
+		this.defaultLocalSpec = defaultLocalSpec;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		return caches.computeIfAbsent(name, this::createCache);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Evict many keys of one cache at once: a single multi-key DEL on Redis and one
+	 * clear broadcast, instead of a DEL and a broadcast per key. Other instances drop their
+	 * whole L1 for the cache, which refills from L2 within its short TTL anyway.
+	 */
+	public void evictAll(String cacheName, Collection<?> keys) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		TwoLevelCache cache = (TwoLevelCache) getCache(cacheName);
+		Cache remote = remoteCacheManager.getCache(cacheName);
+		try {
+			if (remote instanceof RedisCache redisCache) {
+				String prefix = redisCache.getCacheConfiguration().getKeyPrefixFor(cacheName);
+				redisTemplate.delete(keys.stream().map(key -> prefix + key).toList());
+			} else if (remote != null) {
+				keys.forEach(remote::evict);
+			}
+		} catch (Exception e) {
+			// Entries expire with the cache TTL
+			logger.warn("Failed to evict {} keys from {}: {}", keys.size(), cacheName, e.getMessage());
+		}
+		keys.forEach(key -> cache.invalidateLocal(key.toString()));
+		publish(cacheName, null);
+	}
+
+	// ============ Invalidation ============
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		String[] parts = body.split("\\" + SEPARATOR, 3);
+		if (parts.length != 3 || nodeId.equals(parts[0])) {
+			return;
+		}
+		TwoLevelCache cache = caches.get(parts[1]);
+		if (cache != null) {
+			cache.invalidateLocal(CLEAR_ALL.equals(parts[2]) ? null : parts[2]);
+		}
+	}
+
+	private void publish(String cacheName, String key) {
+		try {
+			redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+					nodeId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : CLEAR_ALL));
+		} catch (Exception e) {
+			// Other instances fall back to their short L1 TTL
+			logger.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+		}
+	}
+
+	// ============ Helper Methods ============
+
+	private TwoLevelCache createCache(String name) {
+		Cache remote = remoteCacheManager.getCache(name);
+		if (remote == null) {
+			throw new IllegalStateException("No remote cache named " + name);
+		}
+		LocalSpec spec = localSpecs.getOrDefault(name, defaultLocalSpec);
+		com.github.benmanes.caffeine.cache.Cache<String, byte[]> local = Caffeine.newBuilder()
+				.maximumSize(spec.maximumSize())
+				.expireAfterWrite(spec.timeToLive())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".l1");
+		return new TwoLevelCache(name, local, remote, localSerializer(remote), invalidationPublisher, meterRegistry);
+	}
+
+	/**
+	 * L1 copies are written with the same serializer as the Redis entry, so they read back as the same type
+	 */
+	private static SerializationPair<Object> localSerializer(Cache remote) {
+		if (remote instanceof RedisCache redisCache) {
+			return redisCache.getCacheConfiguration().getValueSerializationPair();
+		}
+		return SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer());
+	}
+
+	/**
+	 * Size and TTL limits of an L1 cache
+	 */
+	public record LocalSpec(long maximumSize, Duration timeToLive) {
+	}
+
+	@FunctionalInterface
+	interface InvalidationPublisher {
+		void publish(String cacheName, String key);
+	}
+}
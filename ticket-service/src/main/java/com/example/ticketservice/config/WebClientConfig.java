@@ -0,0 +1,53 @@
+package com.example.ticketservice.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class WebClientConfig {
+
+	/**
+	 * Pooled keep-alive connections to downstream services.
+	 * Idle connections are evicted in the background before the servers' keep-alive timeout closes them.
+	 */
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider downstreamConnectionProvider(
+			@Value("${ticket.http.max-connections:200}") int maxConnections,
+			@Value("${ticket.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+			@Value("${ticket.http.max-idle-time-ms:30000}") long maxIdleTimeMs) {
+		return ConnectionProvider.builder("downstream")
+				.maxConnections(maxConnections)
+				.pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+				.maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+				.evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+				.metrics(true)
+				.build();
+	}
+
+	/**
+	 * Non-blocking client for calls to inventory and payment service instances.
+	 * Not load-balanced: callers pick the instance so a hedged request can go to a different one.
+	 */
+	@Bean
+	public WebClient downstreamWebClient(ConnectionProvider downstreamConnectionProvider,
+			@Value("${ticket.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+			@Value("${ticket.http.response-timeout-ms:5000}") long responseTimeoutMs) {
+		HttpClient httpClient = HttpClient.create(downstreamConnectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+				.option(ChannelOption.SO_KEEPALIVE, true)
+				.responseTimeout(Duration.ofMillis(responseTimeoutMs))
+				.keepAlive(true);
+		return WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.build();
+	}
+}
@@ -1,13 +1,28 @@
 package com.example.ticketservice.controller;
 
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,15 +34,37 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
 import com.example.ticketservice.dto.ApiResponse;
 import com.example.ticketservice.dto.BookTicketRequest;
+import com.example.ticketservice.dto.BookingStatusResponse;
 import com.example.ticketservice.dto.CancelTicketRequest;
-import com.example.ticketservice.dto.PageResponse;
+import com.example.ticketservice.dto.ETicketResponse;
 import com.example.ticketservice.dto.TicketResponse;
 import com.example.ticketservice.dto.TicketSearchRequest;
+import com.example.ticketservice.dto.TicketStatsResponse;
+import com.example.ticketservice.dto.TicketValidationResult;
+import com.example.ticketservice.dto.ValidateTicketsRequest;
 import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.eticket.RevocationFilter;
+import com.example.ticketservice.exception.UnauthorizedAccessException;
+import com.example.ticketservice.service.ETicketService;
+import com.example.ticketservice.service.BookingRequestService;
+import com.example.ticketservice.service.TicketExportService;
+import com.example.ticketservice.service.TicketExportService.ExportFormat;
+import com.example.ticketservice.service.TicketManifestService;
+import com.example.ticketservice.service.TicketCompletionProcessor;
+import com.example.ticketservice.service.TicketDocumentService;
+import com.example.ticketservice.service.TicketDocumentService.StoredDocument;
 import com.example.ticketservice.service.TicketService;
+import com.example.ticketservice.service.TicketStatistics;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -41,22 +78,58 @@ public class TicketController {
 	private static final int DEFAULT_PAGE_SIZE = 10;
 	private static final int MAX_PAGE_SIZE = 100;
 
+	private static final String ASYNC_MODE = "async";
+	private static final String RESPOND_ASYNC = "respond-async";
+
 	private final TicketService ticketService;
+	private final BookingRequestService bookingRequestService;
+	private final TicketManifestService ticketManifestService;
+	private final TicketExportService ticketExportService;
+	private final TicketStatistics ticketStatistics;
+	private final TicketCompletionProcessor ticketCompletionProcessor;
+	private final ETicketService eTicketService;
+	private final TicketDocumentService ticketDocumentService;
+
+	// sync: book inline and return 201; async: queue the booking and return 202
+	@Value("${ticket.booking.mode:sync}")
+	private String bookingMode;
 
 	/**
-	 * Book a new ticket
+	 * Book a new ticket (queued with 202 Accepted in async mode or with "Prefer: respond-async")
 	 * POST /tickets/book
 	 */
 	@PostMapping("/book")
-	public ResponseEntity<ApiResponse<TicketResponse>> bookTicket(
+	public ResponseEntity<ApiResponse<?>> bookTicket(
 			@RequestHeader("X-User-Id") Long userId,
+			@RequestHeader(value = "Prefer", required = false) String prefer,
 			@Valid @RequestBody BookTicketRequest request) {
+		if (ASYNC_MODE.equalsIgnoreCase(bookingMode) || (prefer != null && prefer.contains(RESPOND_ASYNC))) {
+			logger.info("Queueing booking for user: {}", userId);
+			BookingStatusResponse booking = bookingRequestService.submit(userId, request);
+			return ResponseEntity.status(HttpStatus.ACCEPTED)
+					.location(URI.create(booking.getStatusUrl()))
+					.body(ApiResponse.accepted(booking));
+		}
+
 		logger.info("Booking ticket for user: {}", userId);
 		TicketResponse ticket = ticketService.bookTicket(userId, request);
 		return ResponseEntity.status(HttpStatus.CREATED)
 				.body(ApiResponse.created(ticket));
 	}
 
+	/**
+	 * Get the status of an async booking request
+	 * GET /tickets/bookings/{bookingId}
+	 */
+	@GetMapping("/bookings/{bookingId}")
+	public ResponseEntity<ApiResponse<BookingStatusResponse>> getBookingStatus(
+			@PathVariable Long bookingId,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.debug("Getting booking request: {} for user: {}", bookingId, userId);
+		BookingStatusResponse booking = bookingRequestService.getStatus(bookingId, userId);
+		return ResponseEntity.ok(ApiResponse.success(booking));
+	}
+
 	/**
 	 * Get ticket by ID
 	 * GET /tickets/{id}
@@ -75,26 +148,148 @@ public class TicketController {
 		return ResponseEntity.ok(ApiResponse.success(ticket));
 	}
 
+	/**
+	 * Get the signed e-ticket of a confirmed ticket
+	 * GET /tickets/{id}/eticket
+	 */
+	@GetMapping("/{id}/eticket")
+	public ResponseEntity<ApiResponse<ETicketResponse>> getETicket(
+			@PathVariable Long id,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.debug("Issuing e-ticket for ticket: {} and user: {}", id, userId);
+		return ResponseEntity.ok(ApiResponse.success(eTicketService.issue(id, userId)));
+	}
+
+	/**
+	 * Get the signed e-ticket of a confirmed ticket as a QR code
+	 * GET /tickets/{id}/eticket/qr
+	 */
+	@GetMapping(value = "/{id}/eticket/qr", produces = MediaType.IMAGE_PNG_VALUE)
+	public ResponseEntity<byte[]> getETicketQrCode(
+			@PathVariable Long id,
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.debug("Rendering e-ticket QR code for ticket: {} and user: {}", id, userId);
+		return ResponseEntity.ok()
+				.contentType(MediaType.IMAGE_PNG)
+				.cacheControl(CacheControl.noStore())
+				.body(eTicketService.qrCode(id, userId));
+	}
+
+	/**
+	 * Download the printable document of a confirmed ticket; 202 with Retry-After while it is
+	 * still being rendered. The ETag is the content hash, so re-downloads revalidate with a 304.
+	 * GET /tickets/{id}/document
+	 */
+	@GetMapping("/{id}/document")
+	public ResponseEntity<StreamingResponseBody> getTicketDocument(
+			@PathVariable Long id,
+			@RequestHeader("X-User-Id") Long userId,
+			WebRequest webRequest) {
+		Optional<StoredDocument> found = ticketDocumentService.find(id, userId);
+		if (found.isEmpty()) {
+			logger.debug("Document for ticket: {} not rendered yet", id);
+			return ResponseEntity.status(HttpStatus.ACCEPTED)
+					.header(HttpHeaders.RETRY_AFTER, "2")
+					.cacheControl(CacheControl.noStore())
+					.build();
+		}
+		StoredDocument document = found.get();
+		// Handles weak and listed If-None-Match values and "*"; sets the ETag header either way
+		if (webRequest.checkNotModified(document.etag())) {
+			return null;
+		}
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(document.contentType()))
+				.contentLength(document.size())
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.body(out -> {
+					// Straight from the file channel; the blob is immutable, so no locking is needed
+					try (FileChannel channel = FileChannel.open(document.path(), StandardOpenOption.READ)) {
+						WritableByteChannel target = Channels.newChannel(out);
+						long size = channel.size();
+						long position = 0;
+						while (position < size) {
+							position += channel.transferTo(position, size - position, target);
+						}
+					}
+				});
+	}
+
+	/**
+	 * Validate scanned e-tickets at a gate; signatures and revocations only, no database access
+	 * POST /tickets/validate/batch
+	 */
+	@PostMapping("/validate/batch")
+	public ResponseEntity<ApiResponse<List<TicketValidationResult>>> validateTickets(
+			@Valid @RequestBody ValidateTicketsRequest request) {
+		logger.debug("Validating {} e-tickets", request.getTokens().size());
+		return ResponseEntity.ok(ApiResponse.success(eTicketService.validate(request)));
+	}
+
+	/**
+	 * Get the public keys that verify e-tickets, by key id (for offline validators)
+	 * GET /tickets/eticket/keys
+	 */
+	@GetMapping("/eticket/keys")
+	public ResponseEntity<ApiResponse<Map<Integer, String>>> getETicketKeys() {
+		return ResponseEntity.ok(ApiResponse.success(eTicketService.publicKeys()));
+	}
+
+	/**
+	 * Download the e-ticket revocation filter (binary); ETag is its build time, so polling is cheap
+	 * GET /tickets/eticket/revocations
+	 */
+	@GetMapping("/eticket/revocations")
+	public ResponseEntity<byte[]> getETicketRevocations(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		RevocationFilter filter = eTicketService.revocations();
+		if (filter == null) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		String etag = "\"" + filter.generatedAt() + "\"";
+		if (etag.equals(ifNoneMatch)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.eTag(etag)
+				.body(filter.toBytes());
+	}
+
 	/**
 	 * Get all tickets for current user with pagination
-	 * GET /tickets/user/{userId}?page=0&size=10
+	 * GET /tickets/user/{userId}?cursor=...&size=10&includePayments=false
+	 * Keyset pages (newest first, no totals) by default; page=N or a custom sort gives offset pages with totals
 	 */
 	@GetMapping("/user/{userId}")
 	public ResponseEntity<ApiResponse<PageResponse<TicketResponse>>> getUserTickets(
 			@PathVariable Long userId,
-			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) String cursor,
 			@RequestParam(defaultValue = "10") int size,
 			@RequestParam(defaultValue = "createdAt") String sortBy,
-			@RequestParam(defaultValue = "desc") String sortDir) {
+			@RequestParam(defaultValue = "desc") String sortDir,
+			@RequestParam(defaultValue = "false") boolean includePayments) {
 		logger.debug("Getting tickets for user: {} - page: {}, size: {}", userId, page, size);
 		
-		size = Math.min(size, MAX_PAGE_SIZE);
+		size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+		boolean keyset = page == null && sortBy.equals("createdAt") && sortDir.equalsIgnoreCase("desc");
+		if (keyset) {
+			PageCursor pageCursor = PageCursor.decode(cursor);
+			PageResponse<TicketResponse> tickets = includePayments
+					? ticketService.getUserTicketsWithPayments(userId, pageCursor, size)
+					: ticketService.getUserTickets(userId, pageCursor, size);
+			return ResponseEntity.ok(ApiResponse.success(tickets));
+		}
+
 		Sort sort = sortDir.equalsIgnoreCase("asc") 
 				? Sort.by(sortBy).ascending() 
 				: Sort.by(sortBy).descending();
-		Pageable pageable = PageRequest.of(page, size, sort);
+		Pageable pageable = PageRequest.of(page != null ? page : 0, size, sort);
 		
-		PageResponse<TicketResponse> tickets = ticketService.getUserTickets(userId, pageable);
+		PageResponse<TicketResponse> tickets = includePayments
+				? ticketService.getUserTicketsWithPayments(userId, pageable)
+				: ticketService.getUserTickets(userId, pageable);
 		return ResponseEntity.ok(ApiResponse.success(tickets));
 	}
 
@@ -123,6 +318,84 @@ public class TicketController {
 		return ResponseEntity.ok(ApiResponse.success(tickets));
 	}
 
+	/**
+	 * Get the current user's ticket counts per status
+	 * GET /tickets/my/stats
+	 */
+	@GetMapping("/my/stats")
+	public ResponseEntity<ApiResponse<TicketStatsResponse>> getMyTicketStats(
+			@RequestHeader("X-User-Id") Long userId) {
+		logger.debug("Getting ticket statistics for user: {}", userId);
+		return ResponseEntity.ok(ApiResponse.success(ticketStatistics.forUser(userId)));
+	}
+
+	/**
+	 * Get ticket counts per status, overall or for one train-day (admins)
+	 * GET /tickets/stats?trainId=1&date=2025-01-01
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<ApiResponse<TicketStatsResponse>> getTicketStats(
+			@RequestHeader(value = "X-User-Roles", required = false) String roles,
+			@RequestParam(required = false) Long trainId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		requireAdmin(roles, "read ticket statistics");
+		if ((trainId == null) != (date == null)) {
+			return ResponseEntity.badRequest()
+					.body(ApiResponse.error("trainId and date must be given together", HttpStatus.BAD_REQUEST.value()));
+		}
+		TicketStatsResponse stats = trainId != null
+				? ticketStatistics.forTrainDay(trainId, date)
+				: ticketStatistics.global();
+		return ResponseEntity.ok(ApiResponse.success(stats));
+	}
+
+	/**
+	 * Complete all confirmed tickets of a train-day right away, without waiting for the arrival poll (admins)
+	 * POST /tickets/complete?trainId=1&date=2025-01-01
+	 */
+	@PostMapping("/complete")
+	public ResponseEntity<ApiResponse<Integer>> completeTrainDay(
+			@RequestHeader(value = "X-User-Roles", required = false) String roles,
+			@RequestParam Long trainId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		requireAdmin(roles, "complete tickets in bulk");
+		logger.info("Completing tickets of train {} on {}", trainId, date);
+		int completed = ticketCompletionProcessor.completeTrainDay(trainId, date);
+		return ResponseEntity.ok(ApiResponse.success("Tickets completed", completed));
+	}
+
+	/**
+	 * Stream all of the current user's tickets, optionally of one status
+	 * GET /tickets/my/export?format=ndjson|csv&status=CONFIRMED
+	 */
+	@GetMapping("/my/export")
+	public ResponseEntity<StreamingResponseBody> exportMyTickets(
+			@RequestHeader("X-User-Id") Long userId,
+			@RequestParam(required = false) TicketStatus status,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		logger.debug("Exporting tickets for user: {} as {}", userId, format);
+		ExportFormat exportFormat = ExportFormat.of(format);
+		return streaming(exportFormat, "tickets",
+				out -> ticketExportService.exportUserTickets(userId, status, exportFormat, out));
+	}
+
+	/**
+	 * Stream all tickets departing in a date range (admins)
+	 * GET /tickets/export?from=2025-01-01&to=2025-01-31&format=ndjson|csv
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportTickets(
+			@RequestHeader(value = "X-User-Roles", required = false) String roles,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		requireAdmin(roles, "export all tickets");
+		logger.info("Exporting tickets departing {} to {} as {}", from, to, format);
+		ExportFormat exportFormat = ExportFormat.of(format);
+		return streaming(exportFormat, "tickets-" + from + "-" + to,
+				out -> ticketExportService.exportByDepartureDate(from, to, exportFormat, out));
+	}
+
 	/**
 	 * Search tickets with filters
 	 * POST /tickets/search
@@ -199,6 +472,23 @@ public class TicketController {
 		return ResponseEntity.ok(ApiResponse.success("Ticket completed successfully", ticket));
 	}
 
+	/**
+	 * Stream the boarding manifest (confirmed and completed tickets) of a train on a day as a JSON array (admins)
+	 * GET /tickets/manifest?trainId=1&date=2025-01-31
+	 */
+	@GetMapping("/manifest")
+	public ResponseEntity<StreamingResponseBody> getManifest(
+			@RequestHeader(value = "X-User-Roles", required = false) String roles,
+			@RequestParam Long trainId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		requireAdmin(roles, "read a passenger manifest");
+		logger.info("Streaming manifest for train: {} on {}", trainId, date);
+		StreamingResponseBody body = out -> ticketManifestService.writeManifest(trainId, date, out);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(body);
+	}
+
 	/**
 	 * Health check endpoint
 	 * GET /tickets/health
@@ -207,4 +497,29 @@ public class TicketController {
 	public ResponseEntity<ApiResponse<String>> health() {
 		return ResponseEntity.ok(ApiResponse.success("Ticket Service is healthy"));
 	}
+
+	/**
+	 * Reject callers without the ADMIN role; the gateway already restricts these paths,
+	 * checked here too for calls that bypass it
+	 */
+	private static void requireAdmin(String roles, String action) {
+		if (roles == null || !Arrays.asList(roles.split(",")).contains("ADMIN")) {
+			throw new UnauthorizedAccessException("Admin role required to " + action);
+		}
+	}
+
+	/**
+	 * Export response holding an export slot until the request completes (503 if none is free)
+	 */
+	private ResponseEntity<StreamingResponseBody> streaming(ExportFormat format, String fileName,
+			StreamingResponseBody body) {
+		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+		StreamingResponseBody slotted = ticketExportService.withExportSlot(body,
+				WebAsyncUtils.getAsyncManager(attributes.getRequest()));
+		return ResponseEntity.ok()
+				.contentType(format.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "."
+						+ format.name().toLowerCase(Locale.ROOT) + "\"")
+				.body(slotted);
+	}
 }
@@ -52,6 +52,16 @@ public class ApiResponse<T> {
 				.build();
 	}
 	
+	public static <T> ApiResponse<T> accepted(T data) {
+		return ApiResponse.<T>builder()
+				.success(true)
+				.message("Accepted for processing")
+				.statusCode(202)
+				.data(data)
+				.timestamp(LocalDateTime.now())
+				.build();
+	}
+	
 	public static <T> ApiResponse<T> error(String message, int statusCode) {
 		return ApiResponse.<T>builder()
 				.success(false)
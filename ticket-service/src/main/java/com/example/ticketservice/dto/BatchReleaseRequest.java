@@ -0,0 +1,22 @@
+package com.example.ticketservice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservations on one schedule to release by id, sent as one POST /inventory/release/batch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReleaseRequest {
+	
+	private Long trainId;
+	private String departureDate;
+	private List<String> reservationIds;
+}
@@ -0,0 +1,41 @@
+package com.example.ticketservice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Several reservations on one schedule, sent as one POST /inventory/reserve/batch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReserveRequest {
+	
+	private Long trainId;
+	private String departureDate;
+	private List<Item> items;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Item {
+		
+		private Integer numberOfSeats;
+		private List<String> seatNumbers; // Optional: specific seats to reserve
+		private String reservationId;
+
+		public static Item from(ReserveSeatRequest request) {
+			return Item.builder()
+					.numberOfSeats(request.getNumberOfSeats())
+					.seatNumbers(request.getSeatNumbers())
+					.reservationId(request.getReservationId())
+					.build();
+		}
+	}
+}
@@ -1,8 +1,14 @@
 package com.example.ticketservice.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -31,6 +37,7 @@ public class BookTicketRequest {
 			message = "Departure date must be in format yyyy-MM-dd HH:mm")
 	private String departureDate;
 
+	// Price the client expects to pay; the ticket is priced from inventory's quote
 	@NotNull(message = "Total price is required")
 	@Positive(message = "Total price must be positive")
 	private BigDecimal totalPrice;
@@ -40,6 +47,26 @@ public class BookTicketRequest {
 	
 	// Optional: passenger information
 	private List<PassengerInfo> passengers;
+
+	/**
+	 * The pattern only checks the shape; a day like 2025-02-30 must fail here rather than
+	 * when the ticket derives its departure day
+	 */
+	@JsonIgnore
+	@AssertTrue(message = "Departure date is not a valid date and time")
+	public boolean isDepartureDateValid() {
+		if (departureDate == null || departureDate.length() != 16) {
+			// Left to @NotBlank and @Pattern
+			return true;
+		}
+		try {
+			LocalDate.parse(departureDate.substring(0, 10));
+			LocalTime.parse(departureDate.substring(11));
+			return true;
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
 	
 	@Data
 	@Builder
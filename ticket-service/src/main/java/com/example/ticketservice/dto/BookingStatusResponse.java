@@ -0,0 +1,39 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.ticketservice.entity.BookingRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingStatusResponse {
+
+	private Long bookingId;
+	private String status;
+	private Long ticketId;
+	private String failureReason;
+	private String statusUrl;
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+
+	public static BookingStatusResponse from(BookingRequest request) {
+		return BookingStatusResponse.builder()
+				.bookingId(request.getId())
+				.status(request.getStatus().name())
+				.ticketId(request.getTicketId())
+				.failureReason(request.getFailureReason())
+				.statusUrl("/tickets/bookings/" + request.getId())
+				.createdAt(request.getCreatedAt())
+				.updatedAt(request.getUpdatedAt())
+				.build();
+	}
+}
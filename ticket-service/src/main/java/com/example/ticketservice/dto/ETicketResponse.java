@@ -0,0 +1,23 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ETicketResponse {
+
+	private Long ticketId;
+	private Long trainId;
+	private LocalDate departureDate;
+	private Integer numberOfSeats;
+	private Integer keyId;
+	// Signed token; this string is what the QR code encodes
+	private String token;
+}
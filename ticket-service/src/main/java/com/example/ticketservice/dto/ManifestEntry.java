@@ -0,0 +1,34 @@
+package com.example.ticketservice.dto;
+
+import com.example.ticketservice.entity.Ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a train's boarding manifest
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ManifestEntry {
+
+	private Long ticketId;
+	private Long userId;
+	private Integer numberOfSeats;
+	private String status;
+	private String departure;
+
+	public static ManifestEntry from(Ticket ticket) {
+		return ManifestEntry.builder()
+				.ticketId(ticket.getId())
+				.userId(ticket.getUserId())
+				.numberOfSeats(ticket.getNumberOfSeats())
+				.status(ticket.getStatus().name())
+				.departure(ticket.getScheduledDeparture())
+				.build();
+	}
+}
@@ -1,38 +0,0 @@
-package com.example.ticketservice.dto;
-
-import java.util.List;
-
-import org.springframework.data.domain.Page;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class PageResponse<T> {
-	
-	private List<T> content;
-	private int pageNumber;
-	private int pageSize;
-	private long totalElements;
-	private int totalPages;
-	private boolean first;
-	private boolean last;
-	
-	public static <T> PageResponse<T> from(Page<T> page) {
-		return PageResponse.<T>builder()
-				.content(page.getContent())
-				.pageNumber(page.getNumber())
-				.pageSize(page.getSize())
-				.totalElements(page.getTotalElements())
-				.totalPages(page.getTotalPages())
-				.first(page.isFirst())
-				.last(page.isLast())
-				.build();
-	}
-}
-
@@ -0,0 +1,45 @@
+package com.example.ticketservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a reservation from inventory; when reserved it is also the authoritative quote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResult {
+	
+	private boolean reserved;
+	private String message;
+
+	// Set when rejected for lack of seats
+	private Integer availableSeats;
+
+	// Quote, set when reserved
+	private String seatClass;
+	private Integer numberOfSeats;
+	private List<String> seatNumbers;
+	private BigDecimal unitPrice;
+	private BigDecimal totalPrice;
+	private PriceInfo prices;
+	private LocalDateTime holdExpiresAt;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class PriceInfo {
+		private BigDecimal economy;
+		private BigDecimal business;
+		private BigDecimal firstClass;
+	}
+}
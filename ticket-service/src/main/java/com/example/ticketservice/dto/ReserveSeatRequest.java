@@ -17,5 +17,6 @@ public class ReserveSeatRequest {
 	private Integer numberOfSeats;
 	private String departureDate;
 	private List<String> seatNumbers; // Optional: specific seats to reserve
+	private String reservationId; // The saga's id; makes reserve and release idempotent in inventory
 }
 
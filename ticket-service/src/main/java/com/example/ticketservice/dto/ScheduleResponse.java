@@ -0,0 +1,32 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Schedule as returned by inventory-service; only the fields ticket-service uses are mapped
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResponse {
+
+	private Long id;
+	private TrainInfo train;
+	private LocalDate departureDate;
+	private String status;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class TrainInfo {
+		private Long id;
+		private String trainNumber;
+	}
+}
@@ -34,12 +34,14 @@ public class TicketResponse {
 	private TrainInfo trainInfo;
 	private PaymentInfo paymentInfo;
 	private List<String> seatNumbers;
+	// Until when the seats are held for payment; only set on the booking response
+	private LocalDateTime holdExpiresAt;
 
 	public TicketResponse(Ticket ticket) {
 		this.id = ticket.getId();
 		this.userId = ticket.getUserId();
 		this.trainId = ticket.getTrainId();
-		this.departureDate = ticket.getDepartureDate();
+		this.departureDate = ticket.getScheduledDeparture();
 		this.numberOfSeats = ticket.getNumberOfSeats();
 		this.totalPrice = ticket.getTotalPrice();
 		this.status = ticket.getStatus().name();
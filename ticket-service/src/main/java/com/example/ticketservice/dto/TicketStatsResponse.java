@@ -0,0 +1,25 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket counts per status for one scope (all tickets, a train-day or a user)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatsResponse {
+	
+	private String scope;
+	private String key;
+	private Map<String, Long> byStatus;
+	private long total;
+	private LocalDateTime asOf;
+}
@@ -0,0 +1,28 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketValidationResult {
+
+	// Position of the token in the request
+	private int index;
+	private boolean valid;
+	// VALID, MALFORMED, UNKNOWN_KEY, BAD_SIGNATURE, EXPIRED, REVOKED, WRONG_TRAIN or WRONG_DAY
+	private String outcome;
+	private Long ticketId;
+	private Long trainId;
+	private LocalDate departureDate;
+	private Integer numberOfSeats;
+}
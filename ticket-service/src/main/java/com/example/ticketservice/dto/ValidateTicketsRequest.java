@@ -0,0 +1,24 @@
+package com.example.ticketservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidateTicketsRequest {
+
+	@NotEmpty(message = "At least one token is required")
+	private List<String> tokens;
+
+	// Optional: the gate's train and travel day; tickets for another train or day are rejected
+	private Long trainId;
+	private LocalDate date;
+}
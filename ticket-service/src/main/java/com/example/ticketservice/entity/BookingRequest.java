@@ -0,0 +1,111 @@
+package com.example.ticketservice.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Booking intent accepted by the async booking endpoint and processed by a queue worker.
+ */
+@Entity
+@Table(name = "booking_requests", indexes = {
+		@Index(name = "idx_booking_request_user_id", columnList = "userId"),
+		@Index(name = "idx_booking_request_status_updated", columnList = "status, updatedAt"),
+		@Index(name = "idx_booking_request_status_queued", columnList = "status, lastQueuedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRequest {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long userId;
+
+	@Column(nullable = false)
+	private Long trainId;
+
+	@Column(nullable = false)
+	private String departureDate;
+
+	@Column(nullable = false)
+	private Integer numberOfSeats;
+
+	@Column(nullable = false, precision = 12, scale = 2)
+	private BigDecimal totalPrice;
+
+	// Requested seat numbers, comma separated (optional)
+	@Column(length = 500)
+	private String seatNumbers;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private BookingRequestStatus status = BookingRequestStatus.QUEUED;
+
+	private Long ticketId;
+
+	@Column(length = 500)
+	private String failureReason;
+
+	// Claims plus re-publishes by the stale request sweep
+	@Column(nullable = false)
+	@Builder.Default
+	private Integer attempts = 0;
+
+	// Last time the request was published to the queue
+	private LocalDateTime lastQueuedAt;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime updatedAt;
+
+	@Version
+	private Long version;
+
+	@PrePersist
+	protected void onCreate() {
+		LocalDateTime now = LocalDateTime.now();
+		createdAt = now;
+		updatedAt = now;
+		lastQueuedAt = now;
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	public enum BookingRequestStatus {
+		QUEUED,
+		PROCESSING,
+		SUCCEEDED,
+		FAILED
+	}
+
+	public boolean isFinished() {
+		return status == BookingRequestStatus.SUCCEEDED || status == BookingRequestStatus.FAILED;
+	}
+}
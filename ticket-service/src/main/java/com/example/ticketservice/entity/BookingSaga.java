@@ -0,0 +1,116 @@
+package com.example.ticketservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable state of one booking saga (reserve seats -> create ticket -> await payment -> confirm).
+ * The compensation flags record what is still owed to other services, so a crashed or
+ * failed compensation is resumed by the recovery worker instead of being lost.
+ */
+@Entity
+@Table(name = "booking_sagas", indexes = {
+		@Index(name = "idx_booking_saga_ticket_id", columnList = "ticketId"),
+		@Index(name = "idx_booking_saga_status_next_attempt", columnList = "status, nextAttemptAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSaga {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long userId;
+
+	@Column(nullable = false)
+	private Long trainId;
+
+	@Column(nullable = false)
+	private String departureDate;
+
+	@Column(nullable = false)
+	private Integer numberOfSeats;
+
+	private Long ticketId;
+
+	// Sent with the seat reservation; releases go by this id, so they are safe to repeat
+	// and also cover a reservation whose outcome we never learned (null for older sagas)
+	@Column(length = 64)
+	private String reservationId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private SagaStatus status = SagaStatus.STARTED;
+
+	// Inventory currently holds seats for this saga
+	@Column(nullable = false)
+	@Builder.Default
+	private boolean seatsHeld = false;
+
+	// A refund still has to be issued for this saga's payment
+	@Column(nullable = false)
+	@Builder.Default
+	private boolean refundPending = false;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Integer attempts = 0;
+
+	// When the recovery worker should next look at this saga (null = nothing to do)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(length = 500)
+	private String lastError;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime updatedAt;
+
+	@Version
+	private Long version;
+
+	@PrePersist
+	protected void onCreate() {
+		LocalDateTime now = LocalDateTime.now();
+		createdAt = now;
+		updatedAt = now;
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	public enum SagaStatus {
+		STARTED,            // Seat reservation in progress
+		SEATS_RESERVED,     // Seats held, ticket not yet created
+		AWAITING_PAYMENT,   // Ticket PENDING until confirmed or cancelled
+		COMPLETED,          // Ticket confirmed
+		COMPENSATING,       // Releasing seats and/or refunding
+		COMPENSATED,        // All compensations done
+		FAILED              // Gave up; needs manual attention
+	}
+}
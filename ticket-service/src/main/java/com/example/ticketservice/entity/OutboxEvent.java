@@ -0,0 +1,84 @@
+package com.example.ticketservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket event waiting to be published to RabbitMQ.
+ * Written in the same transaction as the ticket change; the outbox relay publishes it and sets sentAt.
+ */
+@Entity
+@Table(name = "ticket_outbox", indexes = {
+		@Index(name = "idx_ticket_outbox_sent_at", columnList = "sentAt, id"),
+		@Index(name = "idx_ticket_outbox_aggregate", columnList = "aggregateType, aggregateId, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+	public static final String AGGREGATE_TICKET = "TICKET";
+	public static final String AGGREGATE_TRAIN = "TRAIN";
+
+	// Identity order is the publish order
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// TICKET or TRAIN (train-day summaries); rows written before the column existed are tickets
+	@Column(nullable = false, length = 20, columnDefinition = "varchar(20) default 'TICKET'")
+	@Builder.Default
+	private String aggregateType = AGGREGATE_TICKET;
+
+	// Ticket or train id; events of one aggregate are published in order
+	@Column(nullable = false)
+	private Long aggregateId;
+
+	@Column(nullable = false, length = 50)
+	private String eventType;
+
+	@Column(nullable = false)
+	private String exchange;
+
+	@Column(nullable = false)
+	private String routingKey;
+
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String payload;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Integer attempts = 0;
+
+	@Column(length = 500)
+	private String lastError;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	private LocalDateTime sentAt;
+
+	// Claimed by a relay that is publishing it, or backing off after a failed publish; skipped until then
+	private LocalDateTime claimedUntil;
+
+	// Gave up after max-attempts failed publishes; no longer retried or blocking its aggregate (clear to replay)
+	private LocalDateTime parkedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+}
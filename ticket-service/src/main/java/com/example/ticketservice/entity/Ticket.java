@@ -1,6 +1,7 @@
 package com.example.ticketservice.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
@@ -26,7 +27,11 @@ import lombok.NoArgsConstructor;
 		@Index(name = "idx_ticket_train_id", columnList = "trainId"),
 		@Index(name = "idx_ticket_status", columnList = "status"),
 		@Index(name = "idx_ticket_user_status", columnList = "userId, status"),
-		@Index(name = "idx_ticket_created_at", columnList = "createdAt")
+		@Index(name = "idx_ticket_created_at", columnList = "createdAt"),
+		@Index(name = "idx_ticket_status_created_at", columnList = "status, createdAt"),
+		@Index(name = "idx_ticket_user_created_at", columnList = "userId, createdAt, id"),
+		@Index(name = "idx_ticket_train_date_status", columnList = "trainId, departure_day, status"),
+		@Index(name = "idx_ticket_departure_day", columnList = "departure_day, id")
 })
 @Data
 @Builder
@@ -44,8 +49,13 @@ public class Ticket {
 	@Column(nullable = false)
 	private Long trainId;
 
-	@Column(nullable = false)
-	private String departureDate;
+	// Departure as booked ("yyyy-MM-dd HH:mm"); the column older instances still read and write
+	@Column(name = "departure_date", nullable = false)
+	private String scheduledDeparture;
+
+	// Travel day, the key of manifests and duplicate checks; backfilled for rows that predate it
+	@Column(name = "departure_day")
+	private LocalDate departureDate;
 
 	@Column(nullable = false)
 	private Integer numberOfSeats;
@@ -77,6 +87,9 @@ public class Ticket {
 		LocalDateTime now = LocalDateTime.now();
 		createdAt = now;
 		updatedAt = now;
+		if (departureDate == null && scheduledDeparture != null) {
+			departureDate = departureDay(scheduledDeparture);
+		}
 	}
 
 	@PreUpdate
@@ -101,6 +114,13 @@ public class Ticket {
 		}
 	}
 
+	/**
+	 * Travel day of a departure string ("yyyy-MM-dd" or "yyyy-MM-dd HH:mm")
+	 */
+	public static LocalDate departureDay(String departure) {
+		return LocalDate.parse(departure.length() > 10 ? departure.substring(0, 10) : departure);
+	}
+
 	// Business methods
 	public boolean canBeCancelled() {
 		return status == TicketStatus.PENDING || status == TicketStatus.CONFIRMED;
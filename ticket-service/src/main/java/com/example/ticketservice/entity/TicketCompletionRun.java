@@ -0,0 +1,48 @@
+package com.example.ticketservice.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per train-day claim of the bulk completion (see TicketCompletionProcessor).
+ * Every completion chunk locks this row first, so chunks of one train-day never run in parallel
+ * across instances, and the summary event is written once, by the chunk that finds nothing left.
+ */
+@Entity
+@Table(name = "ticket_completion_runs", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_ticket_completion_runs_train_day", columnNames = {"train_id", "departure_day"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCompletionRun {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "train_id", nullable = false)
+	private Long trainId;
+
+	@Column(name = "departure_day", nullable = false)
+	private LocalDate departureDay;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	// Set in the transaction that wrote the TICKETS_COMPLETED summary
+	private LocalDateTime summarizedAt;
+}
@@ -0,0 +1,58 @@
+package com.example.ticketservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest rendered document of a ticket. The content itself lives in the content-addressed
+ * document store under its SHA-256; this row records which ticket version it was rendered from,
+ * so a render is reused until the ticket changes.
+ */
+@Entity
+@Table(name = "ticket_documents", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_ticket_documents_ticket_id", columnNames = "ticket_id")
+}, indexes = {
+		@Index(name = "idx_ticket_documents_content_hash", columnList = "contentHash")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDocument {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long ticketId;
+
+	// Ticket version the document was rendered from
+	@Column(nullable = false)
+	private Long ticketVersion;
+
+	// Hex SHA-256 of the content; also its key in the document store and its ETag
+	@Column(nullable = false, length = 64)
+	private String contentHash;
+
+	@Column(nullable = false, length = 50)
+	private String contentType;
+
+	@Column(nullable = false)
+	private long sizeBytes;
+
+	@Column(nullable = false)
+	private LocalDateTime renderedAt;
+}
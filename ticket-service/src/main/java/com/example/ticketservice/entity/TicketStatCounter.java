@@ -0,0 +1,53 @@
+package com.example.ticketservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated ticket count for one scope (all tickets, a train-day or a user) and status.
+ * Maintained incrementally from in-memory deltas (see TicketStatistics), so reading a count
+ * is a unique-key lookup instead of a scan of the tickets table.
+ */
+@Entity
+@Table(name = "ticket_stat_counters", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_ticket_stat_counters_scope_key_status", columnNames = {"scope", "scope_key", "status"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatCounter {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// STATUS, TRAIN_DAY or USER (see TicketStatistics.Scope)
+	@Column(nullable = false, length = 20)
+	private String scope;
+
+	// "" for STATUS, "trainId:yyyy-MM-dd" for TRAIN_DAY, the user id for USER
+	@Column(nullable = false, length = 64)
+	private String scopeKey;
+
+	// TicketStatus name
+	@Column(nullable = false, length = 20)
+	private String status;
+
+	@Column(nullable = false)
+	private long ticketCount;
+
+	@Column(nullable = false)
+	private LocalDateTime updatedAt;
+}
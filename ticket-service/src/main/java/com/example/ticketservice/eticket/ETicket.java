@@ -0,0 +1,89 @@
+package com.example.ticketservice.eticket;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Claims of a signed e-ticket and their compact binary form.
+ * A token is base64url(payload || Ed25519 signature over payload), 92 bytes / 123 characters,
+ * small enough for a low-density QR code. The payload layout (big-endian) is:
+ * format(1) keyId(1) ticketId(8) trainId(8) departureEpochDay(4) seats(2) ticketVersion(4).
+ * The ticket version changes with every status change, so a token names one exact state.
+ */
+public record ETicket(int keyId, long ticketId, long trainId, LocalDate departureDay, int numberOfSeats, int version) {
+
+	public static final byte FORMAT = 1;
+	public static final int PAYLOAD_LENGTH = 28;
+	public static final int SIGNATURE_LENGTH = 64;
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public ETicket {
+		if (keyId < 0 || keyId > 255) {
+			throw new IllegalArgumentException("Key id must fit in one byte: " + keyId);
+		}
+		if (numberOfSeats < 0 || numberOfSeats > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Number of seats out of range: " + numberOfSeats);
+		}
+	}
+
+	public byte[] payload() {
+		return ByteBuffer.allocate(PAYLOAD_LENGTH)
+				.put(FORMAT)
+				.put((byte) keyId)
+				.putLong(ticketId)
+				.putLong(trainId)
+				.putInt((int) departureDay.toEpochDay())
+				.putShort((short) numberOfSeats)
+				.putInt(version)
+				.array();
+	}
+
+	/**
+	 * Token string for the payload and its signature
+	 */
+	public String toToken(byte[] signature) {
+		if (signature.length != SIGNATURE_LENGTH) {
+			throw new IllegalArgumentException("Ed25519 signatures are " + SIGNATURE_LENGTH + " bytes");
+		}
+		byte[] token = Arrays.copyOf(payload(), PAYLOAD_LENGTH + SIGNATURE_LENGTH);
+		System.arraycopy(signature, 0, token, PAYLOAD_LENGTH, SIGNATURE_LENGTH);
+		return ENCODER.encodeToString(token);
+	}
+
+	/**
+	 * Split a token into its raw bytes; throws IllegalArgumentException if it is not a token of this format
+	 */
+	public static byte[] decodeToken(String token) {
+		byte[] bytes = DECODER.decode(token);
+		if (bytes.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH || bytes[0] != FORMAT) {
+			throw new IllegalArgumentException("Not an e-ticket token");
+		}
+		return bytes;
+	}
+
+	/**
+	 * Claims of a decoded token (the signature is not checked here)
+	 */
+	public static ETicket fromToken(byte[] token) {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(token, 0, PAYLOAD_LENGTH);
+			if (buffer.get() != FORMAT) {
+				throw new IllegalArgumentException("Unknown e-ticket format");
+			}
+			int keyId = buffer.get() & 0xFF;
+			long ticketId = buffer.getLong();
+			long trainId = buffer.getLong();
+			LocalDate departureDay = LocalDate.ofEpochDay(buffer.getInt());
+			int seats = buffer.getShort();
+			int version = buffer.getInt();
+			return new ETicket(keyId, ticketId, trainId, departureDay, seats, version);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated e-ticket token", e);
+		}
+	}
+}
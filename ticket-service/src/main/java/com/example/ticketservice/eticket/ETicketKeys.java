@@ -0,0 +1,62 @@
+package com.example.ticketservice.eticket;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Ed25519 key handling shared by the issuer and offline validators (JDK only, no extra provider).
+ * Keys travel as standard encodings: PKCS#8 for private keys, X.509 SubjectPublicKeyInfo for public keys.
+ */
+public final class ETicketKeys {
+
+	public static final String ALGORITHM = "Ed25519";
+
+	private ETicketKeys() {
+	}
+
+	public static PublicKey publicKey(String base64X509) {
+		try {
+			return KeyFactory.getInstance(ALGORITHM)
+					.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64X509.trim())));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("Invalid Ed25519 public key", e);
+		}
+	}
+
+	public static PrivateKey privateKey(String base64Pkcs8) {
+		try {
+			return KeyFactory.getInstance(ALGORITHM)
+					.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64Pkcs8.trim())));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("Invalid Ed25519 private key", e);
+		}
+	}
+
+	public static String encode(PublicKey publicKey) {
+		return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+	}
+
+	public static KeyPair generate() {
+		try {
+			return KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Ed25519 is not available in this JVM", e);
+		}
+	}
+
+	static Signature newSignature() {
+		try {
+			return Signature.getInstance(ALGORITHM);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Ed25519 is not available in this JVM", e);
+		}
+	}
+}
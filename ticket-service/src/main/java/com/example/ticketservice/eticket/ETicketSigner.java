@@ -0,0 +1,38 @@
+package com.example.ticketservice.eticket;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+
+/**
+ * Signs e-tickets with one Ed25519 private key. Ed25519 is deterministic, so the same claims
+ * always give the same token. Thread-safe; a Signature is created per call.
+ */
+public final class ETicketSigner {
+
+	private final int keyId;
+	private final PrivateKey privateKey;
+
+	public ETicketSigner(int keyId, PrivateKey privateKey) {
+		this.keyId = keyId;
+		this.privateKey = privateKey;
+	}
+
+	public int keyId() {
+		return keyId;
+	}
+
+	public String sign(ETicket ticket) {
+		if (ticket.keyId() != keyId) {
+			throw new IllegalArgumentException("Ticket names key " + ticket.keyId() + ", signer holds key " + keyId);
+		}
+		try {
+			Signature signature = ETicketKeys.newSignature();
+			signature.initSign(privateKey);
+			signature.update(ticket.payload());
+			return ticket.toToken(signature.sign());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Failed to sign e-ticket " + ticket.ticketId(), e);
+		}
+	}
+}
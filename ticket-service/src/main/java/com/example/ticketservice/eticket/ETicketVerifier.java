@@ -0,0 +1,118 @@
+package com.example.ticketservice.eticket;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Offline e-ticket validation: signature check against the issuer's public keys plus a lookup
+ * in the revocation filter. Needs no database, network or Spring, so gate scanners can embed
+ * this package as is (JDK 15+) and keep validating while the backend is unreachable; they only
+ * refresh the revocation filter from GET /tickets/eticket/revocations when they can.
+ * Tokens for a day before yesterday are always EXPIRED: the revocation filter only lists
+ * cancellations from yesterday on, so an older token could not be checked against it.
+ * Thread-safe; swapping the filter does not block validations in progress.
+ */
+public final class ETicketVerifier {
+
+	public enum Outcome {
+		VALID,
+		MALFORMED,
+		UNKNOWN_KEY,
+		BAD_SIGNATURE,
+		EXPIRED,
+		REVOKED,
+		WRONG_TRAIN,
+		WRONG_DAY
+	}
+
+	/**
+	 * Outcome of one token; the claims are present once the token could be decoded
+	 */
+	public record Result(Outcome outcome, ETicket ticket) {
+
+		public boolean valid() {
+			return outcome == Outcome.VALID;
+		}
+	}
+
+	private final Map<Integer, PublicKey> publicKeys;
+	private final Clock clock;
+	private final ThreadLocal<Signature> signatures = ThreadLocal.withInitial(ETicketKeys::newSignature);
+	private volatile RevocationFilter revocations;
+
+	public ETicketVerifier(Map<Integer, PublicKey> publicKeys, RevocationFilter revocations) {
+		this(publicKeys, revocations, Clock.systemDefaultZone());
+	}
+
+	public ETicketVerifier(Map<Integer, PublicKey> publicKeys, RevocationFilter revocations, Clock clock) {
+		this.publicKeys = Map.copyOf(publicKeys);
+		this.revocations = revocations;
+		this.clock = clock;
+	}
+
+	public void updateRevocations(RevocationFilter revocations) {
+		this.revocations = revocations;
+	}
+
+	public RevocationFilter revocations() {
+		return revocations;
+	}
+
+	public Result verify(String token) {
+		return verify(token, null, null);
+	}
+
+	/**
+	 * Verify a token, optionally also requiring the gate's train and travel day (null skips the check)
+	 */
+	public Result verify(String token, Long expectedTrainId, LocalDate expectedDay) {
+		byte[] bytes;
+		ETicket ticket;
+		try {
+			bytes = ETicket.decodeToken(token);
+			ticket = ETicket.fromToken(bytes);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return new Result(Outcome.MALFORMED, null);
+		}
+
+		PublicKey key = publicKeys.get(ticket.keyId());
+		if (key == null) {
+			return new Result(Outcome.UNKNOWN_KEY, ticket);
+		}
+		if (!signatureMatches(key, bytes)) {
+			return new Result(Outcome.BAD_SIGNATURE, ticket);
+		}
+		// Yesterday still counts, for trains that run past midnight
+		if (ticket.departureDay().isBefore(LocalDate.now(clock).minusDays(1))) {
+			return new Result(Outcome.EXPIRED, ticket);
+		}
+		RevocationFilter filter = revocations;
+		if (filter != null && filter.mightContain(ticket.ticketId())) {
+			return new Result(Outcome.REVOKED, ticket);
+		}
+		if (expectedTrainId != null && expectedTrainId != ticket.trainId()) {
+			return new Result(Outcome.WRONG_TRAIN, ticket);
+		}
+		if (expectedDay != null && !expectedDay.equals(ticket.departureDay())) {
+			return new Result(Outcome.WRONG_DAY, ticket);
+		}
+		return new Result(Outcome.VALID, ticket);
+	}
+
+	// ============ Helper Methods ============
+
+	private boolean signatureMatches(PublicKey key, byte[] token) {
+		try {
+			Signature signature = signatures.get();
+			signature.initVerify(key);
+			signature.update(token, 0, ETicket.PAYLOAD_LENGTH);
+			return signature.verify(token, ETicket.PAYLOAD_LENGTH, ETicket.SIGNATURE_LENGTH);
+		} catch (GeneralSecurityException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.ticketservice.eticket;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of revoked (cancelled) ticket ids, small enough to ship to every gate scanner.
+ * No false negatives: a revoked ticket is always reported. A valid ticket is wrongly reported
+ * with the configured false-positive rate; scanners can send those few for an online check.
+ * Adds and lookups are thread-safe and lock-free.
+ * Wire format (big-endian): format(1) hashCount(4) bitCount(4) generatedAtMillis(8) words(8 each).
+ */
+public final class RevocationFilter {
+
+	private static final byte FORMAT = 1;
+	private static final int HEADER_LENGTH = 17;
+
+	private final int hashCount;
+	private final int bitCount;
+	private final long generatedAt;
+	private final AtomicLongArray words;
+
+	private RevocationFilter(int hashCount, int bitCount, long generatedAt, AtomicLongArray words) {
+		this.hashCount = hashCount;
+		this.bitCount = bitCount;
+		this.generatedAt = generatedAt;
+		this.words = words;
+	}
+
+	/**
+	 * Empty filter sized for the expected number of entries at the given false-positive rate
+	 */
+	public static RevocationFilter create(int expectedEntries, double falsePositiveRate, long generatedAt) {
+		int entries = Math.max(1, expectedEntries);
+		double ln2 = Math.log(2);
+		long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (ln2 * ln2));
+		int words = (int) Math.min(Integer.MAX_VALUE / 64, Math.max(1, (bits + 63) / 64));
+		int bitCount = words * 64;
+		int hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * ln2));
+		return new RevocationFilter(hashCount, bitCount, generatedAt, new AtomicLongArray(words));
+	}
+
+	public static RevocationFilter fromBytes(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		if (bytes.length < HEADER_LENGTH || buffer.get() != FORMAT) {
+			throw new IllegalArgumentException("Not a revocation filter");
+		}
+		int hashCount = buffer.getInt();
+		int bitCount = buffer.getInt();
+		long generatedAt = buffer.getLong();
+		if (hashCount < 1 || bitCount < 64 || bitCount % 64 != 0 || buffer.remaining() != bitCount / 8) {
+			throw new IllegalArgumentException("Corrupt revocation filter");
+		}
+		AtomicLongArray words = new AtomicLongArray(bitCount / 64);
+		for (int i = 0; i < words.length(); i++) {
+			words.set(i, buffer.getLong());
+		}
+		return new RevocationFilter(hashCount, bitCount, generatedAt, words);
+	}
+
+	public byte[] toBytes() {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + words.length() * 8)
+				.put(FORMAT)
+				.putInt(hashCount)
+				.putInt(bitCount)
+				.putLong(generatedAt);
+		for (int i = 0; i < words.length(); i++) {
+			buffer.putLong(words.get(i));
+		}
+		return buffer.array();
+	}
+
+	public void add(long ticketId) {
+		long hash = mix(ticketId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			long mask = 1L << bit;
+			int word = bit >>> 6;
+			long current;
+			do {
+				current = words.get(word);
+			} while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	public boolean mightContain(long ticketId) {
+		long hash = mix(ticketId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * When the server built this filter (epoch millis); scanners use it to detect stale copies
+	 */
+	public long generatedAt() {
+		return generatedAt;
+	}
+
+	public int sizeInBytes() {
+		return HEADER_LENGTH + words.length() * 8;
+	}
+
+	// ============ Helper Methods ============
+
+	private int index(int combined) {
+		return (combined & Integer.MAX_VALUE) % bitCount;
+	}
+
+	// MurmurHash3 finalizer; spreads sequential ids over all 64 bits
+	private static long mix(long value) {
+		long h = value;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.ticketservice.event;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.service.BookingRequestService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Booking workers: consume queued booking intents with bounded concurrency
+ * (see bookingWorkerContainerFactory) and run them through the booking flow.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingRequestListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(BookingRequestListener.class);
+
+	private final BookingRequestService bookingRequestService;
+
+	@RabbitListener(queues = "${rabbitmq.queue.booking-request:booking-request-queue}",
+			containerFactory = "bookingWorkerContainerFactory")
+	public void onBookingRequest(Map<String, Object> message) {
+		Object bookingId = message.get("bookingId");
+		if (bookingId == null) {
+			logger.warn("Ignoring booking request message without id: {}", message);
+			return;
+		}
+		bookingRequestService.process(((Number) bookingId).longValue());
+	}
+}
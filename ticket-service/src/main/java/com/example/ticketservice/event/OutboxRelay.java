@@ -0,0 +1,259 @@
+package com.example.ticketservice.event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ticketservice.entity.OutboxEvent;
+import com.example.ticketservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes outbox events to RabbitMQ on a single background thread.
+ * A batch is claimed (leased) in a short transaction that commits before anything is
+ * published, so no row locks or connections are held while waiting for the broker. Each event
+ * carries its own publisher confirm; confirmed events are marked sent in a second transaction,
+ * while a nacked or unconfirmed event only retries itself, after a backoff that doubles per
+ * attempt. An event still failing after max-attempts is parked (logged and counted in the
+ * ticket.outbox.parked gauge) so the rest of its aggregate can go out. Delivery is
+ * at-least-once (consumers can dedupe on the message id).
+ */
+@Component
+public class OutboxRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private static final TypeReference<HashMap<String, Object>> EVENT_TYPE = new TypeReference<>() {};
+	private static final String MESSAGE_ID_PREFIX = "ticket-outbox-";
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final RabbitTemplate rabbitTemplate;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "outbox-relay");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean drainScheduled = new AtomicBoolean();
+	// Refreshed on a schedule so metric scrapes never count the table
+	private final AtomicLong pendingEvents = new AtomicLong();
+	private final AtomicLong parkedEvents = new AtomicLong();
+
+	@Value("${ticket.outbox.batch-size:100}")
+	private int batchSize;
+
+	@Value("${ticket.outbox.confirm-timeout-ms:5000}")
+	private long confirmTimeoutMs;
+
+	@Value("${ticket.outbox.claim-lease:30s}")
+	private Duration claimLease;
+
+	@Value("${ticket.outbox.max-attempts:12}")
+	private int maxAttempts;
+
+	@Value("${ticket.outbox.retry-backoff:1s}")
+	private Duration retryBackoff;
+
+	@Value("${ticket.outbox.max-retry-backoff:5m}")
+	private Duration maxRetryBackoff;
+
+	public OutboxRelay(OutboxEventRepository outboxEventRepository,
+			RabbitTemplate rabbitTemplate,
+			ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.rabbitTemplate = rabbitTemplate;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		Gauge.builder("ticket.outbox.pending", pendingEvents, AtomicLong::get)
+				.description("Ticket events not yet published")
+				.register(meterRegistry);
+		Gauge.builder("ticket.outbox.parked", parkedEvents, AtomicLong::get)
+				.description("Ticket events that gave up publishing after max-attempts failures")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Schedule a drain unless one is already queued; called after each committed write
+	 */
+	public void wakeUp() {
+		if (drainScheduled.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	/**
+	 * Safety net for events written by other instances or left over after a failure
+	 */
+	@Scheduled(fixedDelayString = "${ticket.outbox.poll-interval-ms:1000}")
+	public void poll() {
+		wakeUp();
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.outbox.pending-gauge-interval-ms:15000}")
+	public void refreshPendingCount() {
+		pendingEvents.set(outboxEventRepository.countBySentAtIsNull());
+		parkedEvents.set(outboxEventRepository.countByParkedAtIsNotNull());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private void drain() {
+		// Cleared first so writes committed during this drain schedule another pass
+		drainScheduled.set(false);
+		try {
+			int published;
+			do {
+				published = relayBatch();
+			} while (published == batchSize);
+		} catch (Exception e) {
+			logger.error("Outbox relay failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Claim, publish and record one batch. Returns the number of events settled (sent, dropped
+	 * or parked); the drain continues only while whole batches go through.
+	 */
+	private int relayBatch() {
+		LocalDateTime claimedAt = LocalDateTime.now();
+		List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+			List<OutboxEvent> claimed = outboxEventRepository.lockNextBatch(batchSize, claimedAt);
+			LocalDateTime leaseUntil = claimedAt.plus(claimLease);
+			claimed.forEach(event -> event.setClaimedUntil(leaseUntil));
+			return claimed;
+		});
+		if (batch == null || batch.isEmpty()) {
+			return 0;
+		}
+
+		List<Long> dropped = new ArrayList<>();
+		Map<OutboxEvent, CorrelationData> published = new LinkedHashMap<>();
+		Map<Long, String> failed = new LinkedHashMap<>();
+		for (OutboxEvent event : batch) {
+			Map<String, Object> payload;
+			try {
+				payload = objectMapper.readValue(event.getPayload(), EVENT_TYPE);
+			} catch (Exception e) {
+				logger.error("Dropping unreadable outbox event: {}", event.getId(), e);
+				dropped.add(event.getId());
+				continue;
+			}
+			try {
+				published.put(event, publish(event, payload));
+			} catch (AmqpException e) {
+				failed.put(event.getId(), e.getMessage());
+			}
+		}
+
+		List<Long> sent = new ArrayList<>(published.size());
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+		for (Map.Entry<OutboxEvent, CorrelationData> entry : published.entrySet()) {
+			Long eventId = entry.getKey().getId();
+			try {
+				CorrelationData.Confirm confirm = entry.getValue().getFuture()
+						.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				if (confirm.isAck()) {
+					sent.add(eventId);
+				} else {
+					failed.put(eventId, "Nacked by broker: " + confirm.getReason());
+				}
+			} catch (TimeoutException e) {
+				failed.put(eventId, "No publisher confirm within " + confirmTimeoutMs + " ms");
+			} catch (ExecutionException e) {
+				failed.put(eventId, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed.put(eventId, "Interrupted while waiting for publisher confirm");
+			}
+		}
+
+		Map<Long, OutboxEvent> byId = new HashMap<>();
+		batch.forEach(event -> byId.put(event.getId(), event));
+		List<OutboxEvent> parked = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+		transactionTemplate.executeWithoutResult(status -> {
+			if (!sent.isEmpty()) {
+				outboxEventRepository.markSent(sent, now);
+			}
+			dropped.forEach(eventId -> outboxEventRepository.markDropped(eventId, "Unreadable payload", now));
+			failed.forEach((eventId, error) -> {
+				OutboxEvent event = byId.get(eventId);
+				if (event.getAttempts() + 1 >= maxAttempts) {
+					outboxEventRepository.markParked(eventId, truncate(error), now);
+					parked.add(event);
+				} else {
+					outboxEventRepository.markFailed(eventId, truncate(error), now.plus(backoff(event.getAttempts())));
+				}
+			});
+		});
+		parked.forEach(event -> logger.error("Parked outbox event {} ({} of {} {}) after {} failed attempts: {}",
+				event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(),
+				maxAttempts, failed.get(event.getId())));
+		if (failed.size() > parked.size()) {
+			logger.warn("Failed to publish {} of {} outbox events, retrying them after a backoff: {}",
+					failed.size() - parked.size(), batch.size(), failed.values().iterator().next());
+		}
+		logger.debug("Relayed {} outbox events", sent.size());
+		return sent.size() + dropped.size() + parked.size();
+	}
+
+	// Doubles per failed attempt, up to max-retry-backoff
+	private Duration backoff(int attempts) {
+		Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts, 20));
+		return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+	}
+
+	private CorrelationData publish(OutboxEvent event, Map<String, Object> payload) {
+		String messageId = MESSAGE_ID_PREFIX + event.getId();
+		CorrelationData correlation = new CorrelationData(messageId);
+		rabbitTemplate.convertAndSend(event.getExchange(), event.getRoutingKey(), payload,
+				message -> {
+					message.getMessageProperties().setMessageId(messageId);
+					return message;
+				},
+				correlation);
+		return correlation;
+	}
+
+	private static String truncate(String message) {
+		if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+			return message;
+		}
+		return message.substring(0, MAX_ERROR_LENGTH);
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.ticketservice.event;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.service.TicketDocumentService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Document workers: render ticket documents on BOOKING_CONFIRMED events and explicit render
+ * requests, with bounded concurrency (see documentRenderContainerFactory).
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketDocumentListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketDocumentListener.class);
+
+	private final TicketDocumentService ticketDocumentService;
+
+	@RabbitListener(queues = "${rabbitmq.queue.ticket-document:ticket-document-queue}",
+			containerFactory = "documentRenderContainerFactory")
+	public void onRenderRequest(Map<String, Object> message) {
+		Object ticketId = message.get("ticketId");
+		if (ticketId == null) {
+			logger.warn("Ignoring document render message without ticket id: {}", message);
+			return;
+		}
+		ticketDocumentService.render(((Number) ticketId).longValue());
+	}
+}
@@ -1,16 +1,22 @@
 package com.example.ticketservice.event;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.ticketservice.entity.OutboxEvent;
 import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,7 +26,9 @@ public class TicketEventPublisher {
 	
 	private static final Logger logger = LoggerFactory.getLogger(TicketEventPublisher.class);
 	
-	private final RabbitTemplate rabbitTemplate;
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxRelay outboxRelay;
+	private final ObjectMapper objectMapper;
 	
 	@Value("${rabbitmq.exchange.booking:booking-exchange}")
 	private String bookingExchange;
@@ -34,16 +42,19 @@ public class TicketEventPublisher {
 	@Value("${rabbitmq.routing-key.booking-cancelled:booking.cancelled}")
 	private String bookingCancelledRoutingKey;
 
+	@Value("${rabbitmq.routing-key.booking-completed:booking.completed}")
+	private String bookingCompletedRoutingKey;
+
 	public void publishBookingCreated(Ticket ticket) {
 		Map<String, Object> event = createBookingEvent(ticket, "BOOKING_CREATED");
 		publish(bookingExchange, bookingCreatedRoutingKey, event);
-		logger.info("Published booking created event for ticket: {}", ticket.getId());
+		logger.info("Queued booking created event for ticket: {}", ticket.getId());
 	}
 
 	public void publishBookingConfirmed(Ticket ticket) {
 		Map<String, Object> event = createBookingEvent(ticket, "BOOKING_CONFIRMED");
 		publish(bookingExchange, bookingConfirmedRoutingKey, event);
-		logger.info("Published booking confirmed event for ticket: {}", ticket.getId());
+		logger.info("Queued booking confirmed event for ticket: {}", ticket.getId());
 	}
 
 	public void publishBookingCancelled(Ticket ticket) {
@@ -51,7 +62,24 @@ public class TicketEventPublisher {
 		event.put("cancellationReason", ticket.getCancellationReason());
 		event.put("cancelledAt", ticket.getCancelledAt());
 		publish(bookingExchange, bookingCancelledRoutingKey, event);
-		logger.info("Published booking cancelled event for ticket: {}", ticket.getId());
+		logger.info("Queued booking cancelled event for ticket: {}", ticket.getId());
+	}
+
+	/**
+	 * One summary event for all completed tickets of a train-day, instead of one per ticket.
+	 * Keyed by the train, so it never queues behind (or ahead of) the events of a ticket with the same id.
+	 */
+	public void publishTicketsCompleted(Long trainId, LocalDate departureDay, int ticketCount, int userCount) {
+		Map<String, Object> event = new HashMap<>();
+		event.put("eventType", "TICKETS_COMPLETED");
+		event.put("trainId", trainId);
+		event.put("departureDate", departureDay.toString());
+		event.put("ticketCount", ticketCount);
+		event.put("userCount", userCount);
+		event.put("status", Ticket.TicketStatus.COMPLETED.name());
+		event.put("timestamp", LocalDateTime.now().toString());
+		publish(bookingExchange, bookingCompletedRoutingKey, OutboxEvent.AGGREGATE_TRAIN, trainId, event);
+		logger.info("Queued tickets completed event for train {} on {}: {} tickets", trainId, departureDay, ticketCount);
 	}
 
 	private Map<String, Object> createBookingEvent(Ticket ticket, String eventType) {
@@ -60,7 +88,7 @@ public class TicketEventPublisher {
 		event.put("ticketId", ticket.getId());
 		event.put("userId", ticket.getUserId());
 		event.put("trainId", ticket.getTrainId());
-		event.put("departureDate", ticket.getDepartureDate());
+		event.put("departureDate", ticket.getScheduledDeparture());
 		event.put("numberOfSeats", ticket.getNumberOfSeats());
 		event.put("totalPrice", ticket.getTotalPrice());
 		event.put("status", ticket.getStatus().name());
@@ -69,11 +97,40 @@ public class TicketEventPublisher {
 	}
 
 	private void publish(String exchange, String routingKey, Map<String, Object> event) {
+		publish(exchange, routingKey, OutboxEvent.AGGREGATE_TICKET, (Long) event.get("ticketId"), event);
+	}
+
+	/**
+	 * Write the event to the outbox in the caller's transaction; the relay publishes it after commit.
+	 * If the transaction rolls back, the event is never published.
+	 */
+	private void publish(String exchange, String routingKey, String aggregateType, Long aggregateId,
+			Map<String, Object> event) {
+		String payload;
 		try {
-			rabbitTemplate.convertAndSend(exchange, routingKey, event);
-		} catch (Exception e) {
-			logger.error("Failed to publish event to RabbitMQ: exchange={}, routingKey={}", exchange, routingKey, e);
-			// Don't throw exception - event publishing failure shouldn't affect main flow
+			payload = objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize ticket event", e);
+		}
+
+		outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateType(aggregateType)
+				.aggregateId(aggregateId)
+				.eventType((String) event.get("eventType"))
+				.exchange(exchange)
+				.routingKey(routingKey)
+				.payload(payload)
+				.build());
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					outboxRelay.wakeUp();
+				}
+			});
+		} else {
+			outboxRelay.wakeUp();
 		}
 	}
 }
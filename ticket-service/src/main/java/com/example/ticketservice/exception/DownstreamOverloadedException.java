@@ -0,0 +1,18 @@
+package com.example.ticketservice.exception;
+
+/**
+ * A call to a downstream service was rejected by its adaptive concurrency limit
+ */
+public class DownstreamOverloadedException extends RuntimeException {
+	
+	private final String serviceId;
+
+	public DownstreamOverloadedException(String serviceId) {
+		super(serviceId + " is at its concurrency limit, please retry");
+		this.serviceId = serviceId;
+	}
+
+	public String getServiceId() {
+		return serviceId;
+	}
+}
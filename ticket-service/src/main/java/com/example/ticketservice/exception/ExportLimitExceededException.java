@@ -0,0 +1,11 @@
+package com.example.ticketservice.exception;
+
+/**
+ * All export slots are taken; exports hold a database connection for as long as they stream
+ */
+public class ExportLimitExceededException extends RuntimeException {
+
+	public ExportLimitExceededException(int maxConcurrent) {
+		super("Too many exports in progress (max " + maxConcurrent + "), please retry later");
+	}
+}
@@ -6,13 +6,17 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import com.example.shared.exception.InvalidCursorException;
 import com.example.ticketservice.dto.ApiResponse;
 
 import feign.FeignException;
@@ -63,6 +67,26 @@ public class GlobalExceptionHandler {
 				.body(ApiResponse.error("Validation failed", HttpStatus.BAD_REQUEST.value(), errors));
 	}
 
+	/**
+	 * Query or path parameter that does not convert, e.g. date=2025-02-30
+	 */
+	@ExceptionHandler(MethodArgumentTypeMismatchException.class)
+	public ResponseEntity<ApiResponse<Void>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+		logger.warn("Invalid value for {}: {}", ex.getName(), ex.getValue());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(ApiResponse.error("Invalid value for parameter " + ex.getName(), HttpStatus.BAD_REQUEST.value()));
+	}
+
+	/**
+	 * Request body that is not valid JSON or has a field that does not convert, e.g. a LocalDate of 2025-02-30
+	 */
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<ApiResponse<Void>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+		logger.warn("Unreadable request body: {}", ex.getMostSpecificCause().getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(ApiResponse.error("Malformed request body", HttpStatus.BAD_REQUEST.value()));
+	}
+
 	@ExceptionHandler(FeignException.class)
 	public ResponseEntity<ApiResponse<Void>> handleFeignException(FeignException ex) {
 		logger.error("Feign client error: {}", ex.getMessage());
@@ -76,6 +100,36 @@ public class GlobalExceptionHandler {
 				.body(ApiResponse.error(message, HttpStatus.SERVICE_UNAVAILABLE.value()));
 	}
 
+	@ExceptionHandler(DownstreamOverloadedException.class)
+	public ResponseEntity<ApiResponse<Void>> handleDownstreamOverloaded(DownstreamOverloadedException ex) {
+		logger.warn("Shedding request: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(ApiResponse.error("Service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE.value()));
+	}
+
+	@ExceptionHandler(ExportLimitExceededException.class)
+	public ResponseEntity<ApiResponse<Void>> handleExportLimitExceeded(ExportLimitExceededException ex) {
+		logger.warn("Rejecting export: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "30")
+				.body(ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+	}
+
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<ApiResponse<Void>> handleInvalidCursor(InvalidCursorException ex) {
+		logger.warn("Invalid page cursor: {}", ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
+		logger.warn("Illegal argument: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiResponse<Void>> handleGeneral(Exception ex) {
 		logger.error("Unexpected error: {}", ex.getMessage(), ex);
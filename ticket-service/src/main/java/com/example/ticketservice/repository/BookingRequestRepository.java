@@ -0,0 +1,80 @@
+package com.example.ticketservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ticketservice.entity.BookingRequest;
+
+@Repository
+public interface BookingRequestRepository extends JpaRepository<BookingRequest, Long> {
+
+	Optional<BookingRequest> findByIdAndUserId(Long id, Long userId);
+
+	// Queued requests not published since the cutoff, oldest first (rows from before last_queued_at use created_at)
+	@Query("SELECT b.id FROM BookingRequest b WHERE b.status = 'QUEUED' " +
+			"AND COALESCE(b.lastQueuedAt, b.createdAt) < :cutoff AND b.attempts < :maxAttempts " +
+			"ORDER BY COALESCE(b.lastQueuedAt, b.createdAt)")
+	List<Long> findStaleQueuedIds(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+			Pageable pageable);
+
+	// Record a re-publish; no-op if another instance re-published it or a worker claimed it meanwhile
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.attempts = b.attempts + 1, b.lastQueuedAt = :now, " +
+			"b.version = b.version + 1 WHERE b.id = :id AND b.status = 'QUEUED' " +
+			"AND COALESCE(b.lastQueuedAt, b.createdAt) < :cutoff AND b.attempts < :maxAttempts")
+	int markRequeued(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff,
+			@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+
+	// Give up on queued requests that were re-published maxAttempts times without being picked up
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'FAILED', b.failureReason = :reason, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.status = 'QUEUED' " +
+			"AND COALESCE(b.lastQueuedAt, b.createdAt) < :cutoff AND b.attempts >= :maxAttempts")
+	int failExhausted(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+			@Param("reason") String reason, @Param("now") LocalDateTime now);
+
+	// Atomically claim a queued request so only one worker processes it
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'PROCESSING', b.attempts = b.attempts + 1, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.id = :id AND b.status = 'QUEUED'")
+	int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	// Finish a claimed request; no-op (returns 0) if the claim was lost to the stuck request sweep
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'SUCCEEDED', b.ticketId = :ticketId, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.id = :id AND b.status = 'PROCESSING'")
+	int markSucceeded(@Param("id") Long id, @Param("ticketId") Long ticketId, @Param("now") LocalDateTime now);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'FAILED', b.failureReason = :reason, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.id = :id AND b.status = 'PROCESSING'")
+	int markFailed(@Param("id") Long id, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+	// Hand a claimed request back to the queue; queuedAt is back-dated so the stale sweep re-publishes it after the backoff
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'QUEUED', b.lastQueuedAt = :queuedAt, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.id = :id AND b.status = 'PROCESSING'")
+	int release(@Param("id") Long id, @Param("queuedAt") LocalDateTime queuedAt, @Param("now") LocalDateTime now);
+
+	// Fail requests whose worker has not finished since the cutoff (e.g. crashed)
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingRequest b SET b.status = 'FAILED', b.failureReason = :reason, " +
+			"b.updatedAt = :now, b.version = b.version + 1 WHERE b.status = 'PROCESSING' AND b.updatedAt < :cutoff")
+	int failStuck(@Param("cutoff") LocalDateTime cutoff, @Param("reason") String reason, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,43 @@
+package com.example.ticketservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ticketservice.entity.BookingSaga;
+import com.example.ticketservice.entity.BookingSaga.SagaStatus;
+
+@Repository
+public interface BookingSagaRepository extends JpaRepository<BookingSaga, Long> {
+
+	Optional<BookingSaga> findByTicketId(Long ticketId);
+
+	// Sagas due for recovery, oldest first
+	@Query("SELECT s.id FROM BookingSaga s WHERE s.status IN :statuses AND s.nextAttemptAt <= :now " +
+			"ORDER BY s.nextAttemptAt")
+	List<Long> findDueIds(
+			@Param("statuses") Collection<SagaStatus> statuses,
+			@Param("now") LocalDateTime now,
+			Pageable pageable
+	);
+
+	// Lease a due saga so only one worker (across instances) resumes it
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE BookingSaga s SET s.nextAttemptAt = :leaseUntil " +
+			"WHERE s.id = :id AND s.nextAttemptAt <= :now")
+	int lease(
+			@Param("id") Long id,
+			@Param("now") LocalDateTime now,
+			@Param("leaseUntil") LocalDateTime leaseUntil
+	);
+}
@@ -0,0 +1,67 @@
+package com.example.ticketservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ticketservice.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Lock the next unsent, unclaimed events, only the oldest unsent one per aggregate so
+	 * per-aggregate order holds even with several relays; rows locked by another relay are skipped.
+	 * Parked events are neither claimed nor hold back the rest of their aggregate.
+	 * Must be called inside a transaction, which should only set the claim and commit.
+	 */
+	@Query(value = "SELECT * FROM ticket_outbox o WHERE o.sent_at IS NULL AND o.parked_at IS NULL " +
+			"AND (o.claimed_until IS NULL OR o.claimed_until < :now) " +
+			"AND NOT EXISTS (SELECT 1 FROM ticket_outbox p " +
+			"WHERE p.aggregate_type = o.aggregate_type AND p.aggregate_id = o.aggregate_id " +
+			"AND p.sent_at IS NULL AND p.parked_at IS NULL AND p.id < o.id) " +
+			"ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+			nativeQuery = true)
+	List<OutboxEvent> lockNextBatch(@Param("limit") int limit, @Param("now") LocalDateTime now);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt, e.claimedUntil = NULL WHERE e.id IN :ids")
+	int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+	// Publish failed: keep it claimed until retryAt so retries back off
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.claimedUntil = :retryAt " +
+			"WHERE e.id = :id")
+	int markFailed(@Param("id") Long id, @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+
+	// Publish failed for the last allowed time: stop retrying and let the aggregate's later events go
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.parkedAt = :parkedAt, " +
+			"e.claimedUntil = NULL WHERE e.id = :id")
+	int markParked(@Param("id") Long id, @Param("error") String error, @Param("parkedAt") LocalDateTime parkedAt);
+
+	// Never publishable; parked as sent so it doesn't block the aggregate's later events
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt, e.lastError = :error, e.claimedUntil = NULL " +
+			"WHERE e.id = :id")
+	int markDropped(@Param("id") Long id, @Param("error") String error, @Param("sentAt") LocalDateTime sentAt);
+
+	long countBySentAtIsNull();
+
+	long countByParkedAtIsNotNull();
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :cutoffTime")
+	int deleteSentBefore(@Param("cutoffTime") LocalDateTime cutoffTime);
+}
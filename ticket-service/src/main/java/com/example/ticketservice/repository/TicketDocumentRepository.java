@@ -0,0 +1,42 @@
+package com.example.ticketservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ticketservice.entity.TicketDocument;
+
+@Repository
+public interface TicketDocumentRepository extends JpaRepository<TicketDocument, Long> {
+
+	Optional<TicketDocument> findByTicketId(Long ticketId);
+
+	// Which of the given blob hashes are still in use; served by idx_ticket_documents_content_hash
+	@Query("SELECT DISTINCT d.contentHash FROM TicketDocument d WHERE d.contentHash IN :hashes")
+	List<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+	// Record a render; concurrent or late renders of an older ticket version never replace a newer one
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO ticket_documents (ticket_id, ticket_version, content_hash, content_type, size_bytes, rendered_at) " +
+			"VALUES (:ticketId, :ticketVersion, :contentHash, :contentType, :sizeBytes, :renderedAt) " +
+			"ON CONFLICT (ticket_id) DO UPDATE SET ticket_version = EXCLUDED.ticket_version, " +
+			"content_hash = EXCLUDED.content_hash, content_type = EXCLUDED.content_type, " +
+			"size_bytes = EXCLUDED.size_bytes, rendered_at = EXCLUDED.rendered_at " +
+			"WHERE ticket_documents.ticket_version <= EXCLUDED.ticket_version",
+			nativeQuery = true)
+	int upsert(@Param("ticketId") Long ticketId,
+			@Param("ticketVersion") Long ticketVersion,
+			@Param("contentHash") String contentHash,
+			@Param("contentType") String contentType,
+			@Param("sizeBytes") long sizeBytes,
+			@Param("renderedAt") LocalDateTime renderedAt);
+}
@@ -1,21 +1,29 @@
 package com.example.ticketservice.repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.ticketservice.entity.Ticket;
 import com.example.ticketservice.entity.Ticket.TicketStatus;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -32,6 +40,21 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 	
 	Page<Ticket> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, TicketStatus status, Pageable pageable);
 
+	// Keyset pages of a user's history, newest first (LIMIT via Pageable, no COUNT query)
+	@Query("SELECT t FROM Ticket t WHERE t.userId = :userId " +
+			"ORDER BY t.createdAt DESC, t.id DESC")
+	List<Ticket> findFirstKeysetPage(@Param("userId") Long userId, Pageable pageable);
+
+	@Query("SELECT t FROM Ticket t WHERE t.userId = :userId " +
+			"AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+			"ORDER BY t.createdAt DESC, t.id DESC")
+	List<Ticket> findKeysetPageAfter(
+			@Param("userId") Long userId,
+			@Param("createdAt") LocalDateTime createdAt,
+			@Param("id") Long id,
+			Pageable pageable
+	);
+
 	// Pessimistic lock for updates
 	@Lock(LockModeType.PESSIMISTIC_WRITE)
 	@Query("SELECT t FROM Ticket t WHERE t.id = :id AND t.userId = :userId")
@@ -61,13 +84,78 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 			@Param("cutoffTime") LocalDateTime cutoffTime
 	);
 
+	/**
+	 * Lock the next page of expired PENDING tickets in one id shard (id mod shardCount);
+	 * rows locked by another worker or instance are skipped. Must be called inside a transaction.
+	 */
+	@Query(value = "SELECT * FROM tickets t WHERE t.status = 'PENDING' AND t.created_at < :cutoffTime " +
+			"AND MOD(t.id, :shardCount) = :shard " +
+			"ORDER BY t.created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+			nativeQuery = true)
+	List<Ticket> lockExpiredPendingPage(
+			@Param("cutoffTime") LocalDateTime cutoffTime,
+			@Param("shardCount") int shardCount,
+			@Param("shard") int shard,
+			@Param("limit") int limit
+	);
+
 	// Find tickets by train and departure date
 	List<Ticket> findByTrainIdAndDepartureDateAndStatusIn(
 			Long trainId, 
-			String departureDate, 
+			LocalDate departureDate, 
 			List<TicketStatus> statuses
 	);
 
+	// Boarding manifest, read through a cursor; callers must consume it inside a transaction and close it
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT t FROM Ticket t WHERE t.trainId = :trainId AND t.departureDate = :departureDate " +
+			"AND t.status IN :statuses ORDER BY t.id")
+	Stream<Ticket> streamManifest(
+			@Param("trainId") Long trainId,
+			@Param("departureDate") LocalDate departureDate,
+			@Param("statuses") Collection<TicketStatus> statuses
+	);
+
+	// Export cursors; callers must consume them inside a transaction and close them
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT t FROM Ticket t WHERE t.userId = :userId ORDER BY t.createdAt DESC, t.id DESC")
+	Stream<Ticket> streamByUserId(@Param("userId") Long userId);
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT t FROM Ticket t WHERE t.userId = :userId AND t.status = :status " +
+			"ORDER BY t.createdAt DESC, t.id DESC")
+	Stream<Ticket> streamByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TicketStatus status);
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT t FROM Ticket t WHERE t.departureDate BETWEEN :from AND :to ORDER BY t.departureDate, t.id")
+	Stream<Ticket> streamByDepartureDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	// Any row still waiting for the departure-day backfill; an index lookup on idx_ticket_departure_day
+	boolean existsByDepartureDateIsNull();
+
+	/**
+	 * Fill departure_day for up to limit rows written before the column existed (or by older
+	 * instances during a rollout); returns the number of rows updated
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE tickets SET departure_day = CAST(SUBSTRING(departure_date, 1, 10) AS DATE) " +
+			"WHERE id IN (SELECT id FROM tickets WHERE departure_day IS NULL LIMIT :limit FOR UPDATE SKIP LOCKED)",
+			nativeQuery = true)
+	int backfillDepartureDay(@Param("limit") int limit);
+
 	// Check if user has active ticket for same train and date
 	@Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM Ticket t " +
 			"WHERE t.userId = :userId AND t.trainId = :trainId " +
@@ -76,10 +164,10 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 	boolean existsActiveTicketForUser(
 			@Param("userId") Long userId,
 			@Param("trainId") Long trainId,
-			@Param("departureDate") String departureDate
+			@Param("departureDate") LocalDate departureDate
 	);
 
-	// Statistics
-	@Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.userId = :userId GROUP BY t.status")
-	List<Object[]> getTicketStatsByUser(@Param("userId") Long userId);
+	// Revocation list for e-tickets: cancelled tickets whose travel day is still ahead
+	@Query("SELECT t.id FROM Ticket t WHERE t.status = 'CANCELLED' AND t.departureDate BETWEEN :from AND :to")
+	List<Long> findCancelledIdsDepartingBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
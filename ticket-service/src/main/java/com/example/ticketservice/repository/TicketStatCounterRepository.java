@@ -0,0 +1,17 @@
+package com.example.ticketservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.ticketservice.entity.TicketStatCounter;
+
+@Repository
+public interface TicketStatCounterRepository extends JpaRepository<TicketStatCounter, Long> {
+
+	// Served by the (scope, scope_key, status) unique index
+	List<TicketStatCounter> findByScopeAndScopeKey(String scope, String scopeKey);
+
+	boolean existsByScope(String scope);
+}
@@ -1,19 +1,22 @@
 package com.example.ticketservice.scheduler;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.example.ticketservice.client.InventoryServiceClient;
-import com.example.ticketservice.entity.Ticket;
-import com.example.ticketservice.entity.Ticket.TicketStatus;
-import com.example.ticketservice.event.TicketEventPublisher;
+import com.example.ticketservice.dto.TicketStatsResponse;
+import com.example.ticketservice.repository.OutboxEventRepository;
 import com.example.ticketservice.repository.TicketRepository;
+import com.example.ticketservice.service.BookingRequestService;
+import com.example.ticketservice.service.BookingSagaOrchestrator;
+import com.example.ticketservice.service.ExpiredTicketProcessor;
+import com.example.ticketservice.service.TicketCompletionProcessor;
+import com.example.ticketservice.service.TicketDocumentService;
+import com.example.ticketservice.service.TicketStatistics;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,75 +27,141 @@ public class TicketScheduler {
 	private static final Logger logger = LoggerFactory.getLogger(TicketScheduler.class);
 	
 	private final TicketRepository ticketRepository;
-	private final InventoryServiceClient inventoryServiceClient;
-	private final TicketEventPublisher eventPublisher;
+	private final BookingRequestService bookingRequestService;
+	private final BookingSagaOrchestrator bookingSagaOrchestrator;
+	private final OutboxEventRepository outboxEventRepository;
+	private final ExpiredTicketProcessor expiredTicketProcessor;
+	private final TicketCompletionProcessor ticketCompletionProcessor;
+	private final TicketDocumentService ticketDocumentService;
+	private final TicketStatistics ticketStatistics;
+
+	@Value("${ticket.outbox.retention-days:7}")
+	private int outboxRetentionDays;
 	
 	// Timeout for pending tickets (15 minutes)
 	private static final int PENDING_TIMEOUT_MINUTES = 15;
 
+	// Sagas resumed per batch and max batches per recovery run
+	private static final int SAGA_RECOVERY_BATCH_SIZE = 50;
+	private static final int SAGA_RECOVERY_MAX_BATCHES = 10;
+
+	// Rows per departure-day backfill statement
+	private static final int DEPARTURE_BACKFILL_BATCH_SIZE = 1000;
+
 	/**
-	 * Cancel expired pending tickets every 5 minutes
+	 * Cancel expired pending tickets every minute
 	 * Tickets that remain PENDING for more than 15 minutes will be auto-cancelled
 	 */
-	@Scheduled(fixedRate = 300000) // 5 minutes
-	@Transactional
+	@Scheduled(fixedDelayString = "${ticket.expiry.interval-ms:60000}")
 	public void cancelExpiredPendingTickets() {
-		logger.info("Running scheduled job: Cancel expired pending tickets");
+		logger.debug("Running scheduled job: Cancel expired pending tickets");
 		
 		LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(PENDING_TIMEOUT_MINUTES);
-		List<Ticket> expiredTickets = ticketRepository.findByStatusAndCreatedAtBefore(
-				TicketStatus.PENDING, cutoffTime);
+		int cancelled = expiredTicketProcessor.expireBefore(cutoffTime);
 		
-		if (expiredTickets.isEmpty()) {
-			logger.debug("No expired pending tickets found");
-			return;
+		if (cancelled > 0) {
+			logger.info("Auto-cancelled {} expired pending tickets", cancelled);
 		}
-		
-		logger.info("Found {} expired pending tickets to cancel", expiredTickets.size());
-		
-		for (Ticket ticket : expiredTickets) {
-			try {
-				cancelExpiredTicket(ticket);
-			} catch (Exception e) {
-				logger.error("Failed to cancel expired ticket: {}", ticket.getId(), e);
-			}
+	}
+
+	/**
+	 * Complete confirmed tickets of schedules that inventory marked ARRIVED, every 5 minutes
+	 */
+	@Scheduled(initialDelay = 30000, fixedDelayString = "${ticket.completion.interval-ms:300000}")
+	public void completeArrivedTickets() {
+		int completed = ticketCompletionProcessor.completeArrived();
+		if (completed > 0) {
+			logger.info("Completed {} tickets of arrived schedules", completed);
 		}
 	}
-	
-	private void cancelExpiredTicket(Ticket ticket) {
-		logger.info("Auto-cancelling expired ticket: {}", ticket.getId());
-		
-		// Release seats
+
+	/**
+	 * Delete ticket documents that are no longer referenced, every hour
+	 */
+	@Scheduled(initialDelay = 60000, fixedDelayString = "${ticket.documents.gc.interval-ms:3600000}")
+	public void deleteUnreferencedDocuments() {
 		try {
-			inventoryServiceClient.releaseSeats(
-					ticket.getTrainId(),
-					ticket.getDepartureDate(),
-					ticket.getNumberOfSeats()
-			);
+			int deleted = ticketDocumentService.deleteUnreferencedDocuments();
+			if (deleted > 0) {
+				logger.info("Deleted {} unreferenced ticket documents", deleted);
+			}
 		} catch (Exception e) {
-			logger.warn("Failed to release seats for expired ticket: {}", ticket.getId(), e);
-			// Continue with cancellation even if seat release fails
+			logger.warn("Failed to sweep ticket documents: {}", e.getMessage());
 		}
-		
-		// Update ticket status
-		ticket.setStatus(TicketStatus.CANCELLED);
-		ticket.setCancellationReason("Auto-cancelled due to payment timeout");
-		ticket.setCancelledAt(LocalDateTime.now());
-		ticketRepository.save(ticket);
-		
-		// Publish event
-		eventPublisher.publishBookingCancelled(ticket);
-		
-		logger.info("Successfully auto-cancelled expired ticket: {}", ticket.getId());
 	}
 
 	/**
-	 * Log ticket statistics every hour
+	 * Recover async booking requests every minute:
+	 * re-publish QUEUED requests whose message may have been lost and
+	 * fail PROCESSING requests whose worker died (their PENDING ticket expires above)
+	 */
+	@Scheduled(fixedRate = 60000) // 1 minute
+	public void recoverBookingRequests() {
+		LocalDateTime now = LocalDateTime.now();
+		int requeued = bookingRequestService.requeueStale();
+		int failed = bookingRequestService.failStuck(now.minusMinutes(PENDING_TIMEOUT_MINUTES));
+		if (requeued > 0 || failed > 0) {
+			logger.info("Booking request recovery - requeued: {}, failed: {}", requeued, failed);
+		}
+	}
+
+	/**
+	 * Resume stuck booking sagas every 5 seconds:
+	 * steps that timed out mid-flight and compensations (seat release, refund) that are due for retry
+	 */
+	@Scheduled(fixedDelayString = "${ticket.saga.recovery-interval-ms:5000}")
+	public void recoverBookingSagas() {
+		int resumed = 0;
+		for (int batch = 0; batch < SAGA_RECOVERY_MAX_BATCHES; batch++) {
+			int picked = bookingSagaOrchestrator.recoverDue(SAGA_RECOVERY_BATCH_SIZE);
+			resumed += picked;
+			if (picked < SAGA_RECOVERY_BATCH_SIZE) {
+				break;
+			}
+		}
+		if (resumed > 0) {
+			logger.info("Booking saga recovery - resumed: {}", resumed);
+		}
+	}
+
+	/**
+	 * Backfill the typed departure day of tickets written before it existed, in small batches.
+	 * Checks for NULL rows on every run instead of stopping after an empty pass: SKIP LOCKED can
+	 * return nothing while other instances hold the rows, and older instances keep writing NULL
+	 * rows until a rollout finishes. Once everything is filled, a run is one index lookup.
+	 */
+	@Scheduled(initialDelay = 10000, fixedDelay = 60000)
+	public void backfillDepartureDates() {
+		if (!ticketRepository.existsByDepartureDateIsNull()) {
+			return;
+		}
+		int total = 0;
+		int updated;
+		do {
+			updated = ticketRepository.backfillDepartureDay(DEPARTURE_BACKFILL_BATCH_SIZE);
+			total += updated;
+		} while (updated == DEPARTURE_BACKFILL_BATCH_SIZE);
+		if (total > 0) {
+			logger.info("Backfilled departure day of {} tickets", total);
+		}
+	}
+
+	/**
+	 * Purge published outbox events daily at 3 AM
+	 */
+	@Scheduled(cron = "0 0 3 * * *")
+	public void purgeSentOutboxEvents() {
+		int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusDays(outboxRetentionDays));
+		logger.info("Purged {} published outbox events", deleted);
+	}
+
+	/**
+	 * Log ticket statistics every hour (from the incremental counters, no table scan)
 	 */
 	@Scheduled(cron = "0 0 * * * *") // Every hour
 	public void logTicketStatistics() {
-		long totalTickets = ticketRepository.count();
-		logger.info("Ticket statistics - Total tickets: {}", totalTickets);
+		TicketStatsResponse stats = ticketStatistics.global();
+		logger.info("Ticket statistics - Total tickets: {}, by status: {}", stats.getTotal(), stats.getByStatus());
 	}
 }
 
@@ -0,0 +1,257 @@
+package com.example.ticketservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.ticketservice.dto.BookTicketRequest;
+import com.example.ticketservice.dto.BookingStatusResponse;
+import com.example.ticketservice.dto.CancelTicketRequest;
+import com.example.ticketservice.dto.TicketResponse;
+import com.example.ticketservice.entity.BookingRequest;
+import com.example.ticketservice.exception.DownstreamOverloadedException;
+import com.example.ticketservice.exception.TicketNotFoundException;
+import com.example.ticketservice.repository.BookingRequestRepository;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Async booking: persists a booking intent, hands its id to a durable queue and lets
+ * a bounded pool of workers run the regular booking flow off the request thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingRequestService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BookingRequestService.class);
+
+	private static final int MAX_REASON_LENGTH = 500;
+
+	private final BookingRequestRepository bookingRequestRepository;
+	private final TicketService ticketService;
+	private final RabbitTemplate rabbitTemplate;
+
+	@Value("${rabbitmq.exchange.booking:booking-exchange}")
+	private String bookingExchange;
+
+	@Value("${rabbitmq.routing-key.booking-request:booking.request}")
+	private String bookingRequestRoutingKey;
+
+	// A queued request not picked up within this long is published again
+	@Value("${ticket.booking.requeue.after:5m}")
+	private Duration requeueAfter;
+
+	@Value("${ticket.booking.requeue.max-attempts:5}")
+	private int maxRequeueAttempts;
+
+	// First delay before an overloaded request is retried, doubled per attempt
+	@Value("${ticket.booking.requeue.retry-backoff:30s}")
+	private Duration retryBackoff;
+
+	@Value("${ticket.booking.requeue.page-size:200}")
+	private int requeuePageSize;
+
+	@Value("${ticket.booking.requeue.max-pages:10}")
+	private int requeueMaxPages;
+
+	/**
+	 * Persist a booking intent and enqueue it once the transaction commits
+	 */
+	@Transactional
+	public BookingStatusResponse submit(Long userId, BookTicketRequest request) {
+		BookingRequest bookingRequest = BookingRequest.builder()
+				.userId(userId)
+				.trainId(request.getTrainId())
+				.departureDate(request.getDepartureDate())
+				.numberOfSeats(request.getNumberOfSeats())
+				.totalPrice(request.getTotalPrice())
+				.seatNumbers(request.getSeatNumbers() != null && !request.getSeatNumbers().isEmpty()
+						? String.join(",", request.getSeatNumbers()) : null)
+				.build();
+		bookingRequest = bookingRequestRepository.save(bookingRequest);
+		logger.info("Accepted booking request {} for user: {}", bookingRequest.getId(), userId);
+
+		Long bookingId = bookingRequest.getId();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				enqueue(bookingId);
+			}
+		});
+
+		return BookingStatusResponse.from(bookingRequest);
+	}
+
+	public BookingStatusResponse getStatus(Long bookingId, Long userId) {
+		return bookingRequestRepository.findByIdAndUserId(bookingId, userId)
+				.map(BookingStatusResponse::from)
+				.orElseThrow(() -> new TicketNotFoundException("Booking request not found with id: " + bookingId));
+	}
+
+	/**
+	 * Run the booking for a queued intent. Safe to call more than once per id:
+	 * only the caller that claims the QUEUED row does the work.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void process(Long bookingId) {
+		if (bookingRequestRepository.claim(bookingId, LocalDateTime.now()) == 0) {
+			logger.debug("Booking request {} already claimed or finished", bookingId);
+			return;
+		}
+
+		BookingRequest bookingRequest = bookingRequestRepository.findById(bookingId).orElse(null);
+		if (bookingRequest == null) {
+			return;
+		}
+
+		try {
+			TicketResponse ticket = ticketService.bookTicket(bookingRequest.getUserId(), toBookTicketRequest(bookingRequest));
+			if (bookingRequestRepository.markSucceeded(bookingId, ticket.getId(), LocalDateTime.now()) == 0) {
+				// Failed by the stuck request sweep while booking; the user was told it failed
+				cancelOrphanedTicket(bookingId, bookingRequest.getUserId(), ticket.getId());
+				return;
+			}
+			logger.info("Booking request {} succeeded with ticket: {}", bookingId, ticket.getId());
+		} catch (Exception e) {
+			String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+			if (reason.length() > MAX_REASON_LENGTH) {
+				reason = reason.substring(0, MAX_REASON_LENGTH);
+			}
+			if (isOverloaded(e) && bookingRequest.getAttempts() < maxRequeueAttempts) {
+				requeueAfterBackoff(bookingId, bookingRequest.getAttempts(), reason);
+				return;
+			}
+			if (bookingRequestRepository.markFailed(bookingId, reason, LocalDateTime.now()) == 0) {
+				logger.debug("Booking request {} was already failed by the stuck request sweep", bookingId);
+				return;
+			}
+			logger.warn("Booking request {} failed: {}", bookingId, reason);
+		}
+	}
+
+	/**
+	 * Re-publish intents whose queue message may have been lost (e.g. broker down at submit time).
+	 * Each re-publish is recorded first, so a request still waiting behind a backlog is sent
+	 * again at most once per requeue interval, and it fails after max-attempts re-publishes.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public int requeueStale() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime cutoff = now.minus(requeueAfter);
+
+		int exhausted = bookingRequestRepository.failExhausted(cutoff, maxRequeueAttempts,
+				"Not picked up after " + maxRequeueAttempts + " attempts", now);
+		if (exhausted > 0) {
+			logger.warn("Failed {} booking requests that were never picked up", exhausted);
+		}
+
+		int requeued = 0;
+		for (int page = 0; page < requeueMaxPages; page++) {
+			List<Long> staleIds = bookingRequestRepository.findStaleQueuedIds(
+					cutoff, maxRequeueAttempts, PageRequest.of(0, requeuePageSize));
+			for (Long bookingId : staleIds) {
+				if (bookingRequestRepository.markRequeued(bookingId, cutoff, now, maxRequeueAttempts) == 0) {
+					continue;
+				}
+				if (!enqueue(bookingId)) {
+					// Broker unavailable; the next sweep tries again
+					return requeued;
+				}
+				requeued++;
+			}
+			if (staleIds.size() < requeuePageSize) {
+				break;
+			}
+		}
+		return requeued;
+	}
+
+	/**
+	 * Fail intents stuck in PROCESSING, e.g. after a worker crash. Any PENDING ticket the
+	 * crashed worker created is released by the pending-ticket timeout job; a worker that
+	 * was only slow cancels its ticket itself when it finds the request already failed.
+	 */
+	@Transactional
+	public int failStuck(LocalDateTime cutoffTime) {
+		return bookingRequestRepository.failStuck(cutoffTime, "Processing timed out", LocalDateTime.now());
+	}
+
+	// Downstream shed the call (limiter or a 503): nothing was booked, so try again later
+	private static boolean isOverloaded(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DownstreamOverloadedException
+					|| (cause instanceof FeignException feignException && feignException.status() == 503)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Put an overloaded request back in QUEUED. The stale request sweep re-publishes it once
+	 * the backoff (doubling per attempt, capped at the requeue interval) has passed, and the
+	 * attempt cap still fails it if the downstream stays overloaded.
+	 */
+	private void requeueAfterBackoff(Long bookingId, int attempts, String reason) {
+		Duration backoff = retryBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 16));
+		if (backoff.compareTo(requeueAfter) > 0) {
+			backoff = requeueAfter;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		if (bookingRequestRepository.release(bookingId, now.minus(requeueAfter).plus(backoff), now) == 0) {
+			logger.debug("Booking request {} was already failed by the stuck request sweep", bookingId);
+			return;
+		}
+		logger.info("Booking request {} requeued for retry in {}: {}", bookingId, backoff, reason);
+	}
+
+	private void cancelOrphanedTicket(Long bookingId, Long userId, Long ticketId) {
+		logger.warn("Booking request {} timed out before ticket {} was recorded, cancelling it", bookingId, ticketId);
+		try {
+			ticketService.cancelTicket(ticketId, userId, CancelTicketRequest.builder()
+					.reason("Booking request timed out")
+					.requestRefund(false)
+					.build());
+		} catch (Exception e) {
+			// Still PENDING, so the pending-ticket timeout job releases it
+			logger.error("Failed to cancel ticket {} of timed out booking request {}: {}",
+					ticketId, bookingId, e.getMessage());
+		}
+	}
+
+	private boolean enqueue(Long bookingId) {
+		try {
+			rabbitTemplate.convertAndSend(bookingExchange, bookingRequestRoutingKey, Map.of("bookingId", bookingId));
+			return true;
+		} catch (Exception e) {
+			// Picked up again by the stale request sweep
+			logger.error("Failed to enqueue booking request {}: {}", bookingId, e.getMessage());
+			return false;
+		}
+	}
+
+	private BookTicketRequest toBookTicketRequest(BookingRequest bookingRequest) {
+		return BookTicketRequest.builder()
+				.trainId(bookingRequest.getTrainId())
+				.departureDate(bookingRequest.getDepartureDate())
+				.numberOfSeats(bookingRequest.getNumberOfSeats())
+				.totalPrice(bookingRequest.getTotalPrice())
+				.seatNumbers(bookingRequest.getSeatNumbers() != null
+						? List.of(bookingRequest.getSeatNumbers().split(",")) : null)
+				.build();
+	}
+}
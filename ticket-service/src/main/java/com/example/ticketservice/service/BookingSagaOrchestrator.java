@@ -0,0 +1,550 @@
+package com.example.ticketservice.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ticketservice.client.DownstreamLimiters;
+import com.example.ticketservice.client.InventoryServiceClient;
+import com.example.ticketservice.client.PaymentServiceClient;
+import com.example.ticketservice.client.ReservationBatcher;
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.BatchReleaseRequest;
+import com.example.ticketservice.dto.BookTicketRequest;
+import com.example.ticketservice.dto.PaymentResponse;
+import com.example.ticketservice.dto.ReservationResult;
+import com.example.ticketservice.dto.ReserveSeatRequest;
+import com.example.ticketservice.entity.BookingSaga;
+import com.example.ticketservice.entity.BookingSaga.SagaStatus;
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.event.TicketEventPublisher;
+import com.example.ticketservice.exception.InsufficientSeatsException;
+import com.example.ticketservice.exception.TicketOperationException;
+import com.example.ticketservice.repository.BookingSagaRepository;
+import com.example.ticketservice.repository.TicketRepository;
+
+/**
+ * Orchestrates the booking saga: reserve seats -> create ticket -> await payment -> confirm,
+ * with release-seats and refund as compensations.
+ * Every step is committed to the booking_sagas table before the next one starts, so after a
+ * failure or crash the recovery worker knows exactly which compensations are still owed.
+ * Seats are reserved under the saga's reservation id, so a reservation whose outcome is
+ * unknown (timeout, crash) can be released safely: inventory releases by id at most once
+ * and rejects a reserve that arrives after its release.
+ */
+@Service
+public class BookingSagaOrchestrator {
+
+	private static final Logger logger = LoggerFactory.getLogger(BookingSagaOrchestrator.class);
+
+	private static final int MAX_ERROR_LENGTH = 500;
+	private static final List<SagaStatus> RECOVERABLE_STATUSES = List.of(
+			SagaStatus.STARTED,
+			SagaStatus.SEATS_RESERVED,
+			SagaStatus.COMPENSATING
+	);
+
+	private final BookingSagaRepository sagaRepository;
+	private final TicketRepository ticketRepository;
+	private final InventoryServiceClient inventoryServiceClient;
+	private final PaymentServiceClient paymentServiceClient;
+	private final DownstreamLimiters downstreamLimiters;
+	private final ReservationBatcher reservationBatcher;
+	private final TicketEventPublisher eventPublisher;
+	private final TicketStatistics ticketStatistics;
+	private final TransactionTemplate newTransaction;
+
+	// How long a step may run before the recovery worker considers it stuck
+	@Value("${ticket.saga.step-timeout:60s}")
+	private Duration stepTimeout;
+
+	@Value("${ticket.saga.max-attempts:20}")
+	private int maxAttempts;
+
+	@Value("${ticket.saga.max-backoff:5m}")
+	private Duration maxBackoff;
+
+	public BookingSagaOrchestrator(BookingSagaRepository sagaRepository,
+			TicketRepository ticketRepository,
+			InventoryServiceClient inventoryServiceClient,
+			PaymentServiceClient paymentServiceClient,
+			DownstreamLimiters downstreamLimiters,
+			ReservationBatcher reservationBatcher,
+			TicketEventPublisher eventPublisher,
+			TicketStatistics ticketStatistics,
+			PlatformTransactionManager transactionManager) {
+		this.sagaRepository = sagaRepository;
+		this.ticketRepository = ticketRepository;
+		this.inventoryServiceClient = inventoryServiceClient;
+		this.paymentServiceClient = paymentServiceClient;
+		this.downstreamLimiters = downstreamLimiters;
+		this.reservationBatcher = reservationBatcher;
+		this.eventPublisher = eventPublisher;
+		this.ticketStatistics = ticketStatistics;
+		// Saga steps always commit on their own, also when called from afterCommit callbacks
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	// ============ Forward Steps ============
+
+	/**
+	 * Run the saga up to AWAITING_PAYMENT and return the PENDING ticket with its reservation.
+	 * Seats are reserved and priced by inventory in one call; the ticket is priced from that quote.
+	 * If the reservation fails without a definite answer, or ticket creation fails after seats
+	 * were reserved, the reservation is released right away (or by the recovery worker if
+	 * inventory is unreachable).
+	 */
+	public Booking book(Long userId, BookTicketRequest request) {
+		BookingSaga saga = newTransaction.execute(status -> sagaRepository.save(BookingSaga.builder()
+				.userId(userId)
+				.trainId(request.getTrainId())
+				.departureDate(request.getDepartureDate())
+				.numberOfSeats(request.getNumberOfSeats())
+				.reservationId(UUID.randomUUID().toString())
+				.nextAttemptAt(LocalDateTime.now().plus(stepTimeout))
+				.build()));
+		Long sagaId = saga.getId();
+
+		// Step 1: Reserve and quote seats
+		ReservationResult reservation;
+		try {
+			ReserveSeatRequest reserveRequest = ReserveSeatRequest.builder()
+					.trainId(request.getTrainId())
+					.numberOfSeats(request.getNumberOfSeats())
+					.departureDate(request.getDepartureDate())
+					.seatNumbers(request.getSeatNumbers())
+					.reservationId(saga.getReservationId())
+					.build();
+			// Coalesced with concurrent reservations on the same schedule
+			reservation = reservationBatcher.reserve(reserveRequest);
+		} catch (RuntimeException e) {
+			// Timed out or failed in flight: inventory may have applied the reservation (or still will)
+			logger.warn("Seat reservation for saga {} failed without an answer, releasing it: {}", sagaId, e.getMessage());
+			newTransaction.executeWithoutResult(status -> releaseUnknownReservation(load(sagaId),
+					"Seat reservation failed: " + e.getMessage()));
+			resume(sagaId);
+			throw e;
+		}
+		if (!reservation.isReserved()) {
+			logger.warn("Seat reservation rejected for train {}: {}", request.getTrainId(), reservation.getMessage());
+			markFailed(sagaId, "Seat reservation rejected: " + reservation.getMessage());
+			if (reservation.getAvailableSeats() != null) {
+				throw new InsufficientSeatsException(request.getTrainId(), request.getNumberOfSeats(),
+						reservation.getAvailableSeats());
+			}
+			throw new TicketOperationException("Failed to reserve seats. Please try again.");
+		}
+		BigDecimal totalPrice = reservation.getTotalPrice() != null ? reservation.getTotalPrice() : request.getTotalPrice();
+		if (request.getTotalPrice() != null && request.getTotalPrice().compareTo(totalPrice) != 0) {
+			logger.info("Client price {} differs from quoted price {} for train {}; using the quote",
+					request.getTotalPrice(), totalPrice, request.getTrainId());
+		}
+		Boolean advanced = newTransaction.execute(status -> {
+			BookingSaga current = load(sagaId);
+			if (current.getStatus() != SagaStatus.STARTED) {
+				// The step outlived its timeout and recovery already released the reservation
+				return false;
+			}
+			current.setStatus(SagaStatus.SEATS_RESERVED);
+			current.setSeatsHeld(true);
+			current.setNextAttemptAt(LocalDateTime.now().plus(stepTimeout));
+			return true;
+		});
+		if (!Boolean.TRUE.equals(advanced)) {
+			logger.warn("Saga {} was taken over by recovery while reserving seats", sagaId);
+			throw new TicketOperationException("Seat reservation timed out. Please try again.");
+		}
+
+		// Step 2: Create the PENDING ticket and advance the saga in one transaction
+		try {
+			Ticket created = newTransaction.execute(status -> {
+				Ticket ticket = ticketRepository.save(Ticket.builder()
+						.userId(userId)
+						.trainId(request.getTrainId())
+						.scheduledDeparture(request.getDepartureDate())
+						.departureDate(Ticket.departureDay(request.getDepartureDate()))
+						.numberOfSeats(request.getNumberOfSeats())
+						.totalPrice(totalPrice)
+						.status(TicketStatus.PENDING)
+						.build());
+				BookingSaga current = load(sagaId);
+				current.setTicketId(ticket.getId());
+				current.setStatus(SagaStatus.AWAITING_PAYMENT);
+				current.setNextAttemptAt(null);
+				eventPublisher.publishBookingCreated(ticket);
+				ticketStatistics.recordCreated(ticket);
+				return ticket;
+			});
+			return new Booking(created, reservation);
+		} catch (RuntimeException e) {
+			logger.error("Ticket creation failed for saga: {}, releasing seats", sagaId, e);
+			newTransaction.executeWithoutResult(status ->
+					startCompensation(load(sagaId), false, "Ticket creation failed: " + e.getMessage()));
+			resume(sagaId);
+			throw new TicketOperationException("Failed to create ticket. Please try again.");
+		}
+	}
+
+	/**
+	 * Ticket confirmed: close the saga in the caller's transaction
+	 */
+	public void onConfirmed(Long ticketId) {
+		sagaRepository.findByTicketId(ticketId).ifPresent(saga -> {
+			saga.setStatus(SagaStatus.COMPLETED);
+			saga.setNextAttemptAt(null);
+			sagaRepository.save(saga);
+		});
+	}
+
+	/**
+	 * Ticket cancelled or expired: record the owed compensations in the caller's transaction
+	 * and run them once it commits. Tickets booked before sagas existed get a saga here.
+	 */
+	public void onCancelled(Ticket ticket, boolean refund) {
+		BookingSaga saga = sagaFor(ticket);
+		startCompensation(saga, refund, null);
+		Long sagaId = sagaRepository.save(saga).getId();
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					BookingSagaOrchestrator.this.resume(sagaId);
+				}
+			});
+		} else {
+			resume(sagaId);
+		}
+	}
+
+	/**
+	 * Expired tickets: record the seat releases in the caller's transaction without running them,
+	 * so the caller can release a whole page per schedule with {@link #releaseSeatsInBatch}.
+	 * The sagas are leased for one step timeout; anything the batch doesn't finish is picked
+	 * up by the recovery worker afterwards. Returns the saga ids.
+	 */
+	public List<Long> onExpired(List<Ticket> tickets) {
+		LocalDateTime leaseUntil = LocalDateTime.now().plus(stepTimeout);
+		List<BookingSaga> sagas = new ArrayList<>(tickets.size());
+		for (Ticket ticket : tickets) {
+			BookingSaga saga = sagaFor(ticket);
+			startCompensation(saga, false, null);
+			saga.setNextAttemptAt(leaseUntil);
+			sagas.add(saga);
+		}
+		return sagaRepository.saveAll(sagas).stream()
+				.map(BookingSaga::getId)
+				.toList();
+	}
+
+	/**
+	 * Release the seats of the given sagas with one inventory call per schedule (train + date).
+	 * Sagas of a schedule whose release failed keep their seats and are retried one by one
+	 * by the recovery worker. Returns the number of sagas compensated.
+	 */
+	public int releaseSeatsInBatch(List<Long> sagaIds) {
+		if (sagaIds.isEmpty()) {
+			return 0;
+		}
+		List<BookingSaga> sagas = newTransaction.execute(status -> sagaRepository.findAllById(sagaIds));
+		Map<String, List<BookingSaga>> bySchedule = new LinkedHashMap<>();
+		for (BookingSaga saga : sagas) {
+			if (saga.getStatus() == SagaStatus.COMPENSATING && saga.isSeatsHeld() && !saga.isRefundPending()) {
+				bySchedule.computeIfAbsent(saga.getTrainId() + "_" + saga.getDepartureDate(), key -> new ArrayList<>())
+						.add(saga);
+			}
+		}
+
+		Set<Long> released = new HashSet<>();
+		for (List<BookingSaga> schedule : bySchedule.values()) {
+			// Sagas with a reservation id release by id, older ones by seat count
+			Map<Boolean, List<BookingSaga>> byKind = new LinkedHashMap<>();
+			schedule.forEach(saga -> byKind.computeIfAbsent(saga.getReservationId() != null, key -> new ArrayList<>())
+					.add(saga));
+			for (List<BookingSaga> group : byKind.values()) {
+				BookingSaga first = group.get(0);
+				int seats = group.stream().mapToInt(BookingSaga::getNumberOfSeats).sum();
+				try {
+					if (releaseGroup(group)) {
+						group.forEach(saga -> released.add(saga.getId()));
+					} else {
+						logger.warn("Batch release of {} seats for train {} on {} failed; leaving {} sagas to recovery",
+								seats, first.getTrainId(), first.getDepartureDate(), group.size());
+					}
+				} catch (Exception e) {
+					logger.warn("Batch release of {} seats for train {} on {} failed: {}",
+							seats, first.getTrainId(), first.getDepartureDate(), e.getMessage());
+				}
+			}
+		}
+
+		if (!released.isEmpty()) {
+			newTransaction.executeWithoutResult(status -> sagaRepository.findAllById(released).forEach(saga -> {
+				saga.setSeatsHeld(false);
+				saga.setStatus(SagaStatus.COMPENSATED);
+				saga.setNextAttemptAt(null);
+				saga.setLastError(null);
+			}));
+		}
+		// Failed groups become due right away instead of waiting out the lease
+		List<Long> pending = sagas.stream()
+				.map(BookingSaga::getId)
+				.filter(id -> !released.contains(id))
+				.toList();
+		if (!pending.isEmpty()) {
+			LocalDateTime now = LocalDateTime.now();
+			newTransaction.executeWithoutResult(status -> sagaRepository.findAllById(pending).forEach(saga -> {
+				if (saga.getStatus() == SagaStatus.COMPENSATING) {
+					saga.setNextAttemptAt(now);
+				}
+			}));
+		}
+		return released.size();
+	}
+
+	// ============ Recovery ============
+
+	/**
+	 * Resume up to batchSize sagas whose step timed out or whose compensation is due.
+	 * Returns the number of sagas picked up.
+	 */
+	public int recoverDue(int batchSize) {
+		List<Long> dueIds = sagaRepository.findDueIds(
+				RECOVERABLE_STATUSES, LocalDateTime.now(), PageRequest.of(0, batchSize));
+		for (Long sagaId : dueIds) {
+			try {
+				resume(sagaId);
+			} catch (Exception e) {
+				logger.error("Failed to resume saga: {}", sagaId, e);
+			}
+		}
+		return dueIds.size();
+	}
+
+	/**
+	 * Drive a saga forward from its persisted state. Returns quietly if it isn't due
+	 * or another worker holds the lease.
+	 */
+	public void resume(Long sagaId) {
+		LocalDateTime now = LocalDateTime.now();
+		Integer leased = newTransaction.execute(status -> sagaRepository.lease(sagaId, now, now.plus(stepTimeout)));
+		if (leased == null || leased == 0) {
+			return;
+		}
+
+		BookingSaga saga = newTransaction.execute(status -> load(sagaId));
+		switch (saga.getStatus()) {
+			case STARTED -> {
+				if (saga.getReservationId() == null) {
+					// Saga from before reservation ids: releasing by count could over-release
+					markFailed(sagaId, "Interrupted during seat reservation; inventory state unknown");
+					return;
+				}
+				// Crashed mid-reservation: release by id, which is a no-op if inventory never reserved
+				newTransaction.executeWithoutResult(status -> {
+					BookingSaga current = load(sagaId);
+					releaseUnknownReservation(current, "Interrupted during seat reservation");
+					current.setNextAttemptAt(now.plus(stepTimeout));
+				});
+				runCompensations(sagaId);
+			}
+			case SEATS_RESERVED -> {
+				// Crashed before the ticket was created
+				newTransaction.executeWithoutResult(status -> {
+					BookingSaga current = load(sagaId);
+					startCompensation(current, false, "Interrupted before ticket creation");
+					// Keep our lease while compensating
+					current.setNextAttemptAt(now.plus(stepTimeout));
+				});
+				runCompensations(sagaId);
+			}
+			case COMPENSATING -> runCompensations(sagaId);
+			default -> logger.debug("Saga {} has nothing to resume in status {}", sagaId, saga.getStatus());
+		}
+	}
+
+	// ============ Compensations ============
+
+	private void runCompensations(Long sagaId) {
+		BookingSaga saga = newTransaction.execute(status -> load(sagaId));
+		String error = null;
+
+		if (saga.isSeatsHeld()) {
+			try {
+				if (releaseSeats(saga)) {
+					// Persist right away so a later failure never releases the same seats twice
+					newTransaction.executeWithoutResult(status -> load(sagaId).setSeatsHeld(false));
+					saga.setSeatsHeld(false);
+				} else {
+					error = "Seat release failed";
+				}
+			} catch (Exception e) {
+				error = "Seat release failed: " + e.getMessage();
+			}
+		}
+
+		if (saga.isRefundPending()) {
+			try {
+				if (refund(saga)) {
+					saga.setRefundPending(false);
+				} else {
+					error = "Refund failed";
+				}
+			} catch (Exception e) {
+				error = "Refund failed: " + e.getMessage();
+			}
+		}
+
+		String lastError = error;
+		boolean refundPending = saga.isRefundPending();
+		newTransaction.executeWithoutResult(status -> {
+			BookingSaga current = load(sagaId);
+			current.setRefundPending(refundPending);
+			if (!current.isSeatsHeld() && !current.isRefundPending()) {
+				current.setStatus(SagaStatus.COMPENSATED);
+				current.setNextAttemptAt(null);
+				current.setLastError(null);
+				logger.info("Saga {} compensated (ticket: {})", sagaId, current.getTicketId());
+				return;
+			}
+
+			int attempts = current.getAttempts() + 1;
+			current.setAttempts(attempts);
+			current.setLastError(truncate(lastError));
+			if (attempts >= maxAttempts) {
+				current.setStatus(SagaStatus.FAILED);
+				current.setNextAttemptAt(null);
+				logger.error("Saga {} gave up after {} attempts (seatsHeld: {}, refundPending: {}): {}",
+						sagaId, attempts, current.isSeatsHeld(), current.isRefundPending(), lastError);
+			} else {
+				current.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+				logger.warn("Saga {} compensation attempt {} incomplete: {}", sagaId, attempts, lastError);
+			}
+		});
+	}
+
+	private boolean releaseSeats(BookingSaga saga) {
+		logger.debug("Releasing {} seats for train: {}", saga.getNumberOfSeats(), saga.getTrainId());
+		return releaseGroup(List.of(saga));
+	}
+
+	/**
+	 * Release the seats of sagas on one schedule in one inventory call: by reservation id when
+	 * the sagas have one (all or none of the group), otherwise by their total seat count
+	 */
+	private boolean releaseGroup(List<BookingSaga> group) {
+		BookingSaga first = group.get(0);
+		if (first.getReservationId() != null) {
+			ApiResponse<Boolean> response = downstreamLimiters.call(InventoryServiceClient.SERVICE_ID,
+					() -> inventoryServiceClient.releaseReservations(BatchReleaseRequest.builder()
+							.trainId(first.getTrainId())
+							.departureDate(first.getDepartureDate())
+							.reservationIds(group.stream().map(BookingSaga::getReservationId).toList())
+							.build()));
+			return response != null && Boolean.TRUE.equals(response.getData());
+		}
+		int seats = group.stream().mapToInt(BookingSaga::getNumberOfSeats).sum();
+		Boolean released = downstreamLimiters.call(InventoryServiceClient.SERVICE_ID,
+				() -> inventoryServiceClient.releaseSeats(first.getTrainId(), first.getDepartureDate(), seats));
+		return released != null && released;
+	}
+
+	private boolean refund(BookingSaga saga) {
+		logger.debug("Processing refund for ticket: {}", saga.getTicketId());
+		PaymentResponse payment = downstreamLimiters.call(PaymentServiceClient.SERVICE_ID,
+				() -> paymentServiceClient.getPaymentByTicketId(saga.getTicketId()));
+		if (payment == null) {
+			// Payment service unreachable; we can't tell whether there is anything to refund
+			return false;
+		}
+		if (payment.isRefunded() || !payment.isCompleted()) {
+			return true;
+		}
+		PaymentResponse refund = downstreamLimiters.call(PaymentServiceClient.SERVICE_ID,
+				() -> paymentServiceClient.refundPayment(payment.getId(), saga.getUserId()));
+		return refund != null && refund.isRefunded();
+	}
+
+	// ============ Helper Methods ============
+
+	private void startCompensation(BookingSaga saga, boolean refund, String reason) {
+		saga.setStatus(SagaStatus.COMPENSATING);
+		saga.setRefundPending(saga.isRefundPending() || refund);
+		saga.setAttempts(0);
+		saga.setNextAttemptAt(LocalDateTime.now());
+		saga.setLastError(truncate(reason));
+	}
+
+	/**
+	 * Owe a release for a reservation whose outcome is unknown; releasing by id is safe
+	 * whether or not inventory applied it
+	 */
+	private void releaseUnknownReservation(BookingSaga saga, String reason) {
+		saga.setSeatsHeld(true);
+		startCompensation(saga, false, reason);
+	}
+
+	private BookingSaga sagaFor(Ticket ticket) {
+		return sagaRepository.findByTicketId(ticket.getId())
+				.orElseGet(() -> BookingSaga.builder()
+						.userId(ticket.getUserId())
+						.trainId(ticket.getTrainId())
+						.departureDate(ticket.getScheduledDeparture())
+						.numberOfSeats(ticket.getNumberOfSeats())
+						.ticketId(ticket.getId())
+						.seatsHeld(true)
+						.build());
+	}
+
+	private void markFailed(Long sagaId, String reason) {
+		newTransaction.executeWithoutResult(status -> {
+			BookingSaga saga = load(sagaId);
+			saga.setStatus(SagaStatus.FAILED);
+			saga.setNextAttemptAt(null);
+			saga.setLastError(truncate(reason));
+		});
+	}
+
+	private BookingSaga load(Long sagaId) {
+		return sagaRepository.findById(sagaId)
+				.orElseThrow(() -> new IllegalStateException("Booking saga not found: " + sagaId));
+	}
+
+	private Duration backoff(int attempts) {
+		Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 16));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+
+	private static String truncate(String message) {
+		if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+			return message;
+		}
+		return message.substring(0, MAX_ERROR_LENGTH);
+	}
+
+	/**
+	 * A booked PENDING ticket and the inventory reservation (quote) behind it
+	 */
+	public record Booking(Ticket ticket, ReservationResult reservation) {
+	}
+}
@@ -0,0 +1,196 @@
+package com.example.ticketservice.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed blob store on disk: each blob is stored once under the hex SHA-256 of its
+ * content ({root}/ab/abcdef...), so identical renders share a file and a stored file never
+ * changes. Writes go to a temp file first and are moved into place, so readers never see a
+ * partial blob. storage-dir must be a volume shared by all instances (or a mounted object-store
+ * bucket): the ticket_documents row that points at a blob is shared, so a blob kept on one
+ * instance's local disk would be missing on the others. Only the dev profile may fall back to
+ * a local temp directory. Blobs no longer referenced by any row are removed by a periodic sweep.
+ */
+@Component
+public class DocumentStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(DocumentStore.class);
+
+	private static final String DEV_PROFILE = "dev";
+	private static final String TEMP_SUFFIX = ".tmp";
+	// Blobs looked up per reference query during a sweep
+	private static final int SWEEP_BATCH_SIZE = 500;
+
+	private final Path root;
+
+	public DocumentStore(@Value("${ticket.documents.storage-dir:}") String storageDir, Environment environment) {
+		if (storageDir.isBlank()) {
+			if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+				throw new IllegalStateException("No ticket document store configured: set ticket.documents.storage-dir "
+						+ "to a volume shared by all instances, or activate the '" + DEV_PROFILE + "' profile to use a local directory");
+			}
+			storageDir = Paths.get(System.getProperty("java.io.tmpdir"), "ticket-documents").toString();
+			logger.warn("No ticket document store configured (ticket.documents.storage-dir), using local {}", storageDir);
+		}
+		this.root = Paths.get(storageDir).toAbsolutePath();
+		try {
+			Files.createDirectories(root);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create document store at " + root, e);
+		}
+		logger.info("Ticket document store at {}", root);
+	}
+
+	/**
+	 * Store content and return its hash; a blob that is already present is not written again
+	 */
+	public String put(byte[] content) {
+		String hash = sha256(content);
+		Path target = pathOf(hash);
+		try {
+			if (Files.exists(target)) {
+				try {
+					// Reused by a new render: restart its age so a concurrent sweep leaves it alone
+					Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+					return hash;
+				} catch (NoSuchFileException e) {
+					// Swept in between; store it again below
+				}
+			}
+			Files.createDirectories(target.getParent());
+			Path temp = Files.createTempFile(target.getParent(), hash, TEMP_SUFFIX);
+			try {
+				Files.write(temp, content);
+				moveIntoPlace(temp, target);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to store document " + hash, e);
+		}
+		return hash;
+	}
+
+	/**
+	 * File of a stored blob, if present
+	 */
+	public Optional<Path> find(String hash) {
+		Path path = pathOf(hash);
+		return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+	}
+
+	/**
+	 * Delete blobs (and leftover temp files) older than minAge whose hash the given lookup does not
+	 * report as referenced. The lookup gets batches of candidate hashes and returns those still in use.
+	 * The age limit covers the gap between storing a blob and recording it; a blob deleted right after
+	 * being reused is re-rendered on the next download.
+	 */
+	public int deleteUnreferenced(Duration minAge, Function<Collection<String>, Collection<String>> referenced) {
+		Instant cutoff = Instant.now().minus(minAge);
+		int deleted = 0;
+		try (DirectoryStream<Path> shards = Files.newDirectoryStream(root, Files::isDirectory)) {
+			for (Path shard : shards) {
+				List<Path> candidates = new ArrayList<>();
+				try (DirectoryStream<Path> files = Files.newDirectoryStream(shard)) {
+					for (Path file : files) {
+						if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+							candidates.add(file);
+						}
+						if (candidates.size() == SWEEP_BATCH_SIZE) {
+							deleted += deleteUnreferenced(candidates, referenced);
+							candidates.clear();
+						}
+					}
+				}
+				deleted += deleteUnreferenced(candidates, referenced);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to sweep document store " + root, e);
+		}
+		return deleted;
+	}
+
+	// ============ Helper Methods ============
+
+	private int deleteUnreferenced(List<Path> candidates, Function<Collection<String>, Collection<String>> referenced)
+			throws IOException {
+		if (candidates.isEmpty()) {
+			return 0;
+		}
+		List<Path> blobs = new ArrayList<>();
+		int deleted = 0;
+		for (Path file : candidates) {
+			if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+				// Left behind by a write that died before its move
+				Files.deleteIfExists(file);
+			} else {
+				blobs.add(file);
+			}
+		}
+		Set<String> inUse = new HashSet<>(referenced.apply(blobs.stream().map(blob -> blob.getFileName().toString()).toList()));
+		for (Path blob : blobs) {
+			if (!inUse.contains(blob.getFileName().toString()) && Files.deleteIfExists(blob)) {
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	private Path pathOf(String hash) {
+		if (hash.length() != 64 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+			throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+		}
+		return root.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	private static void moveIntoPlace(Path temp, Path target) throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			// Same content stored concurrently; either copy is fine
+		} catch (AtomicMoveNotSupportedException e) {
+			try {
+				Files.move(temp, target);
+			} catch (FileAlreadyExistsException ignored) {
+				// Same content stored concurrently
+			}
+		}
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
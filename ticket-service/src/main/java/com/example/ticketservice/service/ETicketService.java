@@ -0,0 +1,267 @@
+package com.example.ticketservice.service;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.ticketservice.dto.ETicketResponse;
+import com.example.ticketservice.dto.TicketValidationResult;
+import com.example.ticketservice.dto.ValidateTicketsRequest;
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.eticket.ETicket;
+import com.example.ticketservice.eticket.ETicketKeys;
+import com.example.ticketservice.eticket.ETicketSigner;
+import com.example.ticketservice.eticket.ETicketVerifier;
+import com.example.ticketservice.eticket.RevocationFilter;
+import com.example.ticketservice.exception.TicketNotFoundException;
+import com.example.ticketservice.exception.TicketOperationException;
+import com.example.ticketservice.repository.TicketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Issues signed e-tickets for confirmed tickets and validates them without database access.
+ * Validation uses the same embeddable ETicketVerifier that gate scanners run offline; the
+ * revocation filter it checks is rebuilt from the cancelled tickets of upcoming days on a
+ * schedule and also updated in place when this instance cancels a ticket.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ETicketService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ETicketService.class);
+
+	private static final String DEV_PROFILE = "dev";
+
+	private final TicketRepository ticketRepository;
+	private final QrCodeRenderer qrCodeRenderer;
+	private final ETicketSigner signer;
+	private final ETicketVerifier verifier;
+	private final Map<Integer, String> publicKeys = new LinkedHashMap<>();
+	private final Map<ETicketVerifier.Outcome, Counter> validations = new EnumMap<>(ETicketVerifier.Outcome.class);
+	// Revoked here since the last rebuild started; re-applied so a rebuild racing a cancellation can't drop it
+	private final Set<Long> pendingRevocations = ConcurrentHashMap.newKeySet();
+
+	@Value("${ticket.eticket.max-batch-size:5000}")
+	private int maxBatchSize;
+
+	@Value("${ticket.eticket.qr-size:320}")
+	private int qrSize;
+
+	@Value("${ticket.eticket.revocation.expected-entries:100000}")
+	private int expectedRevocations;
+
+	@Value("${ticket.eticket.revocation.false-positive-rate:0.0001}")
+	private double falsePositiveRate;
+
+	// Tokens for days before yesterday are rejected as expired, so older cancellations need not be listed
+	@Value("${ticket.eticket.revocation.horizon-days:180}")
+	private int horizonDays;
+
+	public ETicketService(TicketRepository ticketRepository,
+			QrCodeRenderer qrCodeRenderer,
+			MeterRegistry meterRegistry,
+			Environment environment,
+			@Value("${ticket.eticket.key-id:1}") int keyId,
+			@Value("${ticket.eticket.private-key:}") String privateKey,
+			@Value("${ticket.eticket.public-key:}") String publicKey,
+			@Value("${ticket.eticket.retired-public-keys:}") String retiredPublicKeys) {
+		this.ticketRepository = ticketRepository;
+		this.qrCodeRenderer = qrCodeRenderer;
+
+		PrivateKey signingKey;
+		PublicKey verificationKey;
+		if (privateKey.isBlank() || publicKey.isBlank()) {
+			// An ephemeral key differs per instance under the same key id and is lost on restart,
+			// so tokens would fail validation elsewhere; only acceptable on a single dev instance
+			if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+				throw new IllegalStateException("No e-ticket signing key configured: set ticket.eticket.private-key "
+						+ "and ticket.eticket.public-key, or activate the '" + DEV_PROFILE + "' profile to use an ephemeral key");
+			}
+			logger.warn("No e-ticket signing key configured (ticket.eticket.private-key/public-key), using an ephemeral key");
+			KeyPair keyPair = ETicketKeys.generate();
+			signingKey = keyPair.getPrivate();
+			verificationKey = keyPair.getPublic();
+		} else {
+			signingKey = ETicketKeys.privateKey(privateKey);
+			verificationKey = ETicketKeys.publicKey(publicKey);
+		}
+		this.signer = new ETicketSigner(keyId, signingKey);
+
+		// Keys of earlier rotations ("keyId:base64,keyId:base64") keep already issued tokens valid
+		Map<Integer, PublicKey> keys = new LinkedHashMap<>();
+		keys.put(keyId, verificationKey);
+		for (String entry : retiredPublicKeys.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":", 2);
+			keys.putIfAbsent(Integer.parseInt(parts[0]), ETicketKeys.publicKey(parts[1]));
+		}
+		keys.forEach((id, key) -> publicKeys.put(id, ETicketKeys.encode(key)));
+		this.verifier = new ETicketVerifier(keys, null);
+
+		for (ETicketVerifier.Outcome outcome : ETicketVerifier.Outcome.values()) {
+			validations.put(outcome, Counter.builder("ticket.eticket.validations")
+					.description("E-ticket validations by outcome")
+					.tag("outcome", outcome.name())
+					.register(meterRegistry));
+		}
+	}
+
+	// ============ Issuing ============
+
+	/**
+	 * Signed e-ticket of a confirmed ticket owned by the user
+	 */
+	public ETicketResponse issue(Long ticketId, Long userId) {
+		Ticket ticket = ticketRepository.findByIdAndUserId(ticketId, userId)
+				.orElseThrow(() -> new TicketNotFoundException(ticketId));
+		return issue(ticket);
+	}
+
+	/**
+	 * Signed e-ticket of an already loaded confirmed ticket
+	 */
+	public ETicketResponse issue(Ticket ticket) {
+		if (ticket.getStatus() != TicketStatus.CONFIRMED) {
+			throw new TicketOperationException(
+					String.format("E-tickets are only issued for confirmed tickets. Current status: %s", ticket.getStatus()));
+		}
+		LocalDate departureDay = ticket.getDepartureDate() != null
+				? ticket.getDepartureDate()
+				: Ticket.departureDay(ticket.getScheduledDeparture());
+		ETicket eTicket = new ETicket(signer.keyId(), ticket.getId(), ticket.getTrainId(), departureDay,
+				ticket.getNumberOfSeats(), Math.toIntExact(ticket.getVersion() != null ? ticket.getVersion() : 0L));
+		return ETicketResponse.builder()
+				.ticketId(ticket.getId())
+				.trainId(ticket.getTrainId())
+				.departureDate(departureDay)
+				.numberOfSeats(ticket.getNumberOfSeats())
+				.keyId(signer.keyId())
+				.token(signer.sign(eTicket))
+				.build();
+	}
+
+	/**
+	 * The e-ticket as a PNG QR code
+	 */
+	public byte[] qrCode(Long ticketId, Long userId) {
+		return qrCodeRenderer.png(issue(ticketId, userId).getToken(), qrSize);
+	}
+
+	// ============ Validation ============
+
+	/**
+	 * Validate a batch of scanned tokens; signatures and the revocation filter only, no database access
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public List<TicketValidationResult> validate(ValidateTicketsRequest request) {
+		if (request.getTokens().size() > maxBatchSize) {
+			throw new TicketOperationException("At most " + maxBatchSize + " tokens can be validated per request");
+		}
+		List<TicketValidationResult> results = new ArrayList<>(request.getTokens().size());
+		for (int i = 0; i < request.getTokens().size(); i++) {
+			ETicketVerifier.Result result = verifier.verify(request.getTokens().get(i), request.getTrainId(), request.getDate());
+			validations.get(result.outcome()).increment();
+			TicketValidationResult.TicketValidationResultBuilder builder = TicketValidationResult.builder()
+					.index(i)
+					.valid(result.valid())
+					.outcome(result.outcome().name());
+			if (result.ticket() != null) {
+				builder.ticketId(result.ticket().ticketId())
+						.trainId(result.ticket().trainId())
+						.departureDate(result.ticket().departureDay())
+						.numberOfSeats(result.ticket().numberOfSeats());
+			}
+			results.add(builder.build());
+		}
+		return results;
+	}
+
+	/**
+	 * Public keys by key id (base64 X.509) for offline validators
+	 */
+	public Map<Integer, String> publicKeys() {
+		return publicKeys;
+	}
+
+	// ============ Revocation ============
+
+	/**
+	 * Revoke a cancelled ticket's e-tickets on this instance once the cancellation commits;
+	 * other instances and scanners pick it up with the next filter rebuild
+	 */
+	public void revoke(Long ticketId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					addRevocation(ticketId);
+				}
+			});
+		} else {
+			addRevocation(ticketId);
+		}
+	}
+
+	/**
+	 * Current revocation filter, or null before the first build
+	 */
+	public RevocationFilter revocations() {
+		return verifier.revocations();
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.eticket.revocation.refresh-interval-ms:60000}")
+	public void rebuildRevocations() {
+		LocalDate today = LocalDate.now();
+		try {
+			// Taken before the query, so all of these are already committed and in its result
+			Set<Long> committed = Set.copyOf(pendingRevocations);
+			List<Long> cancelled = ticketRepository.findCancelledIdsDepartingBetween(
+					today.minusDays(1), today.plusDays(horizonDays));
+			RevocationFilter filter = RevocationFilter.create(
+					Math.max(expectedRevocations, cancelled.size() * 2), falsePositiveRate, System.currentTimeMillis());
+			cancelled.forEach(filter::add);
+			verifier.updateRevocations(filter);
+			pendingRevocations.forEach(filter::add);
+			pendingRevocations.removeAll(committed);
+			logger.debug("Rebuilt e-ticket revocation filter: {} tickets, {} bytes", cancelled.size(), filter.sizeInBytes());
+		} catch (Exception e) {
+			// Keep validating against the previous filter
+			logger.warn("Failed to rebuild e-ticket revocation filter: {}", e.getMessage());
+		}
+	}
+
+	// ============ Helper Methods ============
+
+	private void addRevocation(Long ticketId) {
+		pendingRevocations.add(ticketId);
+		RevocationFilter filter = verifier.revocations();
+		if (filter != null) {
+			filter.add(ticketId);
+		}
+	}
+}
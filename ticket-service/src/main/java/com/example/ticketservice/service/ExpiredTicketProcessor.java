@@ -0,0 +1,164 @@
+package com.example.ticketservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.event.TicketEventPublisher;
+import com.example.ticketservice.repository.TicketRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cancels expired PENDING tickets page by page.
+ * Each page is claimed with FOR UPDATE SKIP LOCKED and cancelled in its own short transaction,
+ * so several instances can run at once without overlapping. After commit the page's seats are
+ * released with one inventory call per schedule. Work is split into id shards processed in
+ * parallel by a bounded pool.
+ */
+@Service
+public class ExpiredTicketProcessor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExpiredTicketProcessor.class);
+
+	private static final String CANCELLATION_REASON = "Auto-cancelled due to payment timeout";
+
+	private final TicketRepository ticketRepository;
+	private final BookingSagaOrchestrator bookingSagaOrchestrator;
+	private final TicketEventPublisher eventPublisher;
+	private final UserCacheGeneration userCacheGeneration;
+	private final TicketStatistics ticketStatistics;
+	private final CacheManager cacheManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ExecutorService executor;
+	private final int parallelism;
+
+	@Value("${ticket.expiry.page-size:500}")
+	private int pageSize;
+
+	// Upper bound per shard and run so one run never monopolises the pool
+	@Value("${ticket.expiry.max-pages-per-run:200}")
+	private int maxPagesPerRun;
+
+	public ExpiredTicketProcessor(TicketRepository ticketRepository,
+			BookingSagaOrchestrator bookingSagaOrchestrator,
+			TicketEventPublisher eventPublisher,
+			UserCacheGeneration userCacheGeneration,
+			TicketStatistics ticketStatistics,
+			CacheManager cacheManager,
+			PlatformTransactionManager transactionManager,
+			@Value("${ticket.expiry.parallelism:4}") int parallelism) {
+		this.ticketRepository = ticketRepository;
+		this.bookingSagaOrchestrator = bookingSagaOrchestrator;
+		this.eventPublisher = eventPublisher;
+		this.userCacheGeneration = userCacheGeneration;
+		this.ticketStatistics = ticketStatistics;
+		this.cacheManager = cacheManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.parallelism = parallelism;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "ticket-expiry-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Cancel all PENDING tickets created before the cutoff; returns the number cancelled
+	 */
+	public int expireBefore(LocalDateTime cutoffTime) {
+		List<Future<Integer>> shards = new ArrayList<>(parallelism);
+		for (int shard = 0; shard < parallelism; shard++) {
+			int current = shard;
+			shards.add(executor.submit(() -> expireShard(cutoffTime, current)));
+		}
+
+		int cancelled = 0;
+		for (Future<Integer> shard : shards) {
+			try {
+				cancelled += shard.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				logger.error("Ticket expiry shard failed", e.getCause());
+			}
+		}
+		return cancelled;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	// ============ Helper Methods ============
+
+	private int expireShard(LocalDateTime cutoffTime, int shard) {
+		int cancelled = 0;
+		for (int page = 0; page < maxPagesPerRun; page++) {
+			int claimed = expirePage(cutoffTime, shard);
+			cancelled += claimed;
+			if (claimed < pageSize) {
+				break;
+			}
+		}
+		return cancelled;
+	}
+
+	private int expirePage(LocalDateTime cutoffTime, int shard) {
+		ExpiredPage page = transactionTemplate.execute(status -> {
+			List<Ticket> tickets = ticketRepository.lockExpiredPendingPage(cutoffTime, parallelism, shard, pageSize);
+			if (tickets.isEmpty()) {
+				return new ExpiredPage(List.of(), List.of());
+			}
+			LocalDateTime now = LocalDateTime.now();
+			for (Ticket ticket : tickets) {
+				ticket.setStatus(TicketStatus.CANCELLED);
+				ticket.setCancellationReason(CANCELLATION_REASON);
+				ticket.setCancelledAt(now);
+				ticketStatistics.recordTransition(ticket, TicketStatus.PENDING);
+				userCacheGeneration.bump(ticket.getUserId());
+				eventPublisher.publishBookingCancelled(ticket);
+			}
+			List<Long> sagaIds = bookingSagaOrchestrator.onExpired(tickets);
+			return new ExpiredPage(tickets.stream().map(Ticket::getId).toList(), sagaIds);
+		});
+		if (page == null || page.ticketIds().isEmpty()) {
+			return 0;
+		}
+
+		evictTickets(page.ticketIds());
+		int released = bookingSagaOrchestrator.releaseSeatsInBatch(page.sagaIds());
+		logger.info("Auto-cancelled {} expired tickets (shard {}), seats released for {}",
+				page.ticketIds().size(), shard, released);
+		return page.ticketIds().size();
+	}
+
+	private void evictTickets(List<Long> ticketIds) {
+		Cache cache = cacheManager.getCache("tickets");
+		if (cache != null) {
+			ticketIds.forEach(cache::evict);
+		}
+	}
+
+	private record ExpiredPage(List<Long> ticketIds, List<Long> sagaIds) {
+	}
+}
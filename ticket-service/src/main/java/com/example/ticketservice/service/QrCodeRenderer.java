@@ -0,0 +1,57 @@
+package com.example.ticketservice.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.stereotype.Component;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+
+/**
+ * Renders short strings (e-ticket tokens) as black-and-white PNG QR codes
+ */
+@Component
+public class QrCodeRenderer {
+
+	private static final int BLACK = 0xFF000000;
+	private static final int WHITE = 0xFFFFFFFF;
+
+	public byte[] png(String content, int size) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageIO.write(image(content, size), "png", out);
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to render QR code", e);
+		}
+	}
+
+	/**
+	 * The QR code as an image, for drawing into larger documents
+	 */
+	public BufferedImage image(String content, int size) {
+		try {
+			BitMatrix matrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, size, size, Map.of(
+					EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+					EncodeHintType.MARGIN, 2));
+			BufferedImage image = new BufferedImage(matrix.getWidth(), matrix.getHeight(), BufferedImage.TYPE_BYTE_BINARY);
+			for (int y = 0; y < matrix.getHeight(); y++) {
+				for (int x = 0; x < matrix.getWidth(); x++) {
+					image.setRGB(x, y, matrix.get(x, y) ? BLACK : WHITE);
+				}
+			}
+			return image;
+		} catch (WriterException e) {
+			throw new IllegalStateException("Failed to render QR code", e);
+		}
+	}
+}
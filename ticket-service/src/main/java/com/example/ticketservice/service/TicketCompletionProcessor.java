@@ -0,0 +1,190 @@
+package com.example.ticketservice.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ticketservice.client.DownstreamLimiters;
+import com.example.ticketservice.client.InventoryServiceClient;
+import com.example.ticketservice.config.TwoLevelCacheManager;
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.ScheduleResponse;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.event.TicketEventPublisher;
+
+/**
+ * Completes the CONFIRMED tickets of schedules that inventory has marked ARRIVED.
+ * Each train-day is completed in chunks of one set-based UPDATE ... RETURNING. Every chunk
+ * transaction first locks the train-day's row in ticket_completion_runs, so chunks of one train-day
+ * run one after another even across instances (or an operator trigger), while different train-days
+ * run in parallel. Per chunk, caches are invalidated in bulk (one multi-key DEL for the tickets,
+ * one pipelined generation bump for the affected users). The chunk that finds nothing left writes
+ * the train-day's single summary event in its own transaction, counted from the tickets table.
+ */
+@Service
+public class TicketCompletionProcessor {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketCompletionProcessor.class);
+
+	private static final String ARRIVED = "ARRIVED";
+	private static final String COMPLETE_CHUNK_SQL = "UPDATE tickets SET status = 'COMPLETED', updated_at = ?, " +
+			"version = COALESCE(version, 0) + 1 " +
+			"WHERE id IN (SELECT id FROM tickets WHERE train_id = ? AND departure_day = ? AND status = 'CONFIRMED' " +
+			"ORDER BY id LIMIT ? FOR UPDATE) " +
+			"RETURNING id, user_id";
+	private static final String CLAIM_RUN_SQL = "INSERT INTO ticket_completion_runs (train_id, departure_day, created_at) " +
+			"VALUES (?, ?, now()) ON CONFLICT (train_id, departure_day) DO NOTHING";
+	private static final String LOCK_RUN_SQL = "SELECT summarized_at FROM ticket_completion_runs " +
+			"WHERE train_id = ? AND departure_day = ? FOR UPDATE";
+	private static final String COUNT_COMPLETED_SQL = "SELECT COUNT(*) AS tickets, COUNT(DISTINCT user_id) AS users " +
+			"FROM tickets WHERE train_id = ? AND departure_day = ? AND status = 'COMPLETED'";
+	private static final String MARK_SUMMARIZED_SQL = "UPDATE ticket_completion_runs SET summarized_at = ? " +
+			"WHERE train_id = ? AND departure_day = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final InventoryServiceClient inventoryServiceClient;
+	private final DownstreamLimiters downstreamLimiters;
+	private final TicketStatistics ticketStatistics;
+	private final UserCacheGeneration userCacheGeneration;
+	private final TwoLevelCacheManager cacheManager;
+	private final TicketEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${ticket.completion.chunk-size:5000}")
+	private int chunkSize;
+
+	// How far back to look for arrived schedules; older train-days were completed by earlier runs
+	@Value("${ticket.completion.lookback-days:2}")
+	private int lookbackDays;
+
+	public TicketCompletionProcessor(JdbcTemplate jdbcTemplate,
+			InventoryServiceClient inventoryServiceClient,
+			DownstreamLimiters downstreamLimiters,
+			TicketStatistics ticketStatistics,
+			UserCacheGeneration userCacheGeneration,
+			TwoLevelCacheManager cacheManager,
+			TicketEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.inventoryServiceClient = inventoryServiceClient;
+		this.downstreamLimiters = downstreamLimiters;
+		this.ticketStatistics = ticketStatistics;
+		this.userCacheGeneration = userCacheGeneration;
+		this.cacheManager = cacheManager;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Complete the tickets of every schedule that arrived within the lookback window.
+	 * Train-days completed earlier cost one index probe that finds nothing.
+	 */
+	public int completeArrived() {
+		LocalDate since = LocalDate.now().minusDays(lookbackDays);
+		ApiResponse<List<ScheduleResponse>> response;
+		try {
+			response = downstreamLimiters.call(InventoryServiceClient.SERVICE_ID,
+					() -> inventoryServiceClient.getSchedulesByStatus(ARRIVED, since.toString()));
+		} catch (RuntimeException e) {
+			logger.warn("Could not fetch arrived schedules: {}", e.getMessage());
+			return 0;
+		}
+		if (response == null || response.getData() == null) {
+			logger.warn("Could not fetch arrived schedules, skipping ticket completion");
+			return 0;
+		}
+
+		int completed = 0;
+		for (ScheduleResponse schedule : response.getData()) {
+			if (schedule.getTrain() == null || schedule.getDepartureDate() == null) {
+				continue;
+			}
+			completed += completeTrainDay(schedule.getTrain().getId(), schedule.getDepartureDate());
+		}
+		return completed;
+	}
+
+	/**
+	 * Complete all CONFIRMED tickets of one train-day, chunk by chunk
+	 */
+	public int completeTrainDay(Long trainId, LocalDate departureDay) {
+		int total = 0;
+		Set<Long> users = new HashSet<>();
+		int completed;
+		do {
+			CompletedChunk chunk = transactionTemplate.execute(status -> completeChunk(trainId, departureDay));
+			if (chunk == null) {
+				break;
+			}
+			completed = chunk.ticketIds().size();
+			total += completed;
+			users.addAll(chunk.ticketsPerUser().keySet());
+			cacheManager.evictAll("tickets", chunk.ticketIds());
+		} while (completed == chunkSize);
+
+		if (total > 0) {
+			logger.info("Completed {} tickets of {} users for train {} on {}", total, users.size(), trainId, departureDay);
+		}
+		return total;
+	}
+
+	// ============ Helper Methods ============
+
+	private CompletedChunk completeChunk(Long trainId, LocalDate departureDay) {
+		Date day = Date.valueOf(departureDay);
+		jdbcTemplate.update(CLAIM_RUN_SQL, trainId, day);
+		// Waits for a chunk of this train-day running elsewhere, so "nothing left" below is final
+		Timestamp summarizedAt = jdbcTemplate.queryForObject(LOCK_RUN_SQL, Timestamp.class, trainId, day);
+
+		List<Long> ticketIds = new ArrayList<>();
+		Map<Long, Long> ticketsPerUser = new HashMap<>();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.query(COMPLETE_CHUNK_SQL, rs -> {
+			ticketIds.add(rs.getLong("id"));
+			ticketsPerUser.merge(rs.getLong("user_id"), 1L, Long::sum);
+		}, now, trainId, day, chunkSize);
+
+		// Both apply after commit
+		ticketStatistics.recordBulkTransition(trainId, departureDay, ticketsPerUser,
+				TicketStatus.CONFIRMED, TicketStatus.COMPLETED);
+		userCacheGeneration.bumpAll(ticketsPerUser.keySet());
+
+		if (ticketIds.size() < chunkSize && summarizedAt == null) {
+			summarize(trainId, departureDay, now);
+		}
+		return new CompletedChunk(ticketIds, ticketsPerUser);
+	}
+
+	/**
+	 * Last chunk of a train-day: publish the summary of all its completed tickets, whichever
+	 * instance completed them, and mark the run so no later chunk publishes it again
+	 */
+	private void summarize(Long trainId, LocalDate departureDay, Timestamp now) {
+		Date day = Date.valueOf(departureDay);
+		jdbcTemplate.query(COUNT_COMPLETED_SQL, rs -> {
+			int tickets = rs.getInt("tickets");
+			if (tickets > 0) {
+				eventPublisher.publishTicketsCompleted(trainId, departureDay, tickets, rs.getInt("users"));
+			}
+		}, trainId, day);
+		jdbcTemplate.update(MARK_SUMMARIZED_SQL, now, trainId, day);
+	}
+
+	private record CompletedChunk(List<Long> ticketIds, Map<Long, Long> ticketsPerUser) {
+	}
+}
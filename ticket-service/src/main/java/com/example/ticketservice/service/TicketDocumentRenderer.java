@@ -0,0 +1,83 @@
+package com.example.ticketservice.service;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.example.ticketservice.dto.ETicketResponse;
+import com.example.ticketservice.entity.Ticket;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Renders a printable e-ticket: trip details next to the QR code of the signed e-ticket token.
+ * Output is a PNG so no document library is needed; only ever called from render workers.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketDocumentRenderer {
+
+	public static final String CONTENT_TYPE = MediaType.IMAGE_PNG_VALUE;
+
+	private static final int WIDTH = 900;
+	private static final int HEIGHT = 400;
+	private static final int QR_SIZE = 320;
+	private static final int MARGIN = 40;
+
+	private final QrCodeRenderer qrCodeRenderer;
+
+	@Value("${ticket.documents.title:Train Ticket}")
+	private String title;
+
+	public byte[] render(Ticket ticket, ETicketResponse eTicket) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, WIDTH, HEIGHT);
+			g.setColor(Color.BLACK);
+			g.setStroke(new BasicStroke(2));
+			g.drawRect(10, 10, WIDTH - 20, HEIGHT - 20);
+
+			g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 30));
+			g.drawString(title, MARGIN, 70);
+
+			g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
+			int y = 130;
+			for (String line : new String[] {
+					"Ticket: #" + ticket.getId(),
+					"Train: " + ticket.getTrainId(),
+					"Departure: " + ticket.getScheduledDeparture(),
+					"Seats: " + ticket.getNumberOfSeats(),
+					"Total: " + ticket.getTotalPrice(),
+					"Status: " + ticket.getStatus().getDescription()}) {
+				g.drawString(line, MARGIN, y);
+				y += 36;
+			}
+
+			g.drawImage(qrCodeRenderer.image(eTicket.getToken(), QR_SIZE), WIDTH - QR_SIZE - MARGIN, (HEIGHT - QR_SIZE) / 2, null);
+		} finally {
+			g.dispose();
+		}
+
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageIO.write(image, "png", out);
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to encode ticket document " + ticket.getId(), e);
+		}
+	}
+}
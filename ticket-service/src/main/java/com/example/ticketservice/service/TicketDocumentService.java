@@ -0,0 +1,164 @@
+package com.example.ticketservice.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.entity.TicketDocument;
+import com.example.ticketservice.exception.TicketNotFoundException;
+import com.example.ticketservice.exception.TicketOperationException;
+import com.example.ticketservice.repository.TicketDocumentRepository;
+import com.example.ticketservice.repository.TicketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ticket documents (printable e-tickets), rendered off the request path.
+ * Renders run on the document workers (see documentRenderContainerFactory), triggered by
+ * BOOKING_CONFIRMED and by explicit render requests; the output goes to the content-addressed
+ * DocumentStore and is reused until the ticket version changes. Downloads only ever read a
+ * finished render: a missing or stale one is requested and the caller is asked to retry.
+ */
+@Service
+public class TicketDocumentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketDocumentService.class);
+
+	private final TicketRepository ticketRepository;
+	private final TicketDocumentRepository documentRepository;
+	private final ETicketService eTicketService;
+	private final TicketDocumentRenderer renderer;
+	private final DocumentStore documentStore;
+	private final RabbitTemplate rabbitTemplate;
+	private final Timer renderTimer;
+	private final Counter reusedRenders;
+
+	@Value("${rabbitmq.exchange.booking:booking-exchange}")
+	private String bookingExchange;
+
+	@Value("${rabbitmq.routing-key.ticket-document:ticket.document}")
+	private String ticketDocumentRoutingKey;
+
+	// Unreferenced blobs younger than this are kept: their render may not have recorded them yet
+	@Value("${ticket.documents.gc.min-age-minutes:60}")
+	private long gcMinAgeMinutes;
+
+	public TicketDocumentService(TicketRepository ticketRepository,
+			TicketDocumentRepository documentRepository,
+			ETicketService eTicketService,
+			TicketDocumentRenderer renderer,
+			DocumentStore documentStore,
+			RabbitTemplate rabbitTemplate,
+			MeterRegistry meterRegistry) {
+		this.ticketRepository = ticketRepository;
+		this.documentRepository = documentRepository;
+		this.eTicketService = eTicketService;
+		this.renderer = renderer;
+		this.documentStore = documentStore;
+		this.rabbitTemplate = rabbitTemplate;
+		this.renderTimer = Timer.builder("ticket.document.render")
+				.description("Time to render a ticket document")
+				.register(meterRegistry);
+		this.reusedRenders = Counter.builder("ticket.document.reused")
+				.description("Render requests answered by an existing render of the same ticket version")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * A finished render ready to be served; the content hash doubles as a strong ETag
+	 */
+	public record StoredDocument(Path path, String contentHash, String contentType, long size) {
+
+		public String etag() {
+			return "\"" + contentHash + "\"";
+		}
+	}
+
+	/**
+	 * Render a ticket's document unless the current ticket version already has one.
+	 * Called by the document workers only; tickets that are not confirmed are skipped.
+	 */
+	public void render(Long ticketId) {
+		Optional<Ticket> found = ticketRepository.findById(ticketId);
+		if (found.isEmpty() || found.get().getStatus() != TicketStatus.CONFIRMED) {
+			logger.debug("Skipping document render for ticket {}: not confirmed", ticketId);
+			return;
+		}
+		Ticket ticket = found.get();
+		long version = versionOf(ticket);
+
+		Optional<TicketDocument> existing = documentRepository.findByTicketId(ticketId);
+		if (existing.isPresent() && existing.get().getTicketVersion() == version
+				&& documentStore.find(existing.get().getContentHash()).isPresent()) {
+			reusedRenders.increment();
+			return;
+		}
+
+		byte[] content = renderTimer.record(() -> renderer.render(ticket, eTicketService.issue(ticket)));
+		String hash = documentStore.put(content);
+		documentRepository.upsert(ticketId, version, hash, TicketDocumentRenderer.CONTENT_TYPE,
+				content.length, LocalDateTime.now());
+		logger.info("Rendered document for ticket {} (version {}, {} bytes)", ticketId, version, content.length);
+	}
+
+	/**
+	 * The current document of the user's ticket, if it has been rendered. Never renders:
+	 * when the document is missing or stale a render is requested and empty is returned.
+	 */
+	public Optional<StoredDocument> find(Long ticketId, Long userId) {
+		Ticket ticket = ticketRepository.findByIdAndUserId(ticketId, userId)
+				.orElseThrow(() -> new TicketNotFoundException(ticketId));
+		if (ticket.getStatus() != TicketStatus.CONFIRMED) {
+			throw new TicketOperationException(
+					String.format("Documents are only available for confirmed tickets. Current status: %s", ticket.getStatus()));
+		}
+
+		long version = versionOf(ticket);
+		Optional<StoredDocument> document = documentRepository.findByTicketId(ticketId)
+				.filter(stored -> stored.getTicketVersion() == version)
+				.flatMap(stored -> documentStore.find(stored.getContentHash())
+						.map(path -> new StoredDocument(path, stored.getContentHash(), stored.getContentType(), stored.getSizeBytes())));
+		if (document.isEmpty()) {
+			requestRender(ticketId);
+		}
+		return document;
+	}
+
+	/**
+	 * Queue a render for the document workers; best effort, the next download asks again
+	 */
+	public void requestRender(Long ticketId) {
+		try {
+			rabbitTemplate.convertAndSend(bookingExchange, ticketDocumentRoutingKey, Map.of("ticketId", ticketId));
+		} catch (AmqpException e) {
+			logger.warn("Failed to request document render for ticket {}: {}", ticketId, e.getMessage());
+		}
+	}
+
+	/**
+	 * Delete stored documents that no ticket_documents row points at any more (superseded by
+	 * a render of a newer ticket version); safe to run on several instances at once
+	 */
+	public int deleteUnreferencedDocuments() {
+		return documentStore.deleteUnreferenced(Duration.ofMinutes(gcMinAgeMinutes), documentRepository::findReferencedHashes);
+	}
+
+	// ============ Helper Methods ============
+
+	private static long versionOf(Ticket ticket) {
+		return ticket.getVersion() != null ? ticket.getVersion() : 0L;
+	}
+}
@@ -0,0 +1,234 @@
+package com.example.ticketservice.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.ticketservice.dto.TicketResponse;
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.exception.ExportLimitExceededException;
+import com.example.ticketservice.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams ticket exports as NDJSON or CSV straight from a database cursor.
+ * The persistence context is cleared every few hundred rows, so memory stays flat
+ * however many tickets are exported.
+ *
+ * Each export holds a database connection for as long as the client reads (up to the 30m
+ * async timeout), outside the in-flight request limit, which lets go once streaming starts.
+ * Exports therefore take one of a few slots, and are turned away with 503 when none is free.
+ *
+ * CSV cells that a spreadsheet would run as a formula are prefixed with a quote.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TicketExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketExportService.class);
+
+	// Key of the async interceptor that gives an export's slot back
+	static final String EXPORT_SLOT_INTERCEPTOR = TicketExportService.class.getName() + ".exportSlot";
+
+	// Rows between persistence context clears and output flushes
+	private static final int CLEAR_EVERY = 500;
+
+	// Leading characters that make a spreadsheet treat a cell as a formula
+	private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+
+	private static final String CSV_HEADER = "id,userId,trainId,departureDate,numberOfSeats,totalPrice,status,"
+			+ "cancellationReason,createdAt,updatedAt,cancelledAt";
+
+	private final TicketRepository ticketRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+
+	@Value("${ticket.export.max-concurrent:2}")
+	private int maxConcurrentExports;
+
+	private Semaphore exportSlots;
+
+	public enum ExportFormat {
+		NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+		CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+		private final MediaType mediaType;
+
+		ExportFormat(MediaType mediaType) {
+			this.mediaType = mediaType;
+		}
+
+		public MediaType getMediaType() {
+			return mediaType;
+		}
+
+		public static ExportFormat of(String format) {
+			try {
+				return valueOf(format.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+			}
+		}
+	}
+
+	@PostConstruct
+	void initExportSlots() {
+		exportSlots = new Semaphore(maxConcurrentExports);
+	}
+
+	/**
+	 * Take an export slot without waiting; the caller releases it when the export has been written
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void acquireExportSlot() {
+		if (!exportSlots.tryAcquire()) {
+			throw new ExportLimitExceededException(maxConcurrentExports);
+		}
+	}
+
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void releaseExportSlot() {
+		exportSlots.release();
+	}
+
+	/**
+	 * Take an export slot for a streamed response and give it back exactly once: when the body has
+	 * been written, or when the request's async processing completes. The body may never run (async
+	 * dispatch rejected, timed out, client gone first); the completion callback covers those cases.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public StreamingResponseBody withExportSlot(StreamingResponseBody body, WebAsyncManager asyncManager) {
+		acquireExportSlot();
+		AtomicBoolean released = new AtomicBoolean();
+		Runnable release = () -> {
+			if (released.compareAndSet(false, true)) {
+				releaseExportSlot();
+			}
+		};
+		asyncManager.registerCallableInterceptor(EXPORT_SLOT_INTERCEPTOR, new CallableProcessingInterceptor() {
+			@Override
+			public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+				release.run();
+			}
+		});
+		return out -> {
+			try {
+				body.writeTo(out);
+			} finally {
+				release.run();
+			}
+		};
+	}
+
+	/**
+	 * Export a user's tickets, optionally of one status, newest first
+	 */
+	public void exportUserTickets(Long userId, TicketStatus status, ExportFormat format, OutputStream out)
+			throws IOException {
+		try (Stream<Ticket> tickets = status == null
+				? ticketRepository.streamByUserId(userId)
+				: ticketRepository.streamByUserIdAndStatus(userId, status)) {
+			int written = write(tickets, format, out);
+			logger.debug("Exported {} tickets of user {}", written, userId);
+		}
+	}
+
+	/**
+	 * Export all tickets departing between from and to (inclusive), for operators
+	 */
+	public void exportByDepartureDate(LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+			throws IOException {
+		try (Stream<Ticket> tickets = ticketRepository.streamByDepartureDateBetween(from, to)) {
+			int written = write(tickets, format, out);
+			logger.info("Exported {} tickets departing {} to {}", written, from, to);
+		}
+	}
+
+	// ============ Helper Methods ============
+
+	private int write(Stream<Ticket> tickets, ExportFormat format, OutputStream out) throws IOException {
+		ObjectWriter jsonWriter = objectMapper.writerFor(TicketResponse.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		if (format == ExportFormat.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+
+		int written = 0;
+		for (Ticket ticket : (Iterable<Ticket>) tickets::iterator) {
+			if (format == ExportFormat.CSV) {
+				writeCsvRow(writer, ticket);
+			} else {
+				writer.write(jsonWriter.writeValueAsString(TicketResponse.from(ticket)));
+				writer.write('\n');
+			}
+			if (++written % CLEAR_EVERY == 0) {
+				entityManager.clear();
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return written;
+	}
+
+	private void writeCsvRow(Writer writer, Ticket ticket) throws IOException {
+		writer.write(String.join(",",
+				csv(ticket.getId()),
+				csv(ticket.getUserId()),
+				csv(ticket.getTrainId()),
+				csv(ticket.getScheduledDeparture()),
+				csv(ticket.getNumberOfSeats()),
+				csv(ticket.getTotalPrice()),
+				csv(ticket.getStatus()),
+				csv(ticket.getCancellationReason()),
+				csv(ticket.getCreatedAt()),
+				csv(ticket.getUpdatedAt()),
+				csv(ticket.getCancelledAt())));
+		writer.write('\n');
+	}
+
+	private static String csv(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		// Numbers may legitimately start with '-'; only text can carry a formula
+		if (!(value instanceof Number) && !text.isEmpty() && CSV_FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+			text = "'" + text;
+		}
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.ticketservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.ticketservice.dto.ManifestEntry;
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.repository.TicketRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Boarding manifests, written straight from a database cursor so memory use does not
+ * grow with the size of the train.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TicketManifestService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketManifestService.class);
+
+	// Passengers entitled to board
+	private static final List<TicketStatus> MANIFEST_STATUSES = List.of(TicketStatus.CONFIRMED, TicketStatus.COMPLETED);
+	private static final int FLUSH_EVERY = 500;
+
+	private final TicketRepository ticketRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+
+	/**
+	 * Write the manifest of a train on a day as a JSON array
+	 */
+	public void writeManifest(Long trainId, LocalDate departureDate, OutputStream out) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(ManifestEntry.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		int written = 0;
+		try (Stream<Ticket> tickets = ticketRepository.streamManifest(trainId, departureDate, MANIFEST_STATUSES);
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.writeStartArray();
+			for (Ticket ticket : (Iterable<Ticket>) tickets::iterator) {
+				writer.writeValue(generator, ManifestEntry.from(ticket));
+				// Read-only rows are not needed once written
+				entityManager.detach(ticket);
+				if (++written % FLUSH_EVERY == 0) {
+					generator.flush();
+				}
+			}
+			generator.writeEndArray();
+		}
+		logger.debug("Wrote manifest of {} tickets for train {} on {}", written, trainId, departureDate);
+	}
+}
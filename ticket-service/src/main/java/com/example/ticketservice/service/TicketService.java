@@ -2,35 +2,33 @@ package com.example.ticketservice.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.example.ticketservice.client.InventoryServiceClient;
-import com.example.ticketservice.client.PaymentServiceClient;
-import com.example.ticketservice.dto.AvailabilityResponse;
+import com.example.shared.dto.PageCursor;
+import com.example.shared.dto.PageResponse;
+import com.example.ticketservice.client.PaymentLookupBatcher;
 import com.example.ticketservice.dto.BookTicketRequest;
 import com.example.ticketservice.dto.CancelTicketRequest;
-import com.example.ticketservice.dto.PageResponse;
 import com.example.ticketservice.dto.PaymentResponse;
-import com.example.ticketservice.dto.ReserveSeatRequest;
 import com.example.ticketservice.dto.TicketResponse;
 import com.example.ticketservice.dto.TicketSearchRequest;
 import com.example.ticketservice.entity.Ticket;
 import com.example.ticketservice.entity.Ticket.TicketStatus;
 import com.example.ticketservice.event.TicketEventPublisher;
-import com.example.ticketservice.exception.InsufficientSeatsException;
 import com.example.ticketservice.exception.TicketNotFoundException;
 import com.example.ticketservice.exception.TicketOperationException;
 import com.example.ticketservice.exception.UnauthorizedAccessException;
@@ -46,9 +44,12 @@ public class TicketService {
 	private static final Logger logger = LoggerFactory.getLogger(TicketService.class);
 
 	private final TicketRepository ticketRepository;
-	private final InventoryServiceClient inventoryServiceClient;
-	private final PaymentServiceClient paymentServiceClient;
+	private final PaymentLookupBatcher paymentLookupBatcher;
 	private final TicketEventPublisher eventPublisher;
+	private final BookingSagaOrchestrator bookingSagaOrchestrator;
+	private final UserCacheGeneration userCacheGeneration;
+	private final TicketStatistics ticketStatistics;
+	private final ETicketService eTicketService;
 
 	/**
 	 * Get ticket by ID with caching
@@ -74,7 +75,8 @@ public class TicketService {
 	/**
 	 * Get all tickets for a user with pagination
 	 */
-	@Cacheable(value = "userTickets", key = "#userId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+	@Cacheable(value = "userTickets",
+			key = "#userId + '_' + @userCacheGeneration.current(#userId) + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
 	public PageResponse<TicketResponse> getUserTickets(Long userId, Pageable pageable) {
 		logger.debug("Fetching tickets for user: {} with pagination: {}", userId, pageable);
 		Page<Ticket> ticketPage = ticketRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
@@ -82,6 +84,36 @@ public class TicketService {
 		return PageResponse.from(responsePage);
 	}
 
+	/**
+	 * Get a keyset page of a user's tickets, newest first; no COUNT query and constant cost at any depth
+	 */
+	@Cacheable(value = "userTickets",
+			key = "#userId + '_' + @userCacheGeneration.current(#userId) + '_k' + (#cursor == null ? '' : #cursor.encode()) + '_' + #size")
+	public PageResponse<TicketResponse> getUserTickets(Long userId, PageCursor cursor, int size) {
+		logger.debug("Fetching tickets for user: {} after cursor: {}", userId, cursor);
+		return PageResponse.fromKeyset(findKeysetPage(userId, cursor, size), size, cursor == null,
+				TicketResponse::from, ticket -> new PageCursor(ticket.getCreatedAt(), ticket.getId()));
+	}
+
+	/**
+	 * Get a page of a user's tickets with payment info, fetched in one batched payment call.
+	 * Not cached since payment state changes independently of the ticket.
+	 */
+	public PageResponse<TicketResponse> getUserTicketsWithPayments(Long userId, Pageable pageable) {
+		logger.debug("Fetching tickets with payments for user: {} with pagination: {}", userId, pageable);
+		Page<Ticket> ticketPage = ticketRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+		return withPayments(PageResponse.from(ticketPage.map(TicketResponse::from)));
+	}
+
+	/**
+	 * Keyset variant of {@link #getUserTicketsWithPayments(Long, Pageable)}
+	 */
+	public PageResponse<TicketResponse> getUserTicketsWithPayments(Long userId, PageCursor cursor, int size) {
+		logger.debug("Fetching tickets with payments for user: {} after cursor: {}", userId, cursor);
+		return withPayments(PageResponse.fromKeyset(findKeysetPage(userId, cursor, size), size, cursor == null,
+				TicketResponse::from, ticket -> new PageCursor(ticket.getCreatedAt(), ticket.getId())));
+	}
+
 	/**
 	 * Get all tickets for a user (no pagination)
 	 */
@@ -118,46 +150,35 @@ public class TicketService {
 	}
 
 	/**
-	 * Book a new ticket with retry mechanism
+	 * Book a new ticket with retry mechanism.
+	 * Runs outside a transaction: each saga step commits on its own.
 	 */
-	@Transactional(isolation = Isolation.REPEATABLE_READ)
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	@Retryable(
 			retryFor = {TicketOperationException.class},
 			maxAttempts = 3,
 			backoff = @Backoff(delay = 1000, multiplier = 2)
 	)
-	@Caching(evict = {
-			@CacheEvict(value = "userTickets", allEntries = true)
-	})
 	public TicketResponse bookTicket(Long userId, BookTicketRequest request) {
 		logger.info("Booking ticket for user: {}, train: {}, seats: {}", 
 				userId, request.getTrainId(), request.getNumberOfSeats());
 
-		// Step 1: Check availability
-		AvailabilityResponse availability = checkAndValidateAvailability(request);
-		
-		// Step 2: Reserve seats
-		reserveSeats(request);
-
-		// Step 3: Create ticket
-		Ticket ticket = createTicket(userId, request);
-		ticket = ticketRepository.save(ticket);
-		logger.info("Ticket created successfully with id: {}", ticket.getId());
-
-		// Step 4: Publish event for notification
-		eventPublisher.publishBookingCreated(ticket);
+		// Reserve and quote seats in one inventory call, then create the ticket via the booking saga
+		BookingSagaOrchestrator.Booking booking = bookingSagaOrchestrator.book(userId, request);
+		userCacheGeneration.bump(userId);
+		logger.info("Ticket created successfully with id: {}", booking.ticket().getId());
 
-		return TicketResponse.from(ticket);
+		TicketResponse response = TicketResponse.from(booking.ticket());
+		response.setSeatNumbers(booking.reservation().getSeatNumbers());
+		response.setHoldExpiresAt(booking.reservation().getHoldExpiresAt());
+		return response;
 	}
 
 	/**
 	 * Confirm a pending ticket
 	 */
 	@Transactional
-	@Caching(evict = {
-			@CacheEvict(value = "tickets", key = "#ticketId"),
-			@CacheEvict(value = "userTickets", allEntries = true)
-	})
+	@CacheEvict(value = "tickets", key = "#ticketId")
 	public TicketResponse confirmTicket(Long ticketId, Long userId) {
 		logger.info("Confirming ticket: {} for user: {}", ticketId, userId);
 
@@ -166,6 +187,9 @@ public class TicketService {
 
 		ticket.setStatus(TicketStatus.CONFIRMED);
 		ticket = ticketRepository.save(ticket);
+		ticketStatistics.recordTransition(ticket, TicketStatus.PENDING);
+		bookingSagaOrchestrator.onConfirmed(ticketId);
+		userCacheGeneration.bump(userId);
 		logger.info("Ticket {} confirmed successfully", ticketId);
 
 		// Publish event
@@ -178,32 +202,34 @@ public class TicketService {
 	 * Cancel a ticket with optional refund
 	 */
 	@Transactional
-	@Caching(evict = {
-			@CacheEvict(value = "tickets", key = "#ticketId"),
-			@CacheEvict(value = "userTickets", allEntries = true)
-	})
+	@CacheEvict(value = "tickets", key = "#ticketId")
 	public TicketResponse cancelTicket(Long ticketId, Long userId, CancelTicketRequest request) {
 		logger.info("Cancelling ticket: {} for user: {}, reason: {}", ticketId, userId, request.getReason());
 
 		Ticket ticket = getTicketForUpdate(ticketId, userId);
 		validateTicketForCancellation(ticket);
 
-		// Step 1: Release seats in inventory
-		releaseSeats(ticket);
-
-		// Step 2: Process refund if requested and payment was made
-		if (request.isRequestRefund() && ticket.getStatus() == TicketStatus.CONFIRMED) {
-			processRefund(ticket, userId);
-		}
+		// Refund only if requested and payment was made
+		boolean refund = request.isRequestRefund() && ticket.getStatus() == TicketStatus.CONFIRMED;
+		TicketStatus previousStatus = ticket.getStatus();
 
-		// Step 3: Update ticket status
+		// Step 1: Update ticket status
 		ticket.setStatus(TicketStatus.CANCELLED);
 		ticket.setCancellationReason(request.getReason());
 		ticket.setCancelledAt(LocalDateTime.now());
 		ticket = ticketRepository.save(ticket);
+		ticketStatistics.recordTransition(ticket, previousStatus);
+		if (previousStatus == TicketStatus.CONFIRMED) {
+			// Only confirmed tickets have e-tickets
+			eTicketService.revoke(ticketId);
+		}
+		userCacheGeneration.bump(userId);
 		logger.info("Ticket {} cancelled successfully", ticketId);
 
-		// Step 4: Publish event
+		// Step 2: Record seat release (and refund) in the saga; they run after commit and are retried on failure
+		bookingSagaOrchestrator.onCancelled(ticket, refund);
+
+		// Step 3: Publish event
 		eventPublisher.publishBookingCancelled(ticket);
 
 		return TicketResponse.from(ticket);
@@ -213,10 +239,7 @@ public class TicketService {
 	 * Cancel a ticket (simple version without request body)
 	 */
 	@Transactional
-	@Caching(evict = {
-			@CacheEvict(value = "tickets", key = "#ticketId"),
-			@CacheEvict(value = "userTickets", allEntries = true)
-	})
+	@CacheEvict(value = "tickets", key = "#ticketId")
 	public TicketResponse cancelTicket(Long ticketId, Long userId) {
 		CancelTicketRequest request = CancelTicketRequest.builder()
 				.reason("User requested cancellation")
@@ -229,10 +252,7 @@ public class TicketService {
 	 * Mark ticket as completed (after trip is done)
 	 */
 	@Transactional
-	@Caching(evict = {
-			@CacheEvict(value = "tickets", key = "#ticketId"),
-			@CacheEvict(value = "userTickets", allEntries = true)
-	})
+	@CacheEvict(value = "tickets", key = "#ticketId")
 	public TicketResponse completeTicket(Long ticketId) {
 		logger.info("Completing ticket: {}", ticketId);
 
@@ -245,6 +265,8 @@ public class TicketService {
 
 		ticket.setStatus(TicketStatus.COMPLETED);
 		ticket = ticketRepository.save(ticket);
+		ticketStatistics.recordTransition(ticket, TicketStatus.CONFIRMED);
+		userCacheGeneration.bump(ticket.getUserId());
 		logger.info("Ticket {} completed successfully", ticketId);
 
 		return TicketResponse.from(ticket);
@@ -252,55 +274,6 @@ public class TicketService {
 
 	// ============ Private Helper Methods ============
 
-	private AvailabilityResponse checkAndValidateAvailability(BookTicketRequest request) {
-		logger.debug("Checking availability for train: {} on {}", request.getTrainId(), request.getDepartureDate());
-		
-		AvailabilityResponse availability = inventoryServiceClient.checkAvailability(
-				request.getTrainId(),
-				request.getDepartureDate()
-		);
-
-		if (!availability.hasEnoughSeats(request.getNumberOfSeats())) {
-			logger.warn("Insufficient seats for train: {}. Requested: {}, Available: {}", 
-					request.getTrainId(), request.getNumberOfSeats(), availability.getAvailableSeats());
-			throw new InsufficientSeatsException(
-					request.getTrainId(), 
-					request.getNumberOfSeats(), 
-					availability.getAvailableSeats() != null ? availability.getAvailableSeats() : 0
-			);
-		}
-
-		return availability;
-	}
-
-	private void reserveSeats(BookTicketRequest request) {
-		logger.debug("Reserving {} seats for train: {}", request.getNumberOfSeats(), request.getTrainId());
-		
-		ReserveSeatRequest reserveRequest = ReserveSeatRequest.builder()
-				.trainId(request.getTrainId())
-				.numberOfSeats(request.getNumberOfSeats())
-				.departureDate(request.getDepartureDate())
-				.seatNumbers(request.getSeatNumbers())
-				.build();
-
-		Boolean reserved = inventoryServiceClient.reserveSeats(reserveRequest);
-		if (reserved == null || !reserved) {
-			logger.error("Failed to reserve seats for train: {}", request.getTrainId());
-			throw new TicketOperationException("Failed to reserve seats. Please try again.");
-		}
-	}
-
-	private Ticket createTicket(Long userId, BookTicketRequest request) {
-		return Ticket.builder()
-				.userId(userId)
-				.trainId(request.getTrainId())
-				.departureDate(request.getDepartureDate())
-				.numberOfSeats(request.getNumberOfSeats())
-				.totalPrice(request.getTotalPrice())
-				.status(TicketStatus.PENDING)
-				.build();
-	}
-
 	private Ticket getTicketForUpdate(Long ticketId, Long userId) {
 		Ticket ticket = ticketRepository.findByIdAndUserId(ticketId, userId)
 				.orElseThrow(() -> new TicketNotFoundException(ticketId));
@@ -329,56 +302,39 @@ public class TicketService {
 		}
 	}
 
-	private void releaseSeats(Ticket ticket) {
-		logger.debug("Releasing {} seats for train: {}", ticket.getNumberOfSeats(), ticket.getTrainId());
+	private TicketResponse enrichTicketResponse(Ticket ticket) {
+		TicketResponse response = TicketResponse.from(ticket);
 		
-		Boolean released = inventoryServiceClient.releaseSeats(
-				ticket.getTrainId(),
-				ticket.getDepartureDate(),
-				ticket.getNumberOfSeats()
-		);
+		// Try to fetch payment info; concurrent lookups share one batched call
+		response.setPaymentInfo(toPaymentInfo(paymentLookupBatcher.lookupNow(ticket.getId())));
 
-		if (released == null || !released) {
-			logger.warn("Failed to release seats for ticket: {}. Will be handled by compensation job.", ticket.getId());
-			// Don't fail the cancellation, seats will be released by a compensation job
-		}
+		return response;
 	}
 
-	private void processRefund(Ticket ticket, Long userId) {
-		logger.debug("Processing refund for ticket: {}", ticket.getId());
-		
-		try {
-			PaymentResponse payment = paymentServiceClient.getPaymentByTicketId(ticket.getId());
-			if (payment != null && payment.isCompleted()) {
-				PaymentResponse refund = paymentServiceClient.refundPayment(payment.getId(), userId);
-				if (refund == null || !refund.isRefunded()) {
-					logger.warn("Refund processing failed for ticket: {}. Will be handled manually.", ticket.getId());
-				}
-			}
-		} catch (Exception e) {
-			logger.error("Error processing refund for ticket: {}", ticket.getId(), e);
-			// Don't fail cancellation due to refund failure
-		}
+	// Fetches one row more than requested so the page knows whether another one follows
+	private List<Ticket> findKeysetPage(Long userId, PageCursor cursor, int size) {
+		Pageable limit = PageRequest.of(0, size + 1);
+		return cursor == null
+				? ticketRepository.findFirstKeysetPage(userId, limit)
+				: ticketRepository.findKeysetPageAfter(userId, cursor.createdAt(), cursor.id(), limit);
 	}
 
-	private TicketResponse enrichTicketResponse(Ticket ticket) {
-		TicketResponse response = TicketResponse.from(ticket);
-		
-		// Try to fetch payment info
-		try {
-			PaymentResponse payment = paymentServiceClient.getPaymentByTicketId(ticket.getId());
-			if (payment != null) {
-				response.setPaymentInfo(TicketResponse.PaymentInfo.builder()
-						.paymentId(payment.getId())
-						.paymentStatus(payment.getStatus())
-						.amount(payment.getAmount())
-						.paidAt(payment.getCreatedAt())
-						.build());
-			}
-		} catch (Exception e) {
-			logger.debug("Could not fetch payment info for ticket: {}", ticket.getId());
-		}
+	private PageResponse<TicketResponse> withPayments(PageResponse<TicketResponse> page) {
+		Map<Long, PaymentResponse> payments = paymentLookupBatcher.lookupAll(
+				page.getContent().stream().map(TicketResponse::getId).toList());
+		page.getContent().forEach(response -> response.setPaymentInfo(toPaymentInfo(payments.get(response.getId()))));
+		return page;
+	}
 
-		return response;
+	private TicketResponse.PaymentInfo toPaymentInfo(PaymentResponse payment) {
+		if (payment == null) {
+			return null;
+		}
+		return TicketResponse.PaymentInfo.builder()
+				.paymentId(payment.getId())
+				.paymentStatus(payment.getStatus())
+				.amount(payment.getAmount())
+				.paidAt(payment.getCreatedAt())
+				.build();
 	}
 }
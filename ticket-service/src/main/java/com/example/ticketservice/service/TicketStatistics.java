@@ -0,0 +1,349 @@
+package com.example.ticketservice.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.ticketservice.dto.TicketStatsResponse;
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.entity.TicketStatCounter;
+import com.example.ticketservice.repository.TicketStatCounterRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ticket counts per status, per train-day and per user, maintained incrementally.
+ * Every status transition adds +1/-1 deltas to in-memory LongAdders once its transaction
+ * commits; a scheduled flush drains them into ticket_stat_counters with one upsert per key,
+ * so instances add up rather than overwrite each other. Reads are unique-key lookups plus
+ * this instance's unflushed deltas; other instances' deltas show up after their next flush.
+ *
+ * Until the counters have been seeded from the tickets table, transitions record nothing: each
+ * takes the seed lock in shared mode inside its transaction, and one that still finds no seed
+ * is bound to commit before any seed scan starts, so the scan counts it. This holds on every
+ * instance, whichever one runs the seed.
+ */
+@Service
+public class TicketStatistics {
+
+	private static final Logger logger = LoggerFactory.getLogger(TicketStatistics.class);
+
+	public enum Scope { STATUS, TRAIN_DAY, USER }
+
+	private static final String SEED_SCOPE = "SEED";
+	private static final String SEED_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('ticket_stat_counters_seed'))";
+	private static final String SEED_BARRIER_SQL = "SELECT pg_advisory_xact_lock_shared(hashtext('ticket_stat_counters_seed'))";
+	private static final String UPSERT_SQL = "INSERT INTO ticket_stat_counters (scope, scope_key, status, ticket_count, updated_at) " +
+			"VALUES (?, ?, ?, ?, ?) ON CONFLICT (scope, scope_key, status) DO UPDATE " +
+			"SET ticket_count = ticket_stat_counters.ticket_count + EXCLUDED.ticket_count, updated_at = EXCLUDED.updated_at";
+	// One statement, so all three scopes are counted from the same snapshot of the tickets table
+	private static final String SEED_SQL = "WITH status_counts AS (" +
+			"INSERT INTO ticket_stat_counters (scope, scope_key, status, ticket_count, updated_at) " +
+			"SELECT 'STATUS', '', status, COUNT(*), now() FROM tickets GROUP BY status), " +
+			"train_day_counts AS (" +
+			"INSERT INTO ticket_stat_counters (scope, scope_key, status, ticket_count, updated_at) " +
+			"SELECT 'TRAIN_DAY', train_id || ':' || LEFT(departure_date, 10), status, COUNT(*), now() " +
+			"FROM tickets GROUP BY train_id, LEFT(departure_date, 10), status) " +
+			"INSERT INTO ticket_stat_counters (scope, scope_key, status, ticket_count, updated_at) " +
+			"SELECT 'USER', CAST(user_id AS varchar), status, COUNT(*), now() FROM tickets GROUP BY user_id, status";
+
+	private final TicketStatCounterRepository counterRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	// Hot and bounded: one striped adder per status, never removed
+	private final Map<TicketStatus, LongAdder> statusDeltas = new EnumMap<>(TicketStatus.class);
+	// Train-day and user deltas; entries are removed when flushed so the map stays small
+	private final ConcurrentHashMap<DeltaKey, LongAdder> scopedDeltas = new ConcurrentHashMap<>();
+	// Global counts as of the last flush
+	private volatile Map<TicketStatus, Long> flushedStatusCounts = new EnumMap<>(TicketStatus.class);
+	private volatile boolean seeded;
+
+	public TicketStatistics(TicketStatCounterRepository counterRepository,
+			JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
+		this.counterRepository = counterRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		for (TicketStatus status : TicketStatus.values()) {
+			statusDeltas.put(status, new LongAdder());
+			Gauge.builder("ticket.tickets", () -> statusCount(status))
+					.description("Tickets per status (incrementally maintained)")
+					.tag("status", status.name())
+					.register(meterRegistry);
+		}
+	}
+
+	// ============ Recording ============
+
+	/**
+	 * A ticket was created; counted once the surrounding transaction commits
+	 */
+	public void recordCreated(Ticket ticket) {
+		if (!recording()) {
+			return;
+		}
+		afterCommit(() -> apply(ticket, ticket.getStatus(), 1));
+	}
+
+	/**
+	 * A ticket moved from one status to its current one; counted once the surrounding transaction commits
+	 */
+	public void recordTransition(Ticket ticket, TicketStatus from) {
+		TicketStatus to = ticket.getStatus();
+		if (from == to || !recording()) {
+			return;
+		}
+		afterCommit(() -> {
+			apply(ticket, from, -1);
+			apply(ticket, to, 1);
+		});
+	}
+
+	/**
+	 * Many tickets of one train-day moved between the same two statuses (bulk update);
+	 * counted once the surrounding transaction commits
+	 */
+	public void recordBulkTransition(Long trainId, LocalDate day, Map<Long, Long> ticketsPerUser,
+			TicketStatus from, TicketStatus to) {
+		if (ticketsPerUser.isEmpty() || from == to || !recording()) {
+			return;
+		}
+		Map<Long, Long> counts = Map.copyOf(ticketsPerUser);
+		afterCommit(() -> counts.forEach((userId, count) -> {
+			apply(trainDayKey(trainId, day), userId, from, -count);
+			apply(trainDayKey(trainId, day), userId, to, count);
+		}));
+	}
+
+	// ============ Reading ============
+
+	public TicketStatsResponse global() {
+		Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+		for (TicketStatus status : TicketStatus.values()) {
+			counts.put(status, statusCount(status));
+		}
+		return response(Scope.STATUS, "", counts);
+	}
+
+	public TicketStatsResponse forTrainDay(Long trainId, LocalDate date) {
+		return scoped(Scope.TRAIN_DAY, trainDayKey(trainId, date));
+	}
+
+	public TicketStatsResponse forUser(Long userId) {
+		return scoped(Scope.USER, String.valueOf(userId));
+	}
+
+	public long statusCount(TicketStatus status) {
+		return flushedStatusCounts.getOrDefault(status, 0L) + statusDeltas.get(status).sum();
+	}
+
+	// ============ Flush ============
+
+	/**
+	 * Build the counters from the tickets table once, when the aggregates table is first created.
+	 * Guarded by an advisory lock so only one instance seeds; the others wait and reuse the result.
+	 * Taking it exclusively also waits for every transition still unrecorded on any instance to
+	 * commit, and holds back new ones until the seed commits (see recording()). The three scans
+	 * run as one statement, so they share one snapshot.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.execute(SEED_LOCK_SQL);
+				if (counterRepository.existsByScope(SEED_SCOPE)) {
+					return;
+				}
+				jdbcTemplate.update(SEED_SQL);
+				counterRepository.save(TicketStatCounter.builder()
+						.scope(SEED_SCOPE)
+						.scopeKey("")
+						.status("DONE")
+						.updatedAt(LocalDateTime.now())
+						.build());
+				logger.info("Seeded ticket statistics from the tickets table");
+			});
+			seeded = true;
+			refreshStatusCounts();
+		} catch (Exception e) {
+			// Retried by the next flush; transitions stay unrecorded (and counted by the seed) meanwhile
+			logger.warn("Could not seed ticket statistics: {}", e.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.stats.flush-interval-ms:5000}")
+	public void flush() {
+		if (!seeded) {
+			seed();
+			if (!seeded) {
+				return;
+			}
+		}
+
+		List<Object[]> rows = new ArrayList<>();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		Map<TicketStatus, Long> drainedStatus = new EnumMap<>(TicketStatus.class);
+		statusDeltas.forEach((status, adder) -> {
+			long delta = adder.sumThenReset();
+			if (delta != 0) {
+				drainedStatus.put(status, delta);
+				rows.add(new Object[] {Scope.STATUS.name(), "", status.name(), delta, now});
+			}
+		});
+		Map<DeltaKey, Long> drainedScoped = new LinkedHashMap<>();
+		for (DeltaKey key : scopedDeltas.keySet()) {
+			// Removing under the bin lock: a concurrent increment either lands before the drain or in a new adder
+			scopedDeltas.computeIfPresent(key, (k, adder) -> {
+				long delta = adder.sumThenReset();
+				if (delta != 0) {
+					drainedScoped.put(k, delta);
+				}
+				return null;
+			});
+		}
+		drainedScoped.forEach((key, delta) ->
+				rows.add(new Object[] {key.scope().name(), key.scopeKey(), key.status().name(), delta, now}));
+
+		if (!rows.isEmpty()) {
+			try {
+				// All or nothing: after a partial failure the put-back below must not count any row twice
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+				logger.debug("Flushed {} ticket statistic deltas", rows.size());
+			} catch (Exception e) {
+				// Put the deltas back so nothing is lost; the next flush retries them
+				logger.warn("Failed to flush ticket statistics: {}", e.getMessage());
+				drainedStatus.forEach((status, delta) -> statusDeltas.get(status).add(delta));
+				drainedScoped.forEach(this::add);
+				return;
+			}
+		}
+		refreshStatusCounts();
+	}
+
+	// ============ Helper Methods ============
+
+	/**
+	 * Whether the current transaction's transition must be recorded as a delta. Before the seed
+	 * this waits on the seed lock in shared mode and holds it until the transaction ends: if no
+	 * seed exists yet, the transaction commits before a seed can scan, which then counts it.
+	 * Once any instance has seeded, the lock is never taken again.
+	 */
+	private boolean recording() {
+		if (seeded) {
+			return true;
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			jdbcTemplate.execute(SEED_BARRIER_SQL);
+		}
+		if (counterRepository.existsByScope(SEED_SCOPE)) {
+			seeded = true;
+			return true;
+		}
+		return false;
+	}
+
+	private void apply(Ticket ticket, TicketStatus status, long delta) {
+		apply(trainDayKey(ticket.getTrainId(), Ticket.departureDay(ticket.getScheduledDeparture())),
+				ticket.getUserId(), status, delta);
+	}
+
+	private void apply(String trainDayKey, Long userId, TicketStatus status, long delta) {
+		statusDeltas.get(status).add(delta);
+		add(new DeltaKey(Scope.TRAIN_DAY, trainDayKey, status), delta);
+		add(new DeltaKey(Scope.USER, String.valueOf(userId), status), delta);
+	}
+
+	private void add(DeltaKey key, long delta) {
+		scopedDeltas.compute(key, (k, adder) -> {
+			LongAdder target = adder != null ? adder : new LongAdder();
+			target.add(delta);
+			return target;
+		});
+	}
+
+	private void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+
+	private void refreshStatusCounts() {
+		try {
+			Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+			for (TicketStatCounter counter : counterRepository.findByScopeAndScopeKey(Scope.STATUS.name(), "")) {
+				counts.put(TicketStatus.valueOf(counter.getStatus()), counter.getTicketCount());
+			}
+			flushedStatusCounts = counts;
+		} catch (Exception e) {
+			logger.warn("Failed to refresh ticket status counts: {}", e.getMessage());
+		}
+	}
+
+	private TicketStatsResponse scoped(Scope scope, String scopeKey) {
+		Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+		for (TicketStatCounter counter : counterRepository.findByScopeAndScopeKey(scope.name(), scopeKey)) {
+			counts.put(TicketStatus.valueOf(counter.getStatus()), counter.getTicketCount());
+		}
+		for (TicketStatus status : TicketStatus.values()) {
+			LongAdder pending = scopedDeltas.get(new DeltaKey(scope, scopeKey, status));
+			if (pending != null) {
+				counts.merge(status, pending.sum(), Long::sum);
+			}
+		}
+		return response(scope, scopeKey, counts);
+	}
+
+	private TicketStatsResponse response(Scope scope, String scopeKey, Map<TicketStatus, Long> counts) {
+		Map<String, Long> byStatus = new LinkedHashMap<>();
+		long total = 0;
+		for (TicketStatus status : TicketStatus.values()) {
+			long count = counts.getOrDefault(status, 0L);
+			byStatus.put(status.name(), count);
+			total += count;
+		}
+		return TicketStatsResponse.builder()
+				.scope(scope.name())
+				.key(scopeKey.isEmpty() ? null : scopeKey)
+				.byStatus(byStatus)
+				.total(total)
+				.asOf(LocalDateTime.now())
+				.build();
+	}
+
+	private static String trainDayKey(Long trainId, LocalDate date) {
+		return trainId + ":" + date;
+	}
+
+	private record DeltaKey(Scope scope, String scopeKey, TicketStatus status) {
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.ticketservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user generation counter for the userTickets cache.
+ * The generation is part of the cache key, so a write only has to bump its own user's counter;
+ * pages cached under older generations are never read again and simply expire.
+ */
+@Component("userCacheGeneration")
+@RequiredArgsConstructor
+public class UserCacheGeneration {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserCacheGeneration.class);
+
+	private static final String KEY_PREFIX = "ticket:user-gen:";
+
+	// Must outlive the userTickets TTL, otherwise a reset counter could match a stale page
+	private static final Duration GENERATION_TTL = Duration.ofDays(1);
+
+	private final StringRedisTemplate redisTemplate;
+
+	/**
+	 * Current generation of a user; used in the userTickets cache key
+	 */
+	public long current(Long userId) {
+		try {
+			String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+			return value != null ? Long.parseLong(value) : 0L;
+		} catch (Exception e) {
+			logger.warn("Failed to read cache generation for user: {}", userId, e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Invalidate a user's cached ticket pages. Inside a transaction this happens after commit,
+	 * so a concurrent read can't cache pre-commit data under the new generation.
+	 */
+	public void bump(Long userId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					increment(userId);
+				}
+			});
+		} else {
+			increment(userId);
+		}
+	}
+
+	/**
+	 * Bump many users at once (after commit inside a transaction) in one pipelined round trip
+	 */
+	public void bumpAll(Collection<Long> userIds) {
+		if (userIds.isEmpty()) {
+			return;
+		}
+		List<Long> users = List.copyOf(userIds);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					incrementAll(users);
+				}
+			});
+		} else {
+			incrementAll(users);
+		}
+	}
+
+	private void incrementAll(List<Long> userIds) {
+		try {
+			redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+				for (Long userId : userIds) {
+					byte[] key = (KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+					connection.stringCommands().incr(key);
+					connection.keyCommands().expire(key, GENERATION_TTL.toSeconds());
+				}
+				return null;
+			});
+		} catch (Exception e) {
+			logger.warn("Failed to bump cache generation for {} users", userIds.size(), e);
+		}
+	}
+
+	private void increment(Long userId) {
+		String key = KEY_PREFIX + userId;
+		try {
+			redisTemplate.opsForValue().increment(key);
+			redisTemplate.expire(key, GENERATION_TTL);
+		} catch (Exception e) {
+			logger.warn("Failed to bump cache generation for user: {}", userId, e);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.ticketservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+	private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+
+	@Test
+	void limitGrowsWhileLatencyStaysAtBaseline() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 200);
+
+		sample(limit, BASELINE, 20);
+
+		assertThat(limit.getLimit()).isGreaterThan(30);
+	}
+
+	@Test
+	void limitBacksOffOnceLatencyRises() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 200);
+		sample(limit, BASELINE, 50);
+		int beforeSlowdown = limit.getLimit();
+
+		sample(limit, BASELINE * 4, 10);
+
+		assertThat(limit.getLimit()).isLessThan(beforeSlowdown);
+		assertThat(limit.getLongRttMillis()).isGreaterThan(10.0);
+	}
+
+	@Test
+	void latencyWithinToleranceDoesNotShrinkTheLimit() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 200);
+		sample(limit, BASELINE, 50);
+		int before = limit.getLimit();
+
+		// 1.4x the baseline is inside the 1.5 tolerance
+		sample(limit, BASELINE * 14 / 10, 5);
+
+		assertThat(limit.getLimit()).isGreaterThanOrEqualTo(before);
+	}
+
+	@Test
+	void lightlyLoadedSamplesDoNotRaiseTheLimit() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 200);
+
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			// Fewer than half the permits were in use
+			limit.onSuccess(BASELINE, 3);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void limitIsClampedToMax() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 40);
+
+		sample(limit, BASELINE, 200);
+
+		assertThat(limit.getLimit()).isEqualTo(40);
+	}
+
+	@Test
+	void timeoutsBackOffDownToMin() {
+		AdaptiveConcurrencyLimit limit = limit(20, 4, 200);
+
+		limit.tryAcquire();
+		limit.onDropped();
+		assertThat(limit.getLimit()).isEqualTo(18);
+
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			limit.onDropped();
+		}
+		assertThat(limit.getLimit()).isEqualTo(4);
+		assertThat(limit.getInFlight()).isZero();
+	}
+
+	@Test
+	void sustainedSlowdownShrinksNoFurtherThanMin() {
+		AdaptiveConcurrencyLimit limit = limit(12, 10, 20);
+		sample(limit, BASELINE, 500);
+		assertThat(limit.getLimit()).isEqualTo(20);
+
+		// Far above the baseline: the gradient sits at its 0.5 floor, which alone would settle near 8
+		sample(limit, BASELINE * 50, 40);
+
+		assertThat(limit.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void callsBeyondTheLimitAreRejected() {
+		AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+		assertThat(limit.tryAcquire()).isEqualTo(1);
+		assertThat(limit.tryAcquire()).isEqualTo(2);
+		assertThat(limit.tryAcquire()).isEqualTo(-1);
+
+		limit.onIgnore();
+		assertThat(limit.tryAcquire()).isEqualTo(2);
+	}
+
+	private static AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+		return new AdaptiveConcurrencyLimit(initial, min, max, 4, 1.5, 0.2, 0.9, 600);
+	}
+
+	/**
+	 * Feed samples taken with the limit fully in use, so each one may move it
+	 */
+	private static void sample(AdaptiveConcurrencyLimit limit, long rttNanos, int count) {
+		for (int i = 0; i < count; i++) {
+			limit.tryAcquire();
+			limit.onSuccess(rttNanos, limit.getLimit());
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.ticketservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamLimitersTest {
+
+	private static final String SERVICE = "inventory-service";
+
+	private SimpleMeterRegistry meterRegistry;
+	private DownstreamLimiters limiters;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		limiters = new DownstreamLimiters(meterRegistry);
+		ReflectionTestUtils.setField(limiters, "enabled", true);
+		ReflectionTestUtils.setField(limiters, "initialLimit", 20);
+		ReflectionTestUtils.setField(limiters, "minLimit", 4);
+		ReflectionTestUtils.setField(limiters, "maxLimit", 200);
+		ReflectionTestUtils.setField(limiters, "queueSize", 4);
+		ReflectionTestUtils.setField(limiters, "rttTolerance", 1.5);
+		ReflectionTestUtils.setField(limiters, "smoothing", 0.2);
+		ReflectionTestUtils.setField(limiters, "backoffRatio", 0.9);
+		ReflectionTestUtils.setField(limiters, "longWindow", 600);
+	}
+
+	@Test
+	void fallbackAfterATimeoutCountsAsADrop() {
+		Object result = limiters.call(SERVICE, () -> {
+			DownstreamLimiters.recordFallback(new TimeoutException("TimeLimiter"));
+			return null;
+		});
+
+		assertThat(result).isNull();
+		assertThat(gauge("ticket.downstream.concurrency.limit")).isEqualTo(18.0);
+		assertThat(gauge("ticket.downstream.concurrency.in-flight")).isZero();
+		assertThat(gauge("ticket.downstream.rtt.baseline")).isZero();
+	}
+
+	@Test
+	void fallbackOfAnOpenBreakerIsNotASample() {
+		CircuitBreaker breaker = CircuitBreaker.ofDefaults(SERVICE);
+		limiters.call(SERVICE, () -> {
+			DownstreamLimiters.recordFallback(CallNotPermittedException.createCallNotPermittedException(breaker));
+			return Boolean.FALSE;
+		});
+
+		assertThat(gauge("ticket.downstream.concurrency.limit")).isEqualTo(20.0);
+		assertThat(gauge("ticket.downstream.concurrency.in-flight")).isZero();
+		assertThat(gauge("ticket.downstream.rtt.baseline")).isZero();
+	}
+
+	@Test
+	void fallbackDoesNotLeakIntoTheNextCall() {
+		limiters.call(SERVICE, () -> {
+			DownstreamLimiters.recordFallback(new TimeoutException());
+			return null;
+		});
+
+		limiters.call(SERVICE, () -> "ok");
+
+		// The second call is a real sample
+		assertThat(gauge("ticket.downstream.rtt.baseline")).isGreaterThan(0.0);
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).tag("service", SERVICE).gauge().value();
+	}
+}
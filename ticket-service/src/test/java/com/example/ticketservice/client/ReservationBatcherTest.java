@@ -0,0 +1,131 @@
+package com.example.ticketservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.ticketservice.dto.ApiResponse;
+import com.example.ticketservice.dto.BatchReserveRequest;
+import com.example.ticketservice.dto.ReservationResult;
+import com.example.ticketservice.dto.ReserveSeatRequest;
+import com.example.ticketservice.exception.TicketOperationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReservationBatcherTest {
+
+	private InventoryServiceClient inventoryServiceClient;
+	private ReservationBatcher batcher;
+	private ExecutorService callers;
+
+	@BeforeEach
+	void setUp() {
+		inventoryServiceClient = mock(InventoryServiceClient.class);
+		// Limits disabled: calls go straight to the client
+		DownstreamLimiters limiters = new DownstreamLimiters(new SimpleMeterRegistry());
+		batcher = new ReservationBatcher(inventoryServiceClient, limiters, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(batcher, "enabled", true);
+		ReflectionTestUtils.setField(batcher, "windowMs", 200L);
+		ReflectionTestUtils.setField(batcher, "maxBatchSize", 2);
+		ReflectionTestUtils.setField(batcher, "timeoutMs", 5000L);
+		callers = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentReservationsShareOneCallAndGetTheirOwnResult() throws Exception {
+		// Each result echoes the reservation id it was made for
+		when(inventoryServiceClient.reserveSeatsBatch(any())).thenAnswer(invocation -> {
+			BatchReserveRequest batch = invocation.getArgument(0);
+			return ApiResponse.success(batch.getItems().stream()
+					.map(item -> ReservationResult.builder()
+							.reserved(true)
+							.message(item.getReservationId())
+							.numberOfSeats(item.getNumberOfSeats())
+							.build())
+					.toList());
+		});
+
+		CompletableFuture<ReservationResult> first = CompletableFuture.supplyAsync(
+				() -> batcher.reserve(request("r-1", 1)), callers);
+		CompletableFuture<ReservationResult> second = CompletableFuture.supplyAsync(
+				() -> batcher.reserve(request("r-2", 3)), callers);
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("r-1");
+		assertThat(second.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("r-2");
+		assertThat(second.get().getNumberOfSeats()).isEqualTo(3);
+
+		ArgumentCaptor<BatchReserveRequest> sent = ArgumentCaptor.forClass(BatchReserveRequest.class);
+		verify(inventoryServiceClient, times(1)).reserveSeatsBatch(sent.capture());
+		assertThat(sent.getValue().getItems())
+				.extracting(BatchReserveRequest.Item::getReservationId)
+				.containsExactlyInAnyOrder("r-1", "r-2");
+	}
+
+	@Test
+	void failedBatchCallFailsEveryCaller() throws Exception {
+		// Fallback result: inventory state is unknown, so each caller must see a failure
+		when(inventoryServiceClient.reserveSeatsBatch(any())).thenReturn(null);
+
+		CompletableFuture<ReservationResult> first = CompletableFuture.supplyAsync(
+				() -> batcher.reserve(request("r-1", 1)), callers);
+		CompletableFuture<ReservationResult> second = CompletableFuture.supplyAsync(
+				() -> batcher.reserve(request("r-2", 1)), callers);
+
+		for (CompletableFuture<ReservationResult> result : List.of(first, second)) {
+			assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+					.hasCauseInstanceOf(TicketOperationException.class);
+		}
+	}
+
+	@Test
+	void resultCountMismatchIsTreatedAsFailure() {
+		ReflectionTestUtils.setField(batcher, "windowMs", 1L);
+		when(inventoryServiceClient.reserveSeatsBatch(any())).thenReturn(ApiResponse.success(List.of()));
+
+		assertThatThrownBy(() -> batcher.reserve(request("r-1", 1)))
+				.isInstanceOf(TicketOperationException.class);
+	}
+
+	@Test
+	void disabledBatchingSendsSingleReservationWithItsId() {
+		ReflectionTestUtils.setField(batcher, "enabled", false);
+		when(inventoryServiceClient.reserveAndQuote(any()))
+				.thenReturn(ApiResponse.success(ReservationResult.builder().reserved(true).build()));
+
+		assertThat(batcher.reserve(request("r-1", 2)).isReserved()).isTrue();
+
+		ArgumentCaptor<ReserveSeatRequest> sent = ArgumentCaptor.forClass(ReserveSeatRequest.class);
+		verify(inventoryServiceClient).reserveAndQuote(sent.capture());
+		assertThat(sent.getValue().getReservationId()).isEqualTo("r-1");
+	}
+
+	private static ReserveSeatRequest request(String reservationId, int seats) {
+		return ReserveSeatRequest.builder()
+				.trainId(7L)
+				.departureDate("2026-11-02")
+				.numberOfSeats(seats)
+				.reservationId(reservationId)
+				.build();
+	}
+}
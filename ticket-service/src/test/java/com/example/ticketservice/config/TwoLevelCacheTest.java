@@ -0,0 +1,104 @@
+package com.example.ticketservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import com.example.ticketservice.dto.TicketResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TwoLevelCacheTest {
+
+	private final List<String> broadcasts = new ArrayList<>();
+	private ConcurrentMapCache remote;
+	private TwoLevelCache cache;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		remote = new ConcurrentMapCache("tickets", false);
+		cache = new TwoLevelCache("tickets",
+				Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofSeconds(30)).build(),
+				remote,
+				(SerializationPair<Object>) (SerializationPair<?>) SerializationPair.fromSerializer(
+						SmileRedisSerializer.of(TicketResponse.class)),
+				(cacheName, key) -> broadcasts.add(cacheName + ":" + key),
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void fillAfterMissIsNotBroadcast() {
+		assertThat(cache.get(1L)).isNull();
+		cache.put(1L, ticket(1L, "PENDING"));
+
+		assertThat(broadcasts).isEmpty();
+		assertThat(cache.get(1L, TicketResponse.class).getStatus()).isEqualTo("PENDING");
+	}
+
+	@Test
+	void loaderFillIsNotBroadcast() {
+		TicketResponse loaded = cache.get(1L, () -> ticket(1L, "PENDING"));
+
+		assertThat(loaded.getStatus()).isEqualTo("PENDING");
+		assertThat(broadcasts).isEmpty();
+		assertThat(remote.get(1L)).isNotNull();
+	}
+
+	@Test
+	void writeWithoutPrecedingMissAndEvictAreBroadcast() {
+		cache.put(1L, ticket(1L, "PENDING"));
+		cache.evict(1L);
+
+		assertThat(broadcasts).containsExactly("tickets:1", "tickets:1");
+	}
+
+	@Test
+	void missOnAnotherKeyDoesNotHideAWrite() {
+		assertThat(cache.get(2L)).isNull();
+		cache.put(1L, ticket(1L, "PENDING"));
+
+		assertThat(broadcasts).containsExactly("tickets:1");
+	}
+
+	@Test
+	void callersGetTheirOwnCopyFromL1() {
+		cache.get(1L);
+		cache.put(1L, ticket(1L, "PENDING"));
+
+		TicketResponse first = cache.get(1L, TicketResponse.class);
+		first.setStatus("CANCELLED");
+		first.getSeatNumbers().add("9Z");
+		TicketResponse second = cache.get(1L, TicketResponse.class);
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getStatus()).isEqualTo("PENDING");
+		assertThat(second.getSeatNumbers()).containsExactly("1A");
+	}
+
+	@Test
+	void valueFilledFromL2IsNotSharedWithL1() {
+		remote.put(1L, ticket(1L, "PENDING"));
+
+		TicketResponse fromRemote = cache.get(1L, TicketResponse.class);
+		fromRemote.setStatus("CANCELLED");
+
+		assertThat(cache.get(1L, TicketResponse.class).getStatus()).isEqualTo("PENDING");
+	}
+
+	private static TicketResponse ticket(Long id, String status) {
+		return TicketResponse.builder()
+				.id(id)
+				.status(status)
+				.seatNumbers(new ArrayList<>(List.of("1A")))
+				.build();
+	}
+}
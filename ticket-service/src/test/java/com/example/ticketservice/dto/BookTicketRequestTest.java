@@ -0,0 +1,52 @@
+package com.example.ticketservice.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class BookTicketRequestTest {
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Test
+	void validDepartureIsAccepted() {
+		assertThat(validator.validate(request("2028-02-29 08:30"))).isEmpty();
+	}
+
+	@Test
+	void dayThatDoesNotExistIsRejected() {
+		Set<ConstraintViolation<BookTicketRequest>> violations = validator.validate(request("2025-02-30 08:30"));
+
+		assertThat(violations).extracting(v -> v.getPropertyPath().toString())
+				.containsExactly("departureDateValid");
+	}
+
+	@Test
+	void timeThatDoesNotExistIsRejected() {
+		assertThat(validator.validate(request("2025-03-01 24:30"))).hasSize(1);
+	}
+
+	@Test
+	void wrongShapeIsOnlyReportedByThePattern() {
+		Set<ConstraintViolation<BookTicketRequest>> violations = validator.validate(request("2025-03-01"));
+
+		assertThat(violations).extracting(v -> v.getPropertyPath().toString())
+				.containsExactly("departureDate");
+	}
+
+	private static BookTicketRequest request(String departureDate) {
+		return BookTicketRequest.builder()
+				.trainId(7L)
+				.numberOfSeats(1)
+				.departureDate(departureDate)
+				.totalPrice(new BigDecimal("20.00"))
+				.build();
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.ticketservice.eticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class ETicketTest {
+
+	private static final ETicket TICKET = new ETicket(3, 123456789L, 42L, LocalDate.of(2026, 11, 2), 4, 7);
+
+	@Test
+	void payloadFollowsTheDocumentedLayout() {
+		ByteBuffer payload = ByteBuffer.wrap(TICKET.payload());
+
+		assertThat(payload.capacity()).isEqualTo(ETicket.PAYLOAD_LENGTH);
+		assertThat(payload.get()).isEqualTo(ETicket.FORMAT);
+		assertThat(payload.get()).isEqualTo((byte) 3);
+		assertThat(payload.getLong()).isEqualTo(123456789L);
+		assertThat(payload.getLong()).isEqualTo(42L);
+		assertThat(payload.getInt()).isEqualTo((int) LocalDate.of(2026, 11, 2).toEpochDay());
+		assertThat(payload.getShort()).isEqualTo((short) 4);
+		assertThat(payload.getInt()).isEqualTo(7);
+	}
+
+	@Test
+	void tokenRoundTripsClaimsAndSignature() {
+		byte[] signature = new byte[ETicket.SIGNATURE_LENGTH];
+		Arrays.fill(signature, (byte) 0x5A);
+
+		String token = TICKET.toToken(signature);
+		byte[] bytes = ETicket.decodeToken(token);
+
+		assertThat(token).hasSize(123).doesNotContain("=", "+", "/");
+		assertThat(ETicket.fromToken(bytes)).isEqualTo(TICKET);
+		assertThat(Arrays.copyOfRange(bytes, ETicket.PAYLOAD_LENGTH, bytes.length)).isEqualTo(signature);
+	}
+
+	@Test
+	void keyIdAboveOneByteIsRejected() {
+		assertThatThrownBy(() -> new ETicket(256, 1L, 1L, LocalDate.of(2026, 11, 2), 1, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void tokenOfWrongLengthOrFormatIsRejected() {
+		String token = TICKET.toToken(new byte[ETicket.SIGNATURE_LENGTH]);
+		byte[] otherFormat = ETicket.decodeToken(token);
+		otherFormat[0] = 2;
+
+		assertThatThrownBy(() -> ETicket.decodeToken(token.substring(4)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ETicket.decodeToken(
+				Base64.getUrlEncoder().withoutPadding().encodeToString(otherFormat)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
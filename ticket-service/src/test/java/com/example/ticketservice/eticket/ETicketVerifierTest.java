@@ -0,0 +1,101 @@
+package com.example.ticketservice.eticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.ticketservice.eticket.ETicketVerifier.Outcome;
+
+class ETicketVerifierTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 11, 2);
+
+	private final KeyPair keyPair = ETicketKeys.generate();
+	private ETicketSigner signer;
+	private ETicketVerifier verifier;
+
+	@BeforeEach
+	void setUp() {
+		signer = new ETicketSigner(1, keyPair.getPrivate());
+		Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		verifier = new ETicketVerifier(Map.of(1, keyPair.getPublic()), null, clock);
+	}
+
+	@Test
+	void signedTokenVerifiesWithItsClaims() {
+		ETicket ticket = ticket(10L, TODAY);
+
+		ETicketVerifier.Result result = verifier.verify(signer.sign(ticket), 7L, TODAY);
+
+		assertThat(result.outcome()).isEqualTo(Outcome.VALID);
+		assertThat(result.ticket()).isEqualTo(ticket);
+	}
+
+	@Test
+	void signingIsDeterministic() {
+		assertThat(signer.sign(ticket(10L, TODAY))).isEqualTo(signer.sign(ticket(10L, TODAY)));
+	}
+
+	@Test
+	void tamperedPayloadFailsTheSignatureCheck() {
+		byte[] bytes = ETicket.decodeToken(signer.sign(ticket(10L, TODAY)));
+		// Raise the seat count
+		bytes[25]++;
+
+		String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		assertThat(verifier.verify(tampered).outcome()).isEqualTo(Outcome.BAD_SIGNATURE);
+	}
+
+	@Test
+	void tokenOfAnotherKeyIsRejected() {
+		ETicketSigner otherSigner = new ETicketSigner(1, ETicketKeys.generate().getPrivate());
+		ETicketSigner unknownKey = new ETicketSigner(2, keyPair.getPrivate());
+
+		assertThat(verifier.verify(otherSigner.sign(ticket(10L, TODAY))).outcome()).isEqualTo(Outcome.BAD_SIGNATURE);
+		assertThat(verifier.verify(unknownKey.sign(new ETicket(2, 10L, 7L, TODAY, 2, 1))).outcome())
+				.isEqualTo(Outcome.UNKNOWN_KEY);
+	}
+
+	@Test
+	void tokenBeforeYesterdayIsExpiredEvenWithoutGateDay() {
+		assertThat(verifier.verify(signer.sign(ticket(10L, TODAY.minusDays(1)))).outcome()).isEqualTo(Outcome.VALID);
+		assertThat(verifier.verify(signer.sign(ticket(10L, TODAY.minusDays(2)))).outcome()).isEqualTo(Outcome.EXPIRED);
+	}
+
+	@Test
+	void revokedTicketIsRejected() {
+		RevocationFilter filter = RevocationFilter.create(100, 0.0001, 0L);
+		filter.add(10L);
+		verifier.updateRevocations(filter);
+
+		assertThat(verifier.verify(signer.sign(ticket(10L, TODAY))).outcome()).isEqualTo(Outcome.REVOKED);
+		assertThat(verifier.verify(signer.sign(ticket(11L, TODAY))).outcome()).isEqualTo(Outcome.VALID);
+	}
+
+	@Test
+	void gateTrainAndDayAreEnforced() {
+		String token = signer.sign(ticket(10L, TODAY));
+
+		assertThat(verifier.verify(token, 8L, TODAY).outcome()).isEqualTo(Outcome.WRONG_TRAIN);
+		assertThat(verifier.verify(token, 7L, TODAY.plusDays(1)).outcome()).isEqualTo(Outcome.WRONG_DAY);
+	}
+
+	@Test
+	void garbageIsMalformed() {
+		assertThat(verifier.verify("not a token").outcome()).isEqualTo(Outcome.MALFORMED);
+		assertThat(verifier.verify(null).outcome()).isEqualTo(Outcome.MALFORMED);
+	}
+
+	private static ETicket ticket(long ticketId, LocalDate day) {
+		return new ETicket(1, ticketId, 7L, day, 2, 1);
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.ticketservice.eticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class RevocationFilterTest {
+
+	@Test
+	void serializedFilterKeepsEveryEntryAndItsHeader() {
+		RevocationFilter filter = RevocationFilter.create(1000, 0.001, 1_700_000_000_000L);
+		for (long id = 1; id <= 1000; id++) {
+			filter.add(id * 7);
+		}
+
+		byte[] bytes = filter.toBytes();
+		RevocationFilter copy = RevocationFilter.fromBytes(bytes);
+
+		assertThat(bytes).hasSize(filter.sizeInBytes());
+		assertThat(copy.generatedAt()).isEqualTo(1_700_000_000_000L);
+		assertThat(copy.toBytes()).isEqualTo(bytes);
+		for (long id = 1; id <= 1000; id++) {
+			assertThat(copy.mightContain(id * 7)).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredRate() {
+		int entries = 10_000;
+		RevocationFilter filter = RevocationFilter.create(entries, 0.001, 0L);
+		for (long id = 0; id < entries; id++) {
+			filter.add(id);
+		}
+
+		int falsePositives = 0;
+		int probes = 200_000;
+		for (long id = entries; id < entries + probes; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+
+		// Sequential ids must not cluster; allow twice the configured rate
+		assertThat((double) falsePositives / probes).isLessThan(0.002);
+	}
+
+	@Test
+	void truncatedOrForeignBytesAreRejected() {
+		byte[] bytes = RevocationFilter.create(100, 0.01, 0L).toBytes();
+		byte[] foreign = bytes.clone();
+		foreign[0] = 9;
+
+		assertThatThrownBy(() -> RevocationFilter.fromBytes(Arrays.copyOf(bytes, bytes.length - 8)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RevocationFilter.fromBytes(foreign))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RevocationFilter.fromBytes(new byte[4]))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,195 @@
+package com.example.ticketservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.example.ticketservice.entity.OutboxEvent;
+import com.example.ticketservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+	private OutboxEventRepository repository;
+	private RabbitTemplate rabbitTemplate;
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(OutboxEventRepository.class);
+		rabbitTemplate = mock(RabbitTemplate.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		relay = new OutboxRelay(repository, rabbitTemplate, new ObjectMapper(), transactionManager,
+				new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(relay, "batchSize", 10);
+		ReflectionTestUtils.setField(relay, "confirmTimeoutMs", 200L);
+		ReflectionTestUtils.setField(relay, "claimLease", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+		ReflectionTestUtils.setField(relay, "retryBackoff", Duration.ofSeconds(1));
+		ReflectionTestUtils.setField(relay, "maxRetryBackoff", Duration.ofMinutes(5));
+	}
+
+	@Test
+	void nackedEventIsRetriedAloneWhileTheOthersAreMarkedSent() {
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(event(1L), event(2L), event(3L)));
+		confirmAllExcept(Set.of("ticket-outbox-2"));
+
+		int settled = relayBatch();
+
+		assertThat(settled).isEqualTo(2);
+		verify(repository).markSent(eq(List.of(1L, 3L)), any());
+		verify(repository).markFailed(eq(2L), anyString(), any());
+		verify(repository, never()).markFailed(eq(1L), anyString(), any());
+	}
+
+	@Test
+	void unconfirmedEventTimesOutWithoutHoldingBackTheBatch() {
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(event(1L), event(2L)));
+		// Event 2 never gets a confirm
+		doAnswer(invocation -> {
+			CorrelationData correlation = invocation.getArgument(4);
+			if (correlation.getId().equals("ticket-outbox-1")) {
+				correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+			}
+			return null;
+		}).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+				any(MessagePostProcessor.class), any(CorrelationData.class));
+
+		int settled = relayBatch();
+
+		assertThat(settled).isEqualTo(1);
+		verify(repository).markSent(eq(List.of(1L)), any());
+		verify(repository).markFailed(eq(2L), anyString(), any());
+	}
+
+	@Test
+	void claimedEventsAreLeasedBeforePublishing() {
+		OutboxEvent event = event(1L);
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(event));
+		doAnswer(invocation -> {
+			// The claim is committed by the time the event is published
+			assertThat(event.getClaimedUntil()).isNotNull();
+			CorrelationData correlation = invocation.getArgument(4);
+			correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+			return null;
+		}).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+				any(MessagePostProcessor.class), any(CorrelationData.class));
+
+		assertThat(relayBatch()).isEqualTo(1);
+	}
+
+	@Test
+	void unreadablePayloadIsDroppedWithoutPublishing() {
+		OutboxEvent broken = event(1L);
+		broken.setPayload("not json");
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(broken));
+
+		assertThat(relayBatch()).isEqualTo(1);
+		verify(repository).markDropped(eq(1L), anyString(), any());
+		verify(repository, never()).markFailed(anyLong(), anyString(), any());
+	}
+
+	@Test
+	void failedEventBacksOffLongerAfterEachAttempt() {
+		OutboxEvent retried = event(1L);
+		retried.setAttempts(1);
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(retried));
+		confirmAllExcept(Set.of("ticket-outbox-1"));
+
+		LocalDateTime before = LocalDateTime.now();
+		assertThat(relayBatch()).isZero();
+
+		ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(repository).markFailed(eq(1L), anyString(), retryAt.capture());
+		// Second failure: 1s doubled once
+		assertThat(retryAt.getValue()).isBetween(before.plusSeconds(2), LocalDateTime.now().plusSeconds(2));
+	}
+
+	@Test
+	void eventFailingMaxAttemptsIsParkedAndLetsTheBatchSettle() {
+		OutboxEvent poison = event(1L);
+		poison.setAttempts(2);
+		when(repository.lockNextBatch(anyInt(), any())).thenReturn(List.of(poison, event(2L)));
+		confirmAllExcept(Set.of("ticket-outbox-1"));
+
+		assertThat(relayBatch()).isEqualTo(2);
+		verify(repository).markParked(eq(1L), anyString(), any());
+		verify(repository, never()).markFailed(anyLong(), anyString(), any());
+		verify(repository).markSent(eq(List.of(2L)), any());
+	}
+
+	@Test
+	void parkedGaugeReadsTheCachedCount() {
+		when(repository.countByParkedAtIsNotNull()).thenReturn(3L);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		OutboxRelay measured = new OutboxRelay(repository, rabbitTemplate, new ObjectMapper(), transactionManager, registry);
+
+		measured.refreshPendingCount();
+		assertThat(registry.get("ticket.outbox.parked").gauge().value()).isEqualTo(3.0);
+	}
+
+	@Test
+	void pendingGaugeReadsTheCachedCount() {
+		when(repository.countBySentAtIsNull()).thenReturn(42L);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		OutboxRelay measured = new OutboxRelay(repository, rabbitTemplate, new ObjectMapper(), transactionManager, registry);
+
+		assertThat(registry.get("ticket.outbox.pending").gauge().value()).isZero();
+		measured.refreshPendingCount();
+		assertThat(registry.get("ticket.outbox.pending").gauge().value()).isEqualTo(42.0);
+	}
+
+	private void confirmAllExcept(Set<String> nacked) {
+		doAnswer(invocation -> {
+			CorrelationData correlation = invocation.getArgument(4);
+			boolean ack = !nacked.contains(correlation.getId());
+			correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+			return null;
+		}).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+				any(MessagePostProcessor.class), any(CorrelationData.class));
+	}
+
+	private int relayBatch() {
+		Integer settled = ReflectionTestUtils.invokeMethod(relay, "relayBatch");
+		return settled != null ? settled : 0;
+	}
+
+	private static OutboxEvent event(Long id) {
+		return OutboxEvent.builder()
+				.id(id)
+				.aggregateId(id)
+				.eventType("BOOKING_CREATED")
+				.exchange("booking-exchange")
+				.routingKey("booking.created")
+				.payload("{\"ticketId\":" + id + "}")
+				.build();
+	}
+}
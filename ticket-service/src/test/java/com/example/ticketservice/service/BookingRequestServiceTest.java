@@ -0,0 +1,126 @@
+package com.example.ticketservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.ticketservice.dto.CancelTicketRequest;
+import com.example.ticketservice.dto.TicketResponse;
+import com.example.ticketservice.entity.BookingRequest;
+import com.example.ticketservice.entity.BookingRequest.BookingRequestStatus;
+import com.example.ticketservice.exception.DownstreamOverloadedException;
+import com.example.ticketservice.exception.InsufficientSeatsException;
+import com.example.ticketservice.repository.BookingRequestRepository;
+
+class BookingRequestServiceTest {
+
+	private static final long BOOKING_ID = 7L;
+	private static final long USER_ID = 3L;
+
+	private BookingRequestRepository repository;
+	private TicketService ticketService;
+	private BookingRequestService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(BookingRequestRepository.class);
+		ticketService = mock(TicketService.class);
+		service = new BookingRequestService(repository, ticketService, mock(RabbitTemplate.class));
+		ReflectionTestUtils.setField(service, "requeueAfter", Duration.ofMinutes(5));
+		ReflectionTestUtils.setField(service, "maxRequeueAttempts", 5);
+		ReflectionTestUtils.setField(service, "retryBackoff", Duration.ofSeconds(30));
+		when(repository.claim(eq(BOOKING_ID), any())).thenReturn(1);
+	}
+
+	@Test
+	void ticketBookedAfterTheClaimWasLostIsCancelled() {
+		claimed(1);
+		when(ticketService.bookTicket(eq(USER_ID), any())).thenReturn(TicketResponse.builder().id(42L).build());
+		when(repository.markSucceeded(eq(BOOKING_ID), eq(42L), any())).thenReturn(0);
+
+		service.process(BOOKING_ID);
+
+		ArgumentCaptor<CancelTicketRequest> cancel = ArgumentCaptor.forClass(CancelTicketRequest.class);
+		verify(ticketService).cancelTicket(eq(42L), eq(USER_ID), cancel.capture());
+		assertThat(cancel.getValue().isRequestRefund()).isFalse();
+	}
+
+	@Test
+	void successfulBookingKeepsTheTicket() {
+		claimed(1);
+		when(ticketService.bookTicket(eq(USER_ID), any())).thenReturn(TicketResponse.builder().id(42L).build());
+		when(repository.markSucceeded(eq(BOOKING_ID), eq(42L), any())).thenReturn(1);
+
+		service.process(BOOKING_ID);
+
+		verify(ticketService, never()).cancelTicket(anyLong(), anyLong(), any(CancelTicketRequest.class));
+	}
+
+	@Test
+	void overloadedDownstreamRequeuesWithBackoff() {
+		claimed(2);
+		when(ticketService.bookTicket(eq(USER_ID), any())).thenThrow(new DownstreamOverloadedException("inventory-service"));
+		when(repository.release(eq(BOOKING_ID), any(), any())).thenReturn(1);
+
+		LocalDateTime before = LocalDateTime.now();
+		service.process(BOOKING_ID);
+
+		ArgumentCaptor<LocalDateTime> queuedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(repository).release(eq(BOOKING_ID), queuedAt.capture(), any());
+		verify(repository, never()).markFailed(anyLong(), anyString(), any());
+		// Second attempt waits 60s: eligible for the sweep 4 minutes before a plain requeue would be
+		assertThat(queuedAt.getValue()).isBetween(before.minusMinutes(4).minusSeconds(1), LocalDateTime.now().minusMinutes(4));
+	}
+
+	@Test
+	void overloadedDownstreamFailsOnceAttemptsAreExhausted() {
+		claimed(5);
+		when(ticketService.bookTicket(eq(USER_ID), any())).thenThrow(new DownstreamOverloadedException("inventory-service"));
+
+		service.process(BOOKING_ID);
+
+		verify(repository, never()).release(anyLong(), any(), any());
+		verify(repository).markFailed(eq(BOOKING_ID), anyString(), any());
+	}
+
+	@Test
+	void businessFailureIsPermanent() {
+		claimed(1);
+		when(ticketService.bookTicket(eq(USER_ID), any())).thenThrow(new InsufficientSeatsException(1L, 2, 0));
+
+		service.process(BOOKING_ID);
+
+		verify(repository, never()).release(anyLong(), any(), any());
+		verify(repository).markFailed(eq(BOOKING_ID), anyString(), any());
+	}
+
+	private void claimed(int attempts) {
+		when(repository.findById(BOOKING_ID)).thenReturn(Optional.of(BookingRequest.builder()
+				.id(BOOKING_ID)
+				.userId(USER_ID)
+				.trainId(1L)
+				.departureDate("2026-11-02 08:30")
+				.numberOfSeats(2)
+				.totalPrice(new BigDecimal("100.00"))
+				.status(BookingRequestStatus.PROCESSING)
+				.attempts(attempts)
+				.build()));
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.ticketservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+class DocumentStoreTest {
+
+	@TempDir
+	Path root;
+
+	private DocumentStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new DocumentStore(root.toString(), new MockEnvironment());
+	}
+
+	@Test
+	void identicalContentIsStoredOnce() throws IOException {
+		String first = store.put(bytes("ticket 1"));
+		String second = store.put(bytes("ticket 1"));
+
+		assertThat(second).isEqualTo(first);
+		assertThat(Files.readAllBytes(store.find(first).orElseThrow())).isEqualTo(bytes("ticket 1"));
+	}
+
+	@Test
+	void sweepDeletesOnlyOldUnreferencedBlobs() throws IOException {
+		String referenced = store.put(bytes("current render"));
+		String superseded = store.put(bytes("older render"));
+		String fresh = store.put(bytes("render not recorded yet"));
+		age(referenced);
+		age(superseded);
+		List<String> asked = new ArrayList<>();
+
+		int deleted = store.deleteUnreferenced(Duration.ofMinutes(60), hashes -> {
+			asked.addAll(hashes);
+			return lookup(hashes, referenced);
+		});
+
+		assertThat(deleted).isEqualTo(1);
+		assertThat(asked).containsExactlyInAnyOrder(referenced, superseded);
+		assertThat(store.find(referenced)).isPresent();
+		assertThat(store.find(superseded)).isEmpty();
+		assertThat(store.find(fresh)).isPresent();
+	}
+
+	@Test
+	void storingReusedContentRestartsItsAge() throws IOException {
+		String hash = store.put(bytes("reused render"));
+		age(hash);
+
+		store.put(bytes("reused render"));
+
+		assertThat(store.deleteUnreferenced(Duration.ofMinutes(60), hashes -> List.of())).isZero();
+		assertThat(store.find(hash)).isPresent();
+	}
+
+	@Test
+	void sweepRemovesLeftoverTempFiles() throws IOException {
+		String hash = store.put(bytes("render"));
+		Path temp = Files.writeString(store.find(hash).orElseThrow().resolveSibling(hash + "123.tmp"), "partial");
+		Files.setLastModifiedTime(temp, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+		store.deleteUnreferenced(Duration.ofMinutes(60), hashes -> hashes);
+
+		assertThat(temp).doesNotExist();
+		assertThat(store.find(hash)).isPresent();
+	}
+
+	@Test
+	void storageDirIsRequiredOutsideDev() {
+		assertThatThrownBy(() -> new DocumentStore("", new MockEnvironment()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("ticket.documents.storage-dir");
+
+		MockEnvironment dev = new MockEnvironment();
+		dev.setActiveProfiles("dev");
+		assertThat(new DocumentStore("", dev).put(bytes("dev render"))).hasSize(64);
+	}
+
+	private void age(String hash) throws IOException {
+		Files.setLastModifiedTime(store.find(hash).orElseThrow(), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+	}
+
+	private static Collection<String> lookup(Collection<String> hashes, String referenced) {
+		return hashes.contains(referenced) ? List.of(referenced) : List.of();
+	}
+
+	private static byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+}
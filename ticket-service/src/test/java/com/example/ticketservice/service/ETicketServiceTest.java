@@ -0,0 +1,50 @@
+package com.example.ticketservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.security.KeyPair;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.ticketservice.eticket.ETicketKeys;
+import com.example.ticketservice.repository.TicketRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ETicketServiceTest {
+
+	@Test
+	void startupFailsWithoutConfiguredKeyOutsideDev() {
+		assertThatThrownBy(() -> service(new MockEnvironment(), "", ""))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("ticket.eticket.private-key");
+	}
+
+	@Test
+	void devProfileMayUseAnEphemeralKey() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("docker", "dev");
+
+		assertThat(service(environment, "", "").publicKeys()).containsOnlyKeys(1);
+	}
+
+	@Test
+	void configuredKeyIsPublished() {
+		KeyPair keyPair = ETicketKeys.generate();
+		String publicKey = ETicketKeys.encode(keyPair.getPublic());
+
+		ETicketService service = service(new MockEnvironment(),
+				Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()), publicKey);
+
+		assertThat(service.publicKeys()).containsEntry(1, publicKey);
+	}
+
+	private static ETicketService service(MockEnvironment environment, String privateKey, String publicKey) {
+		return new ETicketService(mock(TicketRepository.class), mock(QrCodeRenderer.class), new SimpleMeterRegistry(),
+				environment, 1, privateKey, publicKey, "");
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.ticketservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.exception.ExportLimitExceededException;
+import com.example.ticketservice.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+class TicketExportServiceTest {
+
+	private TicketRepository ticketRepository;
+	private TicketExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		ticketRepository = mock(TicketRepository.class);
+		exportService = new TicketExportService(ticketRepository, new ObjectMapper(), mock(EntityManager.class));
+		ReflectionTestUtils.setField(exportService, "maxConcurrentExports", 1);
+		exportService.initExportSlots();
+	}
+
+	@Test
+	void formulaCellsAreNeutralized() throws Exception {
+		String row = csvRowFor("=HYPERLINK(\"http://evil\",\"x\")");
+
+		assertThat(row).contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",");
+	}
+
+	@Test
+	void everyFormulaPrefixIsNeutralized() throws Exception {
+		assertThat(csvRowFor("+1+1")).contains(",'+1+1,");
+		assertThat(csvRowFor("-1+1")).contains(",'-1+1,");
+		assertThat(csvRowFor("@SUM(A1)")).contains(",'@SUM(A1),");
+	}
+
+	@Test
+	void plainTextAndNumbersAreWrittenAsIs() throws Exception {
+		String row = csvRowFor("Changed plans");
+
+		assertThat(row).startsWith("1,42,7,2026-11-02 08:30,2,40.00,CANCELLED,Changed plans,");
+	}
+
+	@Test
+	void exportsBeyondTheLimitAreRejectedUntilASlotIsReleased() {
+		exportService.acquireExportSlot();
+
+		assertThatThrownBy(() -> exportService.acquireExportSlot())
+				.isInstanceOf(ExportLimitExceededException.class);
+
+		exportService.releaseExportSlot();
+		exportService.acquireExportSlot();
+	}
+
+	@Test
+	void slotIsReleasedWhenTheBodyNeverRuns() throws Exception {
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(new MockHttpServletRequest());
+		exportService.withExportSlot(out -> { }, asyncManager);
+		assertThatThrownBy(() -> exportService.acquireExportSlot())
+				.isInstanceOf(ExportLimitExceededException.class);
+
+		// Async dispatch rejected, timed out or the client disconnected before streaming started
+		completeAsync(asyncManager);
+
+		exportService.acquireExportSlot();
+	}
+
+	@Test
+	void slotIsReleasedOnceWhenTheBodyRunsAndTheRequestCompletes() throws Exception {
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(new MockHttpServletRequest());
+		StreamingResponseBody body = exportService.withExportSlot(out -> out.write('x'), asyncManager);
+
+		body.writeTo(new ByteArrayOutputStream());
+		completeAsync(asyncManager);
+
+		exportService.acquireExportSlot();
+		assertThatThrownBy(() -> exportService.acquireExportSlot())
+				.isInstanceOf(ExportLimitExceededException.class);
+	}
+
+	private static void completeAsync(WebAsyncManager asyncManager) throws Exception {
+		asyncManager.getCallableInterceptor(TicketExportService.EXPORT_SLOT_INTERCEPTOR)
+				.afterCompletion(new ServletWebRequest(new MockHttpServletRequest()), () -> null);
+	}
+
+	private String csvRowFor(String cancellationReason) throws Exception {
+		Ticket ticket = Ticket.builder()
+				.id(1L)
+				.userId(42L)
+				.trainId(7L)
+				.scheduledDeparture("2026-11-02 08:30")
+				.numberOfSeats(2)
+				.totalPrice(new BigDecimal("40.00"))
+				.status(TicketStatus.CANCELLED)
+				.cancellationReason(cancellationReason)
+				.createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+				.build();
+		when(ticketRepository.streamByUserId(42L)).thenReturn(Stream.of(ticket));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportUserTickets(42L, null, TicketExportService.ExportFormat.CSV, out);
+		return out.toString(StandardCharsets.UTF_8).split("\n")[1];
+	}
+}
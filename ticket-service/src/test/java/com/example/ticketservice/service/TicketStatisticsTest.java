@@ -0,0 +1,172 @@
+package com.example.ticketservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.ticketservice.entity.Ticket;
+import com.example.ticketservice.entity.Ticket.TicketStatus;
+import com.example.ticketservice.entity.TicketStatCounter;
+import com.example.ticketservice.repository.TicketStatCounterRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TicketStatisticsTest {
+
+	private TicketStatCounterRepository counterRepository;
+	private JdbcTemplate jdbcTemplate;
+	private PlatformTransactionManager transactionManager;
+	private TicketStatistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		counterRepository = mock(TicketStatCounterRepository.class);
+		jdbcTemplate = mock(JdbcTemplate.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		when(counterRepository.findByScopeAndScopeKey(anyString(), anyString())).thenReturn(List.of());
+		statistics = new TicketStatistics(counterRepository, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void flushWritesAllDeltasInOneTransaction() {
+		seedWithoutTickets();
+		statistics.recordCreated(ticket(1L, TicketStatus.PENDING));
+
+		statistics.flush();
+
+		List<Object[]> rows = flushedRows(1);
+		// One STATUS, one TRAIN_DAY and one USER row
+		assertThat(rows).hasSize(3);
+		assertThat(rows).extracting(row -> row[3]).containsOnly(1L);
+		verify(transactionManager, times(2)).commit(any());
+	}
+
+	@Test
+	void failedFlushRollsBackAndRetriesTheSameDeltas() {
+		seedWithoutTickets();
+		statistics.recordCreated(ticket(1L, TicketStatus.PENDING));
+		when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+				.thenThrow(new DataIntegrityViolationException("row 2 failed"))
+				.thenReturn(new int[] {1, 1, 1});
+
+		statistics.flush();
+
+		verify(transactionManager).rollback(any());
+		assertThat(statistics.statusCount(TicketStatus.PENDING)).isEqualTo(1);
+
+		statistics.flush();
+
+		// The retry carries each delta once, not once per failed attempt
+		assertThat(flushedRows(2)).extracting(row -> row[3]).containsOnly(1L);
+	}
+
+	@Test
+	void transitionsBeforeTheSeedAreLeftToTheScanOnEveryInstance() {
+		AtomicBoolean seedDone = new AtomicBoolean();
+		when(counterRepository.existsByScope("SEED")).thenAnswer(invocation -> seedDone.get());
+		when(counterRepository.save(any(TicketStatCounter.class))).thenAnswer(invocation -> {
+			seedDone.set(true);
+			return invocation.getArgument(0);
+		});
+		TicketStatistics other = new TicketStatistics(counterRepository, jdbcTemplate, transactionManager,
+				new SimpleMeterRegistry());
+
+		// Committed before the seed: counted by the scan, so neither instance keeps a delta
+		inTransaction(() -> other.recordCreated(ticket(1L, TicketStatus.PENDING)));
+		inTransaction(() -> statistics.recordCreated(ticket(2L, TicketStatus.PENDING)));
+		statistics.seed();
+		// Committed after the seed: not in the scan
+		inTransaction(() -> other.recordCreated(ticket(3L, TicketStatus.PENDING)));
+
+		assertThat(statistics.statusCount(TicketStatus.PENDING)).isZero();
+		assertThat(other.statusCount(TicketStatus.PENDING)).isEqualTo(1);
+		verify(jdbcTemplate, times(3)).execute(contains("pg_advisory_xact_lock_shared"));
+
+		statistics.flush();
+		other.flush();
+
+		List<Object[]> rows = flushedRows(1);
+		assertThat(rows).hasSize(3);
+		assertThat(rows).extracting(row -> row[1]).contains("3");
+		assertThat(rows).extracting(row -> row[3]).containsOnly(1L);
+	}
+
+	@Test
+	void seededInstanceNoLongerTakesTheSeedLock() {
+		seedWithoutTickets();
+
+		inTransaction(() -> statistics.recordCreated(ticket(1L, TicketStatus.PENDING)));
+
+		verify(jdbcTemplate, never()).execute(contains("pg_advisory_xact_lock_shared"));
+		assertThat(statistics.statusCount(TicketStatus.PENDING)).isEqualTo(1);
+	}
+
+	@Test
+	void seedDoneByAnotherInstanceKeepsLocalDeltas() {
+		when(counterRepository.existsByScope("SEED")).thenReturn(true);
+		statistics.recordCreated(ticket(1L, TicketStatus.PENDING));
+
+		statistics.seed();
+
+		verify(jdbcTemplate, never()).update(anyString());
+		verify(counterRepository, never()).save(any(TicketStatCounter.class));
+		assertThat(statistics.statusCount(TicketStatus.PENDING)).isEqualTo(1);
+	}
+
+	// Runs the work in a simulated transaction, then its after-commit callbacks
+	private static void inTransaction(Runnable work) {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			work.run();
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+	}
+
+	private void seedWithoutTickets() {
+		when(counterRepository.existsByScope("SEED")).thenReturn(false);
+		statistics.seed();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object[]> flushedRows(int calls) {
+		ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(calls)).batchUpdate(anyString(), rows.capture());
+		return new ArrayList<>(rows.getValue());
+	}
+
+	private static Ticket ticket(Long userId, TicketStatus status) {
+		return Ticket.builder()
+				.userId(userId)
+				.trainId(7L)
+				.scheduledDeparture("2026-11-02 08:30")
+				.status(status)
+				.build();
+	}
+}